@@ -0,0 +1,87 @@
+package com.synacy.poker;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.HandType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed 7-card hands, two hole cards followed by five community cards, one for each {@link HandType}.
+ */
+public final class BenchmarkCards {
+
+	private BenchmarkCards() {
+	}
+
+	/**
+	 * @param handType
+	 * @return Seven cards whose best hand is of the given type
+	 */
+	public static List<Card> sevenCards(HandType handType) {
+		switch (handType) {
+			case ROYAL_FLUSH:
+				return cards("AS", "KS", "QS", "JS", "10S", "2D", "7C");
+			case STRAIGHT_FLUSH:
+				return cards("9H", "8H", "7H", "6H", "5H", "KC", "2D");
+			case FOUR_OF_A_KIND:
+				return cards("8S", "8C", "8D", "8H", "7S", "6S", "2C");
+			case FULL_HOUSE:
+				return cards("8S", "8D", "7H", "7S", "8C", "9S", "AC");
+			case FLUSH:
+				return cards("7S", "2S", "QS", "JS", "10S", "9D", "AC");
+			case STRAIGHT:
+				return cards("8S", "KC", "QD", "JS", "10S", "9S", "2C");
+			case THREE_OF_A_KIND:
+				return cards("2S", "2C", "QD", "JS", "9S", "7H", "2D");
+			case TWO_PAIR:
+				return cards("2S", "2C", "JS", "QD", "10S", "9S", "9D");
+			case ONE_PAIR:
+				return cards("2S", "2C", "QD", "JS", "10S", "3S", "6D");
+			default:
+				return cards("AS", "2C", "QD", "JS", "10S", "3S", "6D");
+		}
+	}
+
+	/**
+	 * @param codes Cards written as rank then suit letter, e.g. <code>10S</code> or <code>AH</code>
+	 * @return The canonical cards
+	 */
+	public static List<Card> cards(String... codes) {
+		Card[] cards = new Card[codes.length];
+		for (int i = 0; i < codes.length; i++) {
+			cards[i] = card(codes[i]);
+		}
+		return Arrays.asList(cards);
+	}
+
+	private static Card card(String code) {
+		String rank = code.substring(0, code.length() - 1);
+		char suit = code.charAt(code.length() - 1);
+
+		for (CardRank cardRank : CardRank.values()) {
+			if (cardRank.toString().equals(rank)) {
+				return Card.of(cardRank, suitOf(suit));
+			}
+		}
+		throw new IllegalArgumentException("Unknown card " + code);
+	}
+
+	private static CardSuit suitOf(char suit) {
+		switch (suit) {
+			case 'S':
+				return CardSuit.SPADES;
+			case 'C':
+				return CardSuit.CLUBS;
+			case 'D':
+				return CardSuit.DIAMONDS;
+			case 'H':
+				return CardSuit.HEARTS;
+			default:
+				throw new IllegalArgumentException("Unknown suit " + suit);
+		}
+	}
+
+}
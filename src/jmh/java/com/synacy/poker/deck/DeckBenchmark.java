@@ -0,0 +1,56 @@
+package com.synacy.poker.deck;
+
+import com.synacy.poker.card.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of shuffling and dealing from a {@link Deck}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+	private static final int CARDS_DEALT_TO_THREE_PLAYERS = 3 * 2 + 3 + 5;
+
+	private Deck deck;
+
+	@Setup
+	public void setUp() {
+		deck = new DeckBuilder().buildDeck();
+	}
+
+	@Benchmark
+	public void shuffle() {
+		deck.reset();
+		deck.shuffle();
+	}
+
+	/**
+	 * Deals the hole cards, burns and board of a three-handed game.
+	 */
+	@Benchmark
+	public void removeFromTop(Blackhole blackhole) {
+		deck.reset();
+		for (int i = 0; i < CARDS_DEALT_TO_THREE_PLAYERS; i++) {
+			Card card = deck.removeFromTop();
+			blackhole.consume(card);
+		}
+	}
+
+}
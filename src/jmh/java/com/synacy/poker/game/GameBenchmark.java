@@ -0,0 +1,51 @@
+package com.synacy.poker.game;
+
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.WinningHandCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a whole {@link Game}, from {@link Game#startNewGame()} through every {@link Game#nextAction()}
+ * to the showdown, including the winner checks a page render makes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+	private Game game;
+
+	@Setup
+	public void setUp() {
+		game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+	}
+
+	@Benchmark
+	public void playGame(Blackhole blackhole) {
+		game.startNewGame();
+		while (!game.hasEnded()) {
+			game.nextAction();
+		}
+
+		for (Player player : game.getPlayers()) {
+			blackhole.consume(game.checkIfPlayerWon(player));
+		}
+	}
+
+}
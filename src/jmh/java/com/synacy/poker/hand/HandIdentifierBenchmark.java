@@ -0,0 +1,59 @@
+package com.synacy.poker.hand;
+
+import com.synacy.poker.BenchmarkCards;
+import com.synacy.poker.card.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link HandIdentifier#identifyHand(List, List)} for every hand type, and of
+ * {@link HandIdentifier#evaluateHand(List, List)}, which leaves the {@link Hand} unbuilt.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandIdentifierBenchmark {
+
+	@Param({"ROYAL_FLUSH", "STRAIGHT_FLUSH", "FOUR_OF_A_KIND", "FULL_HOUSE", "FLUSH", "STRAIGHT",
+			"THREE_OF_A_KIND", "TWO_PAIR", "ONE_PAIR", "HIGH_CARD"})
+	public HandType handType;
+
+	private HandIdentifier handIdentifier;
+	private List<Card> playerCards;
+	private List<Card> communityCards;
+
+	@Setup
+	public void setUp() {
+		handIdentifier = new HandIdentifier();
+
+		List<Card> cards = BenchmarkCards.sevenCards(handType);
+		playerCards = cards.subList(0, 2);
+		communityCards = cards.subList(2, 7);
+	}
+
+	@Benchmark
+	public Hand identifyHand() {
+		return handIdentifier.identifyHand(playerCards, communityCards);
+	}
+
+	@Benchmark
+	public HandValue evaluateHand() {
+		return handIdentifier.evaluateHand(playerCards, communityCards);
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.synacy.poker.hand;
+
+import com.synacy.poker.BenchmarkCards;
+import com.synacy.poker.card.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link WinningHandCalculator#calculateWinningHand(List)} over one hand of every type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WinningHandCalculatorBenchmark {
+
+	private WinningHandCalculator winningHandCalculator;
+	private List<Hand> playerHands;
+
+	@Setup
+	public void setUp() {
+		winningHandCalculator = new WinningHandCalculator();
+
+		HandIdentifier handIdentifier = new HandIdentifier();
+		playerHands = new ArrayList<>();
+		for (HandType handType : HandType.values()) {
+			List<Card> cards = BenchmarkCards.sevenCards(handType);
+			playerHands.add(handIdentifier.identifyHand(cards.subList(0, 2), cards.subList(2, 7)));
+		}
+	}
+
+	@Benchmark
+	public Hand calculateWinningHand() {
+		return winningHandCalculator.calculateWinningHand(playerHands);
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.BenchmarkCards;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.util.PokerUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a {@link CachingHandEvaluator} hit next to evaluating the same seven cards afresh, with several
+ * threads sharing the cache, and of an {@link EvaluationCache} that keeps evicting. Run with <code>-prof gc</code>
+ * to check that neither hits nor puts allocate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CachingHandEvaluatorBenchmark {
+
+	private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+	private final CachingHandEvaluator cachingHandEvaluator = new CachingHandEvaluator(handEvaluator, 1 << 16);
+	private final EvaluationCache evaluationCache = new EvaluationCache(1 << 10);
+	private final long[] churnedCardMasks = new long[1 << 12];
+	private long cardMask;
+
+	@Setup
+	public void setUp() {
+		cardMask = PokerUtil.getCardMask(BenchmarkCards.sevenCards(HandType.TWO_PAIR));
+		cachingHandEvaluator.evaluate(cardMask);
+
+		SplittableRandom random = new SplittableRandom(1L);
+		for (int i = 0; i < churnedCardMasks.length; i++) {
+			long cards = 0L;
+			while (Long.bitCount(cards) < 7) {
+				cards |= 1L << random.nextInt(52);
+			}
+			churnedCardMasks[i] = cards;
+		}
+	}
+
+	@Benchmark
+	public int evaluate() {
+		return handEvaluator.evaluate(cardMask);
+	}
+
+	@Benchmark
+	public int evaluateCached() {
+		return cachingHandEvaluator.evaluate(cardMask);
+	}
+
+	/**
+	 * Four times as many card masks as the cache holds, so most lookups miss and are put over another strength.
+	 */
+	@Benchmark
+	public int getOrPutChurning(Cursor cursor) {
+		long cards = churnedCardMasks[cursor.next++ & (churnedCardMasks.length - 1)];
+		int strength = evaluationCache.get(cards);
+		if (strength < 0) {
+			strength = (int) cards & 0xFFFF;
+			evaluationCache.put(cards, strength);
+		}
+
+		return strength;
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int next;
+
+	}
+
+}
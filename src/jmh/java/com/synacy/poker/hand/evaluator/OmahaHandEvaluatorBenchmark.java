@@ -0,0 +1,110 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.card.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per seat of the showdown of ten-handed Omaha tables with {@link OmahaHandEvaluator}, next to evaluating
+ * all 60 hands of two hole cards and three community cards of every seat one by one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OmahaHandEvaluatorBenchmark {
+
+	private static final int TABLES = 1024;
+	private static final int SEATS = 10;
+
+	private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+	private final OmahaHandEvaluator omahaHandEvaluator = new OmahaHandEvaluator();
+	private final long[] boardMasks = new long[TABLES];
+	private final long[][] holeMasks = new long[TABLES][SEATS];
+	private final int[] strengths = new int[SEATS];
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(1L);
+		for (int table = 0; table < TABLES; table++) {
+			long dealt = randomCards(random, 0L, 5);
+			boardMasks[table] = dealt;
+			for (int seat = 0; seat < SEATS; seat++) {
+				holeMasks[table][seat] = randomCards(random, dealt, OmahaHandEvaluator.HOLE_CARDS);
+				dealt |= holeMasks[table][seat];
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TABLES * SEATS)
+	public int evaluateAll() {
+		int sum = 0;
+		for (int table = 0; table < TABLES; table++) {
+			omahaHandEvaluator.evaluateAll(boardMasks[table], holeMasks[table], strengths);
+			sum += strengths[0];
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TABLES * SEATS)
+	public int evaluateEveryHand() {
+		int sum = 0;
+		for (int table = 0; table < TABLES; table++) {
+			for (int seat = 0; seat < SEATS; seat++) {
+				sum += evaluateEveryHand(holeMasks[table][seat], boardMasks[table]);
+			}
+		}
+
+		return sum;
+	}
+
+	private int evaluateEveryHand(long holeMask, long boardMask) {
+		int best = -1;
+		for (long holeCards = holeMask; holeCards != 0; holeCards &= holeCards - 1) {
+			for (long otherHoleCards = holeCards & (holeCards - 1); otherHoleCards != 0;
+				 otherHoleCards &= otherHoleCards - 1) {
+				long pair = Long.lowestOneBit(holeCards) | Long.lowestOneBit(otherHoleCards);
+				for (long first = boardMask; first != 0; first &= first - 1) {
+					for (long second = first & (first - 1); second != 0; second &= second - 1) {
+						for (long third = second & (second - 1); third != 0; third &= third - 1) {
+							best = Math.max(best, handEvaluator.evaluate(pair | Long.lowestOneBit(first)
+									| Long.lowestOneBit(second) | Long.lowestOneBit(third)));
+						}
+					}
+				}
+			}
+		}
+
+		return best;
+	}
+
+	private static long randomCards(SplittableRandom random, long dealt, int count) {
+		long cardMask = 0L;
+		while (Long.bitCount(cardMask) < count) {
+			long cardBit = 1L << random.nextInt(Card.CARD_COUNT);
+			if (((dealt | cardMask) & cardBit) == 0) {
+				cardMask |= cardBit;
+			}
+		}
+
+		return cardMask;
+	}
+
+}
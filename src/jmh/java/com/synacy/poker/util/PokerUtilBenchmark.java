@@ -0,0 +1,72 @@
+package com.synacy.poker.util;
+
+import com.synacy.poker.BenchmarkCards;
+import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.HandType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link PokerUtil} helpers the hand types are built on, next to their {@link PokerBits}
+ * counterparts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PokerUtilBenchmark {
+
+	private List<Card> straightCards;
+	private List<Card> pairCards;
+	private List<Card> pair;
+	private long pairCardMask;
+	private final int[] rankCounts = new int[PokerBits.RANK_COUNT];
+
+	@Setup
+	public void setUp() {
+		straightCards = BenchmarkCards.sevenCards(HandType.STRAIGHT);
+		pairCards = BenchmarkCards.sevenCards(HandType.ONE_PAIR);
+		pair = PokerUtil.getPairCardList(pairCards);
+		pairCardMask = PokerUtil.getCardMask(pairCards);
+	}
+
+	@Benchmark
+	public List<Card> getCardSequence() {
+		return PokerUtil.getCardSequence(straightCards);
+	}
+
+	@Benchmark
+	public List<Card> getPairCardList() {
+		return PokerUtil.getPairCardList(pairCards);
+	}
+
+	@Benchmark
+	public List<Card> getKickers() {
+		return PokerUtil.getKickers(pair, pairCards, 3);
+	}
+
+	@Benchmark
+	public int mostCommonRank() {
+		return PokerBits.mostCommonRank(pairCardMask);
+	}
+
+	@Benchmark
+	public int[] rankCounts() {
+		PokerBits.rankCounts(pairCardMask, rankCounts);
+		return rankCounts;
+	}
+
+}
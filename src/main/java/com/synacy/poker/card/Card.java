@@ -1,18 +1,64 @@
 package com.synacy.poker.card;
 
-import java.util.Objects;
-
 /**
  * The card in a deck. A combination of {@link CardRank} and {@link CardSuit}
+ *
+ * <p>The 52 cards of a deck are interned: {@link #of(CardRank, CardSuit)} and {@link #fromCode(int)} always
+ * return the same immutable instance for the same card, so comparing canonical cards is an identity check.
+ * Each card has a compact code from 0 to 51, <code>suit * 13 + rank</code>, which is also its bit in a
+ * card mask.</p>
  */
 public class Card {
 
-	private CardRank rank;
-	private CardSuit suit;
+	public static final int CARD_COUNT = 52;
+
+	private static final CardRank[] CARD_RANKS = CardRank.values();
+	private static final CardSuit[] CARD_SUITS = CardSuit.values();
+
+	private static final int NO_CODE = -1;
+
+	private static final Card[] CARDS = new Card[CARD_COUNT];
+
+	static {
+		for (CardSuit suit : CARD_SUITS) {
+			for (CardRank rank : CARD_RANKS) {
+				Card card = new Card(rank, suit);
+				CARDS[card.code] = card;
+			}
+		}
+	}
+
+	private final CardRank rank;
+	private final CardSuit suit;
+	private final int code;
 
+	/**
+	 * Prefer {@link #of(CardRank, CardSuit)}, which does not create a new card.
+	 *
+	 * @param rank
+	 * @param suit
+	 */
 	public Card(CardRank rank, CardSuit suit) {
 		this.rank = rank;
 		this.suit = suit;
+		this.code = rank == null || suit == null ? NO_CODE : suit.ordinal() * CARD_RANKS.length + rank.ordinal();
+	}
+
+	/**
+	 * @param rank
+	 * @param suit
+	 * @return The canonical {@link Card} of the rank and suit
+	 */
+	public static Card of(CardRank rank, CardSuit suit) {
+		return CARDS[suit.ordinal() * CARD_RANKS.length + rank.ordinal()];
+	}
+
+	/**
+	 * @param code The card code, from 0 to 51
+	 * @return The canonical {@link Card} of the code
+	 */
+	public static Card fromCode(int code) {
+		return CARDS[code];
 	}
 
 	/**
@@ -29,6 +75,27 @@ public class Card {
 		return suit;
 	}
 
+	/**
+	 * @return The card code, <code>suit * 13 + rank</code>, or -1 for a card without rank and suit
+	 */
+	public int getCode() {
+		return code;
+	}
+
+	/**
+	 * @return The {@link CardRank} ordinal, 0 for Two up to 12 for Ace
+	 */
+	public int rankIndex() {
+		return rank.ordinal();
+	}
+
+	/**
+	 * @return The {@link CardSuit} ordinal
+	 */
+	public int suitIndex() {
+		return suit.ordinal();
+	}
+
 	/**
 	 * @return The CSS class of the card, e.g. <code>card-red</code>
 	 */
@@ -44,25 +111,25 @@ public class Card {
 		return getRank().toString() + getSuit().toString();
 	}
 
-	public Integer getRankToInt() {
+	public int getRankToInt() {
 		return rank.ordinal();
 	}
 
 	@Override
 	public boolean equals(Object o) {
-		if(o == null) {
-			return false;
-		} else if(!(o instanceof Card)) {
+		if (this == o) {
+			return true;
+		} else if (!(o instanceof Card)) {
 			return false;
 		} else {
-			Card card2 = (Card)o;
-			return rank.equals(card2.getRank()) && suit.equals(card2.getSuit());
+			Card card2 = (Card) o;
+			return code != NO_CODE && code == card2.code;
 		}
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(rank, suit);
+		return code;
 	}
 
 }
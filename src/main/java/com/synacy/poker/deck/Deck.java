@@ -1,27 +1,46 @@
 package com.synacy.poker.deck;
 
 import com.synacy.poker.card.Card;
+import com.synacy.poker.deck.random.ShuffleRandomSource;
+import com.synacy.poker.deck.random.ShuffleRandomSourceType;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * A complete set of {@link Card} without Jokers.
+ *
+ * <p>The cards are kept in an array with a cursor at the top of the deck. Dealing moves the cursor, shuffling
+ * permutes the undealt cards in place and {@link #reset()} moves the cursor back, so a deck can be reused for
+ * every game without allocating.</p>
  */
 public class Deck {
 
-	private Set<Card> orderedCards = new LinkedHashSet<>();
+	private final Card[] cards = new Card[Card.CARD_COUNT];
+	private long cardMask = 0L;
+	private int cardCount = 0;
+	private int top = 0;
+
+	private final ShuffleRandomSource randomSource;
+
+	public Deck() {
+		this(ShuffleRandomSourceType.SPLITTABLE.create());
+	}
+
+	public Deck(ShuffleRandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
 
 	/**
-	 * Add a {@link Card} to the deck
+	 * Add a {@link Card} to the deck. A card that is already in the deck is ignored.
 	 *
 	 * @param card
 	 */
 	void addCard(Card card) {
-		orderedCards.add(card);
+		long cardBit = 1L << card.getCode();
+		if ((cardMask & cardBit) == 0) {
+			cardMask |= cardBit;
+			cards[cardCount++] = card;
+		}
 	}
 
 	/**
@@ -30,16 +49,37 @@ public class Deck {
 	 * @param cards
 	 */
 	void addCards(List<Card> cards) {
-		orderedCards.addAll(cards);
+		for (Card card : cards) {
+			addCard(card);
+		}
 	}
 
 	/**
-	 * Shuffles the deck.
+	 * Shuffles the cards remaining in the deck, in place.
 	 */
 	public void shuffle() {
-		List<Card> cardList = new ArrayList<>(orderedCards);
-		Collections.shuffle(cardList);
-		orderedCards = new LinkedHashSet<>(cardList);
+		for (int i = cardCount - 1; i > top; i--) {
+			int j = top + randomSource.nextInt(i - top + 1);
+			Card card = cards[i];
+			cards[i] = cards[j];
+			cards[j] = card;
+		}
+	}
+
+	/**
+	 * Puts the cards remaining in the deck in card code order, then shuffles them with the seed. The same seed
+	 * and the same remaining cards always produce the same order, whatever order the deck was in before.
+	 *
+	 * @param seed
+	 */
+	public void shuffle(long seed) {
+		long remainingCards = getRemainingCardMask();
+		for (int i = top; remainingCards != 0; i++, remainingCards &= remainingCards - 1) {
+			cards[i] = Card.fromCode(Long.numberOfTrailingZeros(remainingCards));
+		}
+
+		randomSource.setSeed(seed);
+		shuffle();
 	}
 
 	/**
@@ -49,20 +89,37 @@ public class Deck {
 	 * @throws RuntimeException if there are no more cards left in the deck
 	 */
 	public Card removeFromTop() {
-		if (orderedCards.isEmpty()) {
+		if (top == cardCount) {
 			throw new RuntimeException("There are no cards remaining in the deck.");
 		}
 
-		Card card = orderedCards.iterator().next();
-		orderedCards.remove(card);
-		return card;
+		return cards[top++];
+	}
+
+	/**
+	 * Returns every removed card to the deck. The cards keep their current order until the deck is shuffled.
+	 */
+	public void reset() {
+		top = 0;
+	}
+
+	/**
+	 * @return The card mask of the cards not yet removed from the deck, one bit per {@link Card#getCode()}
+	 */
+	public long getRemainingCardMask() {
+		long remainingCards = 0L;
+		for (int i = top; i < cardCount; i++) {
+			remainingCards |= 1L << cards[i].getCode();
+		}
+
+		return remainingCards;
 	}
 
 	/**
 	 * @return The number of cards currently in the deck.
 	 */
 	public int size() {
-		return orderedCards.size();
+		return cardCount - top;
 	}
 
 }
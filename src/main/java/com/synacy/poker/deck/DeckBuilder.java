@@ -3,6 +3,9 @@ package com.synacy.poker.deck;
 import com.synacy.poker.card.Card;
 import com.synacy.poker.card.CardRank;
 import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.deck.random.ShuffleRandomSourceType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
@@ -15,13 +18,25 @@ import java.util.stream.Collectors;
 @Component
 public class DeckBuilder {
 
+	private final ShuffleRandomSourceType randomSourceType;
+
+	public DeckBuilder() {
+		this(ShuffleRandomSourceType.SPLITTABLE);
+	}
+
+	@Autowired
+	public DeckBuilder(@Value("${poker.shuffle.random-source:SPLITTABLE}") ShuffleRandomSourceType randomSourceType) {
+		this.randomSourceType = randomSourceType;
+	}
+
 	/**
-	 * Builds a complete {@link Deck} without Jokers. Does not shuffle the deck.
+	 * Builds a complete {@link Deck} without Jokers. Does not shuffle the deck. Each deck gets its own
+	 * {@link com.synacy.poker.deck.random.ShuffleRandomSource} of the configured type.
 	 *
 	 * @return a {@link Deck} of {@link Card}
 	 */
 	public Deck buildDeck() {
-		Deck deck = new Deck();
+		Deck deck = new Deck(randomSourceType.create());
 		deck.addCards(generateCards());
 
 		return deck;
@@ -40,7 +55,7 @@ public class DeckBuilder {
 		CardRank[] cardRanks = CardRank.values();
 
 		return Arrays.stream(cardRanks)
-				.map(rank -> new Card(rank, suit))
+				.map(rank -> Card.of(rank, suit))
 				.collect(Collectors.toList());
 	}
 
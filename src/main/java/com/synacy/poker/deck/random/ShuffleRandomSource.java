@@ -0,0 +1,24 @@
+package com.synacy.poker.deck.random;
+
+/**
+ * The source of randomness a {@link com.synacy.poker.deck.Deck} shuffles with. Each deck owns its source, so
+ * decks shuffled on different threads never contend for a shared seed.
+ *
+ * @see ShuffleRandomSourceType
+ */
+public interface ShuffleRandomSource {
+
+    /**
+     * @param bound The exclusive upper bound, must be positive
+     * @return A uniformly distributed value from 0 up to, but excluding, the bound
+     */
+    int nextInt(int bound);
+
+    /**
+     * Restarts the sequence from the seed, so that the same seed always produces the same shuffles.
+     *
+     * @param seed
+     */
+    void setSeed(long seed);
+
+}
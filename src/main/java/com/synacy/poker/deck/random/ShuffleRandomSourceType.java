@@ -0,0 +1,43 @@
+package com.synacy.poker.deck.random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The available {@link ShuffleRandomSource} implementations, chosen through the
+ * <code>poker.shuffle.random-source</code> property.
+ */
+public enum ShuffleRandomSourceType {
+
+    SPLITTABLE {
+        @Override
+        public ShuffleRandomSource create(long seed) {
+            return new SplittableShuffleRandomSource(seed);
+        }
+    },
+    THREAD_LOCAL {
+        @Override
+        public ShuffleRandomSource create(long seed) {
+            return new ThreadLocalShuffleRandomSource();
+        }
+    },
+    XOSHIRO {
+        @Override
+        public ShuffleRandomSource create(long seed) {
+            return new XoshiroShuffleRandomSource(seed);
+        }
+    };
+
+    /**
+     * @param seed The initial seed, ignored by {@link #THREAD_LOCAL}
+     * @return A new {@link ShuffleRandomSource}
+     */
+    public abstract ShuffleRandomSource create(long seed);
+
+    /**
+     * @return A new {@link ShuffleRandomSource} with a random initial seed
+     */
+    public ShuffleRandomSource create() {
+        return create(ThreadLocalRandom.current().nextLong());
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.synacy.poker.deck.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link ShuffleRandomSource} producing the same values as a {@link SplittableRandom} of the same seed.
+ *
+ * <p>{@link SplittableRandom} cannot be reseeded, so its SplitMix64 steps are done here on a plain seed field,
+ * which lets {@link #setSeed(long)} restart the sequence without allocating a new generator every game.</p>
+ */
+public class SplittableShuffleRandomSource implements ShuffleRandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+
+    public SplittableShuffleRandomSource(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("The bound must be positive.");
+        }
+
+        int value = mix32(nextSeed());
+        int mask = bound - 1;
+        if ((bound & mask) == 0) {
+            return value & mask;
+        }
+        // Rejects the values of the last, incomplete range of the bound
+        int bits = value >>> 1;
+        while (bits + mask - (value = bits % bound) < 0) {
+            bits = mix32(nextSeed()) >>> 1;
+        }
+
+        return value;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    private long nextSeed() {
+        return seed += GOLDEN_GAMMA;
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.synacy.poker.deck.random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link ShuffleRandomSource} backed by the calling thread's {@link ThreadLocalRandom}. It cannot be seeded,
+ * so games shuffled with it cannot be replayed.
+ */
+public class ThreadLocalShuffleRandomSource implements ShuffleRandomSource {
+
+    @Override
+    public int nextInt(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    /**
+     * Ignored, a {@link ThreadLocalRandom} cannot be seeded.
+     *
+     * @param seed
+     */
+    @Override
+    public void setSeed(long seed) {
+    }
+
+}
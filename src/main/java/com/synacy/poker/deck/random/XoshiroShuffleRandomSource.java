@@ -0,0 +1,63 @@
+package com.synacy.poker.deck.random;
+
+/**
+ * A {@link ShuffleRandomSource} implementing the xoshiro256** generator, seeded through SplitMix64.
+ *
+ * @see <a href="http://prng.di.unimi.it/">xoshiro / xoroshiro generators</a>
+ */
+public class XoshiroShuffleRandomSource implements ShuffleRandomSource {
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    public XoshiroShuffleRandomSource(long seed) {
+        setSeed(seed);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("The bound must be positive.");
+        }
+
+        int bits = (int) (nextLong() >>> 33);
+        int value = bits % bound;
+        while (bits - value + (bound - 1) < 0) {
+            bits = (int) (nextLong() >>> 33);
+            value = bits % bound;
+        }
+
+        return value;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        s0 = splitMix64(seed += 0x9E3779B97F4A7C15L);
+        s1 = splitMix64(seed += 0x9E3779B97F4A7C15L);
+        s2 = splitMix64(seed += 0x9E3779B97F4A7C15L);
+        s3 = splitMix64(seed + 0x9E3779B97F4A7C15L);
+    }
+
+    long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    private static long splitMix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
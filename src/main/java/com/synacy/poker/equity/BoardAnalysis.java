@@ -0,0 +1,106 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.HandType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a player's hole cards are worth on the board so far: the equity against one random hand, how likely the
+ * hand is to end up as each {@link HandType} by the river, and the outs that improve it on the next card.
+ * Immutable.
+ *
+ * @see BoardAnalysisService
+ */
+public final class BoardAnalysis {
+
+    private final double equity;
+    private final double[] handTypeProbabilities;
+    private final long outsMask;
+    private final long runouts;
+
+    BoardAnalysis(double equity, double[] handTypeProbabilities, long outsMask, long runouts) {
+        this.equity = equity;
+        this.handTypeProbabilities = handTypeProbabilities;
+        this.outsMask = outsMask;
+        this.runouts = runouts;
+    }
+
+    /**
+     * @param canonicalDeal The class this analysis was worked out for
+     * @return This analysis with the outs in the suits of the deal the class was made from
+     */
+    BoardAnalysis toOriginalSuits(CanonicalDeal canonicalDeal) {
+        long originalOutsMask = canonicalDeal.toOriginal(outsMask);
+        if (originalOutsMask == outsMask) {
+            return this;
+        }
+
+        return new BoardAnalysis(equity, handTypeProbabilities, originalOutsMask, runouts);
+    }
+
+    /**
+     * @return The share of the pot the hole cards win on average against one random hand
+     */
+    public double getEquity() {
+        return equity;
+    }
+
+    /**
+     * @param handType
+     * @return The probability that the player's best hand is of the type once the board is complete. A Royal
+     * Flush counts as a {@link HandType#STRAIGHT_FLUSH}.
+     */
+    public double getHandTypeProbability(HandType handType) {
+        return handTypeProbabilities[handType.ordinal()];
+    }
+
+    /**
+     * @return The probability of every {@link HandType} once the board is complete, by type
+     * @see #getHandTypeProbability(HandType)
+     */
+    public Map<HandType, Double> getHandTypeProbabilities() {
+        Map<HandType, Double> probabilities = new EnumMap<>(HandType.class);
+        for (HandType handType : HandType.values()) {
+            probabilities.put(handType, handTypeProbabilities[handType.ordinal()]);
+        }
+
+        return probabilities;
+    }
+
+    /**
+     * @return The cards that would improve the player's {@link HandType} if dealt next, on the flop or the turn.
+     * Empty before the flop and on the river.
+     */
+    public List<Card> getOuts() {
+        List<Card> outs = new ArrayList<>(Long.bitCount(outsMask));
+        for (long cards = outsMask; cards != 0; cards &= cards - 1) {
+            outs.add(Card.fromCode(Long.numberOfTrailingZeros(cards)));
+        }
+
+        return outs;
+    }
+
+    /**
+     * @return The outs, bit <code>suit * 13 + rank</code> set for each card
+     */
+    public long getOutsMask() {
+        return outsMask;
+    }
+
+    /**
+     * @return The number of ways the rest of the board could be dealt, every one of which was counted
+     */
+    public long getRunouts() {
+        return runouts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Equity %.2f%%, %d outs over %d runouts", equity * 100, Long.bitCount(outsMask), runouts);
+    }
+
+}
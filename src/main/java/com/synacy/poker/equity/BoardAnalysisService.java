@@ -0,0 +1,204 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.hand.evaluator.HandEvaluator;
+import com.synacy.poker.hand.evaluator.HandStrength;
+import com.synacy.poker.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * A service that works out a {@link BoardAnalysis} of a player's hole cards on the board so far, by counting every
+ * possible runout of the board and every hand one opponent could hold.
+ *
+ * <p>Deals that only differ by the names of their suits have the same analysis, so analyses are cached by
+ * {@link CanonicalDeal} in a {@link BoundedCache} of <code>poker.analysis.cache-size</code> classes. Only the outs
+ * depend on the suits, and they are renamed back to the suits of each query. Before the flop, the equity is looked
+ * up with the {@link PreflopEquityService}.</p>
+ */
+@Component
+public class BoardAnalysisService {
+
+    private static final int HOLE_CARDS = 2;
+    private static final int HAND_TYPE_COUNT = HandType.values().length;
+
+    private final HandEvaluator handEvaluator;
+    private final PreflopEquityService preflopEquityService;
+    private final BoundedCache<CanonicalDeal, BoardAnalysis> cache;
+
+    @Autowired
+    public BoardAnalysisService(HandEvaluator handEvaluator,
+                                PreflopEquityService preflopEquityService,
+                                @Value("${poker.analysis.cache-size:4096}") int cacheSize) {
+        this.handEvaluator = handEvaluator;
+        this.preflopEquityService = preflopEquityService;
+        this.cache = new BoundedCache<>(cacheSize);
+    }
+
+    /**
+     * @param holeCards      The player's two hole cards
+     * @param communityCards The community cards so far: none, the flop, the turn or the river
+     * @return The {@link BoardAnalysis}
+     * @throws IllegalArgumentException if there are not two hole cards, the board is not a street, or a card
+     *                                  appears more than once
+     */
+    public BoardAnalysis analyze(List<Card> holeCards, List<Card> communityCards) {
+        if (holeCards.size() != HOLE_CARDS) {
+            throw new IllegalArgumentException("A player has two hole cards, not " + holeCards.size() + ".");
+        }
+        int boardCards = communityCards.size();
+        if (boardCards != 0 && (boardCards < 3 || boardCards > EquityScenario.MAX_COMMUNITY_CARDS)) {
+            throw new IllegalArgumentException("A board has 0, 3, 4 or 5 cards, not " + boardCards + ".");
+        }
+
+        CanonicalDeal canonicalDeal = CanonicalDeal.of(holeCards, communityCards);
+        return cache.get(canonicalDeal, this::analyzeClass).toOriginalSuits(canonicalDeal);
+    }
+
+    /**
+     * @return The cache of analyses by class, e.g. to read its hit and miss counts
+     */
+    public BoundedCache<CanonicalDeal, BoardAnalysis> getCache() {
+        return cache;
+    }
+
+    private BoardAnalysis analyzeClass(CanonicalDeal canonicalDeal) {
+        long holeMask = canonicalDeal.getHoleMask();
+        long boardMask = canonicalDeal.getBoardMask();
+        int[] unseenCards = unseenCards(holeMask | boardMask);
+        int missingBoardCards = EquityScenario.MAX_COMMUNITY_CARDS - Long.bitCount(boardMask);
+
+        long[] handTypeCounts = new long[HAND_TYPE_COUNT];
+        long[] opponentMasks = new long[binomial(unseenCards.length - missingBoardCards, HOLE_CARDS)];
+        int[] opponentStrengths = new int[opponentMasks.length];
+        boolean preflop = boardMask == 0L;
+        double equitySum = 0.0;
+        long runouts = 0;
+
+        int[] runout = firstCombination(missingBoardCards);
+        do {
+            long runoutMask = 0L;
+            for (int index : runout) {
+                runoutMask |= 1L << unseenCards[index];
+            }
+            long fullBoardMask = boardMask | runoutMask;
+            int strength = handEvaluator.evaluate(holeMask | fullBoardMask);
+            handTypeCounts[HandStrength.getCategory(strength)]++;
+            runouts++;
+
+            if (!preflop) {
+                int opponents = fillOpponentMasks(unseenCards, runoutMask, opponentMasks);
+                handEvaluator.evaluateAll(fullBoardMask, opponentMasks, opponentStrengths);
+                long wins = 0;
+                long ties = 0;
+                for (int opponent = 0; opponent < opponents; opponent++) {
+                    if (strength > opponentStrengths[opponent]) {
+                        wins++;
+                    } else if (strength == opponentStrengths[opponent]) {
+                        ties++;
+                    }
+                }
+                equitySum += (wins + ties / 2.0) / opponents;
+            }
+        } while (nextCombination(runout, unseenCards.length));
+
+        double[] handTypeProbabilities = new double[HAND_TYPE_COUNT];
+        for (int handType = 0; handType < HAND_TYPE_COUNT; handType++) {
+            handTypeProbabilities[handType] = (double) handTypeCounts[handType] / runouts;
+        }
+        double equity = preflop ? preflopEquityService.getEquity(holeMask, 1) : equitySum / runouts;
+
+        return new BoardAnalysis(equity, handTypeProbabilities, outs(holeMask, boardMask), runouts);
+    }
+
+    /**
+     * @return The unseen cards that raise the player's hand to a better {@link HandType} on the turn or the river,
+     * as counted by {@link Outs}
+     */
+    private static long outs(long holeMask, long boardMask) {
+        int boardCards = Long.bitCount(boardMask);
+        if (boardCards == 0 || boardCards == EquityScenario.MAX_COMMUNITY_CARDS) {
+            return 0L;
+        }
+
+        return Outs.of(holeMask, boardMask).getImprovingOutsMask();
+    }
+
+    /**
+     * Fills in every pair of unseen cards that is not on the runout.
+     *
+     * @return The number of pairs
+     */
+    private static int fillOpponentMasks(int[] unseenCards, long runoutMask, long[] opponentMasks) {
+        int opponents = 0;
+        for (int first = 0; first < unseenCards.length; first++) {
+            long firstBit = 1L << unseenCards[first];
+            if ((runoutMask & firstBit) != 0) {
+                continue;
+            }
+            for (int second = first + 1; second < unseenCards.length; second++) {
+                long secondBit = 1L << unseenCards[second];
+                if ((runoutMask & secondBit) == 0) {
+                    opponentMasks[opponents++] = firstBit | secondBit;
+                }
+            }
+        }
+
+        return opponents;
+    }
+
+    private static int[] unseenCards(long seenMask) {
+        int[] cards = new int[Card.CARD_COUNT - Long.bitCount(seenMask)];
+        int cardCount = 0;
+        for (int code = 0; code < Card.CARD_COUNT; code++) {
+            if ((seenMask & (1L << code)) == 0) {
+                cards[cardCount++] = code;
+            }
+        }
+
+        return cards;
+    }
+
+    private static int[] firstCombination(int size) {
+        int[] combination = new int[size];
+        for (int i = 0; i < size; i++) {
+            combination[i] = i;
+        }
+
+        return combination;
+    }
+
+    /**
+     * Steps to the next combination of indexes in lexicographic order.
+     *
+     * @return false once every combination has been visited
+     */
+    private static boolean nextCombination(int[] combination, int n) {
+        int size = combination.length;
+        for (int i = size - 1; i >= 0; i--) {
+            if (combination[i] < n - size + i) {
+                combination[i]++;
+                for (int j = i + 1; j < size; j++) {
+                    combination[j] = combination[j - 1] + 1;
+                }
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int binomial(int n, int k) {
+        long result = 1;
+        for (int i = 0; i < k; i++) {
+            result = result * (n - i) / (i + 1);
+        }
+
+        return (int) result;
+    }
+
+}
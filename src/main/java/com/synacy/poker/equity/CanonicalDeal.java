@@ -0,0 +1,160 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.util.PokerBits;
+import com.synacy.poker.util.PokerUtil;
+
+import java.util.List;
+
+/**
+ * The suit-isomorphism class of a player's hole cards and the board.
+ *
+ * <p>Suits have no order in Hold'em, so deals that only differ by renaming the suits, e.g. A&hearts;K&hearts; on
+ * Q&hearts;7&clubs;2&clubs; and A&spades;K&spades; on Q&spades;7&diams;2&diams;, play exactly the same. A deal is
+ * brought into its class by renaming its suits in a fixed order: the suit with the most hole cards, then the most
+ * board cards, then the highest ranks, becomes the first suit, and so on. Isomorphic deals therefore end up with
+ * the same canonical hole and board masks, which makes the class a key for results worked out once per class.
+ * The 22,100 flops, for example, fall into 1,755 classes.</p>
+ */
+public final class CanonicalDeal {
+
+    private static final int SUIT_BITS = 2;
+    private static final int SUIT_BITS_MASK = (1 << SUIT_BITS) - 1;
+
+    private final long holeMask;
+    private final long boardMask;
+
+    /**
+     * The canonical suit of each original suit, two bits per suit.
+     */
+    private final int canonicalSuits;
+
+    private CanonicalDeal(long holeMask, long boardMask, int canonicalSuits) {
+        this.holeMask = holeMask;
+        this.boardMask = boardMask;
+        this.canonicalSuits = canonicalSuits;
+    }
+
+    /**
+     * @param holeCards      The player's hole cards
+     * @param communityCards The community cards so far, e.g. from
+     *                       {@link com.synacy.poker.game.Game#getCommunityCards()}
+     * @return The class of the deal
+     * @throws IllegalArgumentException if a card appears more than once
+     */
+    public static CanonicalDeal of(List<Card> holeCards, List<Card> communityCards) {
+        long holeMask = PokerUtil.getCardMask(holeCards);
+        long boardMask = PokerUtil.getCardMask(communityCards);
+        if (Long.bitCount(holeMask) + Long.bitCount(boardMask) != holeCards.size() + communityCards.size()
+                || (holeMask & boardMask) != 0) {
+            throw new IllegalArgumentException("A card appears more than once.");
+        }
+
+        return of(holeMask, boardMask);
+    }
+
+    /**
+     * @param holeMask  The player's hole cards, bit <code>suit * 13 + rank</code> set for each card
+     * @param boardMask The community cards
+     * @return The class of the deal
+     * @throws IllegalArgumentException if a card is both a hole card and on the board
+     */
+    public static CanonicalDeal of(long holeMask, long boardMask) {
+        if ((holeMask & boardMask) != 0) {
+            throw new IllegalArgumentException("A card appears more than once.");
+        }
+
+        long[] suitKeys = new long[PokerBits.SUIT_COUNT];
+        for (int suit = 0; suit < PokerBits.SUIT_COUNT; suit++) {
+            int holeRanks = PokerBits.suitMask(holeMask, suit);
+            int boardRanks = PokerBits.suitMask(boardMask, suit);
+            suitKeys[suit] = ((long) Integer.bitCount(holeRanks) << 40) | ((long) Integer.bitCount(boardRanks) << 32)
+                    | ((long) holeRanks << PokerBits.RANK_COUNT) | boardRanks;
+        }
+
+        int canonicalSuits = 0;
+        for (int suit = 0; suit < PokerBits.SUIT_COUNT; suit++) {
+            int canonicalSuit = 0;
+            for (int other = 0; other < PokerBits.SUIT_COUNT; other++) {
+                if (suitKeys[other] > suitKeys[suit] || (suitKeys[other] == suitKeys[suit] && other < suit)) {
+                    canonicalSuit++;
+                }
+            }
+            canonicalSuits |= canonicalSuit << (suit * SUIT_BITS);
+        }
+
+        return new CanonicalDeal(renameSuits(holeMask, canonicalSuits), renameSuits(boardMask, canonicalSuits),
+                canonicalSuits);
+    }
+
+    /**
+     * @return The hole cards with the suits renamed
+     */
+    public long getHoleMask() {
+        return holeMask;
+    }
+
+    /**
+     * @return The board with the suits renamed
+     */
+    public long getBoardMask() {
+        return boardMask;
+    }
+
+    /**
+     * @param cardMask Cards of the original deal, e.g. cards still in the deck
+     * @return The same cards with the suits renamed as in this class
+     */
+    public long toCanonical(long cardMask) {
+        return renameSuits(cardMask, canonicalSuits);
+    }
+
+    /**
+     * @param canonicalMask Cards with the suits renamed as in this class, e.g. outs worked out for the class
+     * @return The same cards with the original suits of the deal
+     */
+    public long toOriginal(long canonicalMask) {
+        int originalSuits = 0;
+        for (int suit = 0; suit < PokerBits.SUIT_COUNT; suit++) {
+            originalSuits |= suit << (canonicalSuit(canonicalSuits, suit) * SUIT_BITS);
+        }
+
+        return renameSuits(canonicalMask, originalSuits);
+    }
+
+    /**
+     * Two deals are equal if they are in the same class, however their suits were named.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CanonicalDeal that = (CanonicalDeal) o;
+        return holeMask == that.holeMask && boardMask == that.boardMask;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(holeMask) + Long.hashCode(boardMask);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(holeMask) + "/" + Long.toHexString(boardMask);
+    }
+
+    private static int canonicalSuit(int canonicalSuits, int suit) {
+        return (canonicalSuits >>> (suit * SUIT_BITS)) & SUIT_BITS_MASK;
+    }
+
+    private static long renameSuits(long cardMask, int canonicalSuits) {
+        long renamed = 0L;
+        for (int suit = 0; suit < PokerBits.SUIT_COUNT; suit++) {
+            long ranks = PokerBits.suitMask(cardMask, suit);
+            renamed |= ranks << (canonicalSuit(canonicalSuits, suit) * PokerBits.RANK_COUNT);
+        }
+
+        return renamed;
+    }
+
+}
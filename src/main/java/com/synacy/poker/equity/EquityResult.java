@@ -0,0 +1,104 @@
+package com.synacy.poker.equity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The win, tie and equity figures of each player, in the order the players' hole cards were given.
+ *
+ * <p>Equity is the share of the pot a player wins on average, counting a tie between <em>n</em> players as a
+ * <em>1/n</em> share for each of them.</p>
+ */
+public class EquityResult {
+
+    private final double[] winProbabilities;
+    private final double[] tieProbabilities;
+    private final double[] equities;
+    private final double[] standardErrors;
+    private final long samples;
+    private final long elapsedNanos;
+    private final boolean exact;
+
+    EquityResult(double[] winProbabilities, double[] tieProbabilities, double[] equities, double[] standardErrors,
+                 long samples, long elapsedNanos, boolean exact) {
+        this.winProbabilities = winProbabilities;
+        this.tieProbabilities = tieProbabilities;
+        this.equities = equities;
+        this.standardErrors = standardErrors;
+        this.samples = samples;
+        this.elapsedNanos = elapsedNanos;
+        this.exact = exact;
+    }
+
+    /**
+     * @return The number of players
+     */
+    public int getPlayerCount() {
+        return equities.length;
+    }
+
+    /**
+     * @param player The index of the player
+     * @return The probability the player wins the pot alone
+     */
+    public double getWinProbability(int player) {
+        return winProbabilities[player];
+    }
+
+    /**
+     * @param player The index of the player
+     * @return The probability the player splits the pot with others
+     */
+    public double getTieProbability(int player) {
+        return tieProbabilities[player];
+    }
+
+    /**
+     * @param player The index of the player
+     * @return The player's expected share of the pot
+     */
+    public double getEquity(int player) {
+        return equities[player];
+    }
+
+    /**
+     * @param player The index of the player
+     * @return The standard error of the player's equity, 0 when the result is exact
+     */
+    public double getStandardError(int player) {
+        return standardErrors[player];
+    }
+
+    /**
+     * @return The number of boards evaluated
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return true if every possible board was evaluated, rather than a random sample of them
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * @return The number of boards evaluated per second of wall-clock time
+     */
+    public double getSamplesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : samples * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int player = 0; player < getPlayerCount(); player++) {
+            sb.append(String.format("Player %d: equity %.4f (win %.4f, tie %.4f, +/-%.4f)%n", player + 1,
+                    equities[player], winProbabilities[player], tieProbabilities[player], standardErrors[player]));
+        }
+        sb.append(String.format("%d samples, %.0f samples/s", samples, getSamplesPerSecond()));
+
+        return sb.toString();
+    }
+
+}
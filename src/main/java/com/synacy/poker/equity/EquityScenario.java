@@ -0,0 +1,116 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.deck.Deck;
+
+import java.util.List;
+
+/**
+ * The cards of an equity question as card masks: each player's hole cards, the community cards already on the
+ * board, and the cards still undealt that the rest of the board is drawn from.
+ */
+final class EquityScenario {
+
+    static final int MAX_COMMUNITY_CARDS = 5;
+
+    private static final long ALL_CARDS = (1L << Card.CARD_COUNT) - 1;
+
+    final long[] holeMasks;
+    final long boardMask;
+    final int missingBoardCards;
+    final int[] undealtCards;
+
+    private EquityScenario(long[] holeMasks, long boardMask, long undealtMask) {
+        this.holeMasks = holeMasks;
+        this.boardMask = boardMask;
+        this.missingBoardCards = MAX_COMMUNITY_CARDS - Long.bitCount(boardMask);
+
+        this.undealtCards = new int[Long.bitCount(undealtMask)];
+        for (int i = 0; undealtMask != 0; i++, undealtMask &= undealtMask - 1) {
+            undealtCards[i] = Long.numberOfTrailingZeros(undealtMask);
+        }
+    }
+
+    /**
+     * @param holeCards      Each player's hole cards
+     * @param communityCards The community cards on the board, up to five
+     * @param deadCards      Cards known to be out of the deck, e.g. burnt or folded cards, may be empty
+     * @return The scenario
+     * @throws IllegalArgumentException if there are no players, more than five community cards, or a card
+     *                                  appears more than once
+     */
+    static EquityScenario of(List<List<Card>> holeCards, List<Card> communityCards, List<Card> deadCards) {
+        long[] holeMasks = toHoleMasks(holeCards);
+        long knownMask = 0L;
+        for (long holeMask : holeMasks) {
+            knownMask |= holeMask;
+        }
+
+        long boardMask = toBoardMask(communityCards, knownMask);
+        knownMask |= boardMask;
+        knownMask |= toMask(deadCards, knownMask);
+
+        return new EquityScenario(holeMasks, boardMask, ALL_CARDS & ~knownMask);
+    }
+
+    /**
+     * @param holeCards      Each player's hole cards
+     * @param communityCards The community cards on the board, up to five
+     * @param deck           The deck the rest of the board is dealt from
+     * @return The scenario
+     * @throws IllegalArgumentException if there are no players, more than five community cards, or a card
+     *                                  appears more than once or is still in the deck
+     */
+    static EquityScenario of(List<List<Card>> holeCards, List<Card> communityCards, Deck deck) {
+        long[] holeMasks = toHoleMasks(holeCards);
+        long knownMask = 0L;
+        for (long holeMask : holeMasks) {
+            knownMask |= holeMask;
+        }
+
+        long boardMask = toBoardMask(communityCards, knownMask);
+        long undealtMask = deck.getRemainingCardMask();
+        if (((knownMask | boardMask) & undealtMask) != 0) {
+            throw new IllegalArgumentException("Dealt cards cannot still be in the deck.");
+        }
+
+        return new EquityScenario(holeMasks, boardMask, undealtMask);
+    }
+
+    private static long[] toHoleMasks(List<List<Card>> holeCards) {
+        if (holeCards.isEmpty()) {
+            throw new IllegalArgumentException("At least one player is needed.");
+        }
+
+        long[] holeMasks = new long[holeCards.size()];
+        long knownMask = 0L;
+        for (int player = 0; player < holeMasks.length; player++) {
+            holeMasks[player] = toMask(holeCards.get(player), knownMask);
+            knownMask |= holeMasks[player];
+        }
+
+        return holeMasks;
+    }
+
+    private static long toBoardMask(List<Card> communityCards, long knownMask) {
+        if (communityCards.size() > MAX_COMMUNITY_CARDS) {
+            throw new IllegalArgumentException("There are at most " + MAX_COMMUNITY_CARDS + " community cards.");
+        }
+
+        return toMask(communityCards, knownMask);
+    }
+
+    private static long toMask(List<Card> cards, long knownMask) {
+        long cardMask = 0L;
+        for (Card card : cards) {
+            long cardBit = 1L << card.getCode();
+            if (((knownMask | cardMask) & cardBit) != 0) {
+                throw new IllegalArgumentException(card + " appears more than once.");
+            }
+            cardMask |= cardBit;
+        }
+
+        return cardMask;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.synacy.poker.equity;
+
+/**
+ * Running win, tie and equity counts of the players over a number of showdowns. A tally belongs to a single
+ * worker; tallies of different workers are combined with {@link #merge(EquityTally)} once the work is done.
+ */
+final class EquityTally {
+
+    private final long[] wins;
+    private final long[] ties;
+    private final double[] equity;
+    private final double[] equitySquares;
+    private long showdowns;
+
+    EquityTally(int playerCount) {
+        this.wins = new long[playerCount];
+        this.ties = new long[playerCount];
+        this.equity = new double[playerCount];
+        this.equitySquares = new double[playerCount];
+    }
+
+    /**
+     * Records one showdown. Tied players split the pot equally.
+     *
+     * @param strengths The {@link com.synacy.poker.hand.evaluator.HandStrength} of each player
+     */
+    void recordShowdown(int[] strengths) {
+        int bestStrength = -1;
+        int winnerCount = 0;
+        for (int strength : strengths) {
+            if (strength > bestStrength) {
+                bestStrength = strength;
+                winnerCount = 1;
+            } else if (strength == bestStrength) {
+                winnerCount++;
+            }
+        }
+
+        double share = 1.0 / winnerCount;
+        for (int player = 0; player < strengths.length; player++) {
+            if (strengths[player] == bestStrength) {
+                if (winnerCount == 1) {
+                    wins[player]++;
+                } else {
+                    ties[player]++;
+                }
+                equity[player] += share;
+                equitySquares[player] += share * share;
+            }
+        }
+        showdowns++;
+    }
+
+    /**
+     * @param other
+     * @return This tally, with the other tally's counts added to it
+     */
+    EquityTally merge(EquityTally other) {
+        for (int player = 0; player < wins.length; player++) {
+            wins[player] += other.wins[player];
+            ties[player] += other.ties[player];
+            equity[player] += other.equity[player];
+            equitySquares[player] += other.equitySquares[player];
+        }
+        showdowns += other.showdowns;
+
+        return this;
+    }
+
+    /**
+     * @param elapsedNanos The wall-clock time the showdowns took
+     * @param exact        Whether every possible showdown was counted, rather than a sample of them
+     * @return The {@link EquityResult} of the tally
+     */
+    EquityResult toResult(long elapsedNanos, boolean exact) {
+        int playerCount = wins.length;
+        double[] winProbabilities = new double[playerCount];
+        double[] tieProbabilities = new double[playerCount];
+        double[] equities = new double[playerCount];
+        double[] standardErrors = new double[playerCount];
+
+        for (int player = 0; player < playerCount; player++) {
+            winProbabilities[player] = (double) wins[player] / showdowns;
+            tieProbabilities[player] = (double) ties[player] / showdowns;
+            equities[player] = equity[player] / showdowns;
+            if (!exact && showdowns > 1) {
+                double variance = (equitySquares[player] / showdowns - equities[player] * equities[player])
+                        * showdowns / (showdowns - 1);
+                standardErrors[player] = Math.sqrt(Math.max(variance, 0.0) / showdowns);
+            }
+        }
+
+        return new EquityResult(winProbabilities, tieProbabilities, equities, standardErrors, showdowns, elapsedNanos, exact);
+    }
+
+}
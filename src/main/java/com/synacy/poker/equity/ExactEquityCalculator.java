@@ -0,0 +1,173 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.deck.Deck;
+import com.synacy.poker.hand.evaluator.HandEvaluator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A service that computes each player's exact equity by evaluating every possible run-out of the board.
+ *
+ * <p>The run-outs are numbered in colexicographic order of the undealt card indices, so any range of them can
+ * be unranked and walked independently. Ranges are split in halves until a task is small enough, the tasks run
+ * on a {@link ForkJoinPool}, and every task keeps its own tally that is merged only as the tasks join.</p>
+ */
+@Component
+public class ExactEquityCalculator {
+
+    private static final long BOARDS_PER_TASK = 1 << 14;
+
+    /**
+     * <code>BINOMIAL[n][k]</code> is the number of ways to choose <code>k</code> of <code>n</code> cards.
+     */
+    static final long[][] BINOMIAL = new long[Card.CARD_COUNT + 1][EquityScenario.MAX_COMMUNITY_CARDS + 1];
+
+    static {
+        for (int n = 0; n <= Card.CARD_COUNT; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= EquityScenario.MAX_COMMUNITY_CARDS && k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private final HandEvaluator handEvaluator;
+    private final ForkJoinPool forkJoinPool;
+
+    @Autowired
+    public ExactEquityCalculator(HandEvaluator handEvaluator) {
+        this(handEvaluator, ForkJoinPool.commonPool());
+    }
+
+    public ExactEquityCalculator(HandEvaluator handEvaluator, ForkJoinPool forkJoinPool) {
+        this.handEvaluator = handEvaluator;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * @param holeCards      Each player's hole cards
+     * @param communityCards The community cards on the board, up to five
+     * @param deadCards      Cards known to be out of the deck, may be empty
+     * @return The exact {@link EquityResult}
+     * @throws IllegalArgumentException if a card appears more than once
+     */
+    public EquityResult calculate(List<List<Card>> holeCards, List<Card> communityCards, List<Card> deadCards) {
+        return calculate(EquityScenario.of(holeCards, communityCards, deadCards));
+    }
+
+    /**
+     * Same as {@link #calculate(List, List, List)}, but the rest of the board is dealt from the cards still in
+     * the deck, e.g. the deck of a game in progress.
+     *
+     * @param holeCards
+     * @param communityCards
+     * @param deck
+     * @return The exact {@link EquityResult}
+     * @throws IllegalArgumentException if a card appears more than once or a dealt card is still in the deck
+     */
+    public EquityResult calculate(List<List<Card>> holeCards, List<Card> communityCards, Deck deck) {
+        return calculate(EquityScenario.of(holeCards, communityCards, deck));
+    }
+
+    private EquityResult calculate(EquityScenario scenario) {
+        long boards = BINOMIAL[scenario.undealtCards.length][scenario.missingBoardCards];
+        if (boards == 0) {
+            throw new IllegalArgumentException("There are not enough undealt cards to complete the board.");
+        }
+
+        long startNanos = System.nanoTime();
+        EquityTally tally = forkJoinPool.invoke(new EnumerationTask(handEvaluator, scenario, 0, boards));
+
+        return tally.toResult(System.nanoTime() - startNanos, true);
+    }
+
+    private static final class EnumerationTask extends RecursiveTask<EquityTally> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final HandEvaluator handEvaluator;
+        private final EquityScenario scenario;
+        private final long fromBoard;
+        private final long toBoard;
+
+        EnumerationTask(HandEvaluator handEvaluator, EquityScenario scenario, long fromBoard, long toBoard) {
+            this.handEvaluator = handEvaluator;
+            this.scenario = scenario;
+            this.fromBoard = fromBoard;
+            this.toBoard = toBoard;
+        }
+
+        @Override
+        protected EquityTally compute() {
+            if (toBoard - fromBoard > BOARDS_PER_TASK) {
+                long middleBoard = fromBoard + (toBoard - fromBoard) / 2;
+                EnumerationTask left = new EnumerationTask(handEvaluator, scenario, fromBoard, middleBoard);
+                left.fork();
+                EquityTally tally = new EnumerationTask(handEvaluator, scenario, middleBoard, toBoard).compute();
+                return tally.merge(left.join());
+            }
+
+            return enumerate();
+        }
+
+        private EquityTally enumerate() {
+            long[] holeMasks = scenario.holeMasks;
+            int[] cards = scenario.undealtCards;
+            int[] indices = unrank(fromBoard, scenario.missingBoardCards);
+            int[] strengths = new int[holeMasks.length];
+            EquityTally tally = new EquityTally(holeMasks.length);
+
+            for (long board = fromBoard; board < toBoard; board++) {
+                long boardMask = scenario.boardMask;
+                for (int index : indices) {
+                    boardMask |= 1L << cards[index];
+                }
+
+                handEvaluator.evaluateAll(boardMask, holeMasks, strengths);
+                tally.recordShowdown(strengths);
+
+                nextCombination(indices);
+            }
+
+            return tally;
+        }
+    }
+
+    /**
+     * @return The ascending card indices of the board with the given colexicographic number
+     */
+    static int[] unrank(long board, int cardCount) {
+        int[] indices = new int[cardCount];
+        for (int k = cardCount; k > 0; k--) {
+            int index = k - 1;
+            while (BINOMIAL[index + 1][k] <= board) {
+                index++;
+            }
+            indices[k - 1] = index;
+            board -= BINOMIAL[index][k];
+        }
+
+        return indices;
+    }
+
+    /**
+     * Moves the ascending card indices to the next combination in colexicographic order. Past the last
+     * combination the indices are meaningless and must not be used.
+     */
+    static void nextCombination(int[] indices) {
+        int k = 0;
+        while (k < indices.length - 1 && indices[k] + 1 == indices[k + 1]) {
+            indices[k] = k;
+            k++;
+        }
+        if (k < indices.length) {
+            indices[k]++;
+        }
+    }
+
+}
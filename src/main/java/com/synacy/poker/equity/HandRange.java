@@ -0,0 +1,279 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.util.PokerBits;
+import com.synacy.poker.util.PokerUtil;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A range of hole cards a player might hold, each pair of hole cards with a weight from 0 to 1: how often the
+ * player holds it compared to a pair of weight 1. Immutable.
+ *
+ * <p>A range is written as a comma-separated list of {@link StartingHands} classes in the usual notation, each
+ * optionally followed by <code>:weight</code>:</p>
+ * <ul>
+ * <li><code>QQ</code>, <code>AKs</code>, <code>KQo</code>, or <code>AK</code> for both the suited and offsuit
+ * hands</li>
+ * <li><code>QQ+</code> for QQ, KK and AA; <code>ATs+</code> for ATs up to AKs</li>
+ * <li><code>QQ-99</code> for the pairs in between; <code>A9s-A5s</code> for the kickers in between;
+ * <code>76s-54s</code> for the hands with the same gap in between</li>
+ * <li><code>AhKh</code> for one pair of hole cards, suits written <code>s</code>, <code>c</code>, <code>d</code>
+ * and <code>h</code></li>
+ * </ul>
+ * <p>e.g. <code>QQ+, AKs, KQo:0.5, 76s-54s</code>. A pair of hole cards covered more than once takes the last
+ * weight given to it.</p>
+ */
+public final class HandRange {
+
+    private static final String SUIT_SYMBOLS = "scdh";
+
+    private final long[] comboMasks;
+    private final double[] weights;
+    private final String description;
+
+    private HandRange(long[] comboMasks, double[] weights, String description) {
+        this.comboMasks = comboMasks;
+        this.weights = weights;
+        this.description = description;
+    }
+
+    /**
+     * @param range e.g. <code>QQ+, AKs, KQo:0.5, 76s-54s</code>
+     * @return The range
+     * @throws IllegalArgumentException if the range cannot be parsed, or it holds no pair of hole cards
+     */
+    public static HandRange parse(String range) {
+        Map<Long, Double> combos = new LinkedHashMap<>();
+        for (String token : range.split(",")) {
+            String hands = token.trim();
+            double weight = 1.0;
+            int colon = hands.indexOf(':');
+            if (colon >= 0) {
+                weight = parseWeight(hands.substring(colon + 1).trim());
+                hands = hands.substring(0, colon).trim();
+            }
+
+            for (long comboMask : parseHands(hands)) {
+                combos.put(comboMask, weight);
+            }
+        }
+        combos.values().removeIf(weight -> weight == 0.0);
+        if (combos.isEmpty()) {
+            throw new IllegalArgumentException("The range " + range + " holds no hands.");
+        }
+
+        long[] comboMasks = new long[combos.size()];
+        double[] weights = new double[combos.size()];
+        int combo = 0;
+        for (Map.Entry<Long, Double> entry : combos.entrySet()) {
+            comboMasks[combo] = entry.getKey();
+            weights[combo] = entry.getValue();
+            combo++;
+        }
+
+        return new HandRange(comboMasks, weights, range.trim());
+    }
+
+    /**
+     * @param holeCards A player's two hole cards, e.g. {@link com.synacy.poker.game.Player#getHand()}
+     * @return The range of just those hole cards
+     * @throws IllegalArgumentException if there are not two different cards
+     */
+    public static HandRange of(List<Card> holeCards) {
+        long holeMask = PokerUtil.getCardMask(holeCards);
+        if (holeCards.size() != 2 || Long.bitCount(holeMask) != 2) {
+            throw new IllegalArgumentException("A range is made of two different hole cards.");
+        }
+
+        return new HandRange(new long[]{holeMask}, new double[]{1.0}, holeCards.toString());
+    }
+
+    /**
+     * @return The number of pairs of hole cards in the range
+     */
+    public int size() {
+        return comboMasks.length;
+    }
+
+    /**
+     * @param combo The index of the pair of hole cards
+     * @return The hole cards, bit <code>suit * 13 + rank</code> set for each card
+     */
+    public long getComboMask(int combo) {
+        return comboMasks[combo];
+    }
+
+    /**
+     * @param combo The index of the pair of hole cards
+     * @return The weight of the hole cards, above 0 and at most 1
+     */
+    public double getWeight(int combo) {
+        return weights[combo];
+    }
+
+    /**
+     * @return The sum of the weights, e.g. 6 for a range of one pocket pair
+     */
+    public double getTotalWeight() {
+        double totalWeight = 0.0;
+        for (double weight : weights) {
+            totalWeight += weight;
+        }
+
+        return totalWeight;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static double parseWeight(String weight) {
+        double value;
+        try {
+            value = Double.parseDouble(weight);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The weight " + weight + " is not a number.");
+        }
+        if (!(value >= 0.0 && value <= 1.0)) {
+            throw new IllegalArgumentException("A weight is from 0 to 1, not " + weight + ".");
+        }
+
+        return value;
+    }
+
+    /**
+     * @param hands One entry of a range without its weight, e.g. <code>76s-54s</code>
+     * @return Every pair of hole cards of the entry
+     */
+    private static long[] parseHands(String hands) {
+        if (hands.length() == 4 && SUIT_SYMBOLS.indexOf(hands.charAt(1)) >= 0) {
+            return new long[]{parseCombo(hands)};
+        }
+
+        int dash = hands.indexOf('-');
+        if (dash >= 0) {
+            return comboMasks(hands, parseClass(hands.substring(0, dash).trim(), hands),
+                    parseClass(hands.substring(dash + 1).trim(), hands));
+        }
+        if (hands.endsWith("+")) {
+            ParsedClass handClass = parseClass(hands.substring(0, hands.length() - 1), hands);
+            int top = handClass.isPair() ? PokerBits.RANK_COUNT - 1 : handClass.high;
+            return comboMasks(hands, handClass, handClass.withRanks(top, handClass.isPair() ? top : top - 1));
+        }
+
+        ParsedClass handClass = parseClass(hands, hands);
+        return comboMasks(hands, handClass, handClass);
+    }
+
+    /**
+     * @return Every pair of hole cards of the classes from one class to the other: the pairs, or the kickers of
+     * the same high card, or the hands with the same gap between their ranks
+     */
+    private static long[] comboMasks(String hands, ParsedClass from, ParsedClass to) {
+        if (from.suitedness != to.suitedness || from.isPair() != to.isPair()) {
+            throw new IllegalArgumentException(hands + " mixes different kinds of hands.");
+        }
+
+        boolean kickers = !from.isPair() && from.high == to.high;
+        if (!from.isPair() && !kickers && from.high - from.low != to.high - to.low) {
+            throw new IllegalArgumentException(hands + " is neither a run of kickers nor of hands with one gap.");
+        }
+
+        ParsedClass lower = from.low <= to.low ? from : to;
+        int steps = Math.abs(to.low - from.low);
+        long[][] classMasks = new long[(steps + 1) * 2][];
+        int classCount = 0;
+        for (int step = 0; step <= steps; step++) {
+            int high = kickers ? lower.high : lower.high + step;
+            int low = lower.low + step;
+            if (lower.suitedness != 'o') {
+                classMasks[classCount++] = StartingHands.comboMasks(high * PokerBits.RANK_COUNT + low);
+            }
+            if (lower.suitedness != 's' && high != low) {
+                classMasks[classCount++] = StartingHands.comboMasks(low * PokerBits.RANK_COUNT + high);
+            }
+        }
+
+        int comboCount = 0;
+        for (int i = 0; i < classCount; i++) {
+            comboCount += classMasks[i].length;
+        }
+        long[] comboMasks = new long[comboCount];
+        int combo = 0;
+        for (int i = 0; i < classCount; i++) {
+            System.arraycopy(classMasks[i], 0, comboMasks, combo, classMasks[i].length);
+            combo += classMasks[i].length;
+        }
+
+        return comboMasks;
+    }
+
+    /**
+     * @param name  e.g. <code>QQ</code>, <code>AKs</code>, <code>KQo</code> or <code>AK</code>
+     * @param hands The entry the name is part of, for the error message
+     */
+    private static ParsedClass parseClass(String name, String hands) {
+        if (name.length() < 2 || name.length() > 3) {
+            throw new IllegalArgumentException(hands + " is not a range of hands.");
+        }
+
+        int rank = StartingHands.rankOf(name.charAt(0));
+        int otherRank = StartingHands.rankOf(name.charAt(1));
+        char suitedness = name.length() == 3 ? Character.toLowerCase(name.charAt(2)) : ' ';
+        if (rank < 0 || otherRank < 0 || (suitedness != ' ' && suitedness != 's' && suitedness != 'o')
+                || (rank == otherRank && suitedness != ' ')) {
+            throw new IllegalArgumentException(hands + " is not a range of hands.");
+        }
+
+        return new ParsedClass(Math.max(rank, otherRank), Math.min(rank, otherRank), suitedness);
+    }
+
+    /**
+     * @param combo e.g. <code>AhKh</code>
+     */
+    private static long parseCombo(String combo) {
+        int rank = StartingHands.rankOf(combo.charAt(0));
+        int suit = SUIT_SYMBOLS.indexOf(combo.charAt(1));
+        int otherRank = StartingHands.rankOf(combo.charAt(2));
+        int otherSuit = SUIT_SYMBOLS.indexOf(combo.charAt(3));
+        if (rank < 0 || suit < 0 || otherRank < 0 || otherSuit < 0 || (rank == otherRank && suit == otherSuit)) {
+            throw new IllegalArgumentException(combo + " is not a pair of hole cards.");
+        }
+
+        return (1L << (suit * PokerBits.RANK_COUNT + rank)) | (1L << (otherSuit * PokerBits.RANK_COUNT + otherRank));
+    }
+
+    /**
+     * A class as written in a range, which unlike a {@link StartingHands} class may stand for both the suited
+     * and the offsuit hands.
+     */
+    private static final class ParsedClass {
+
+        private final int high;
+        private final int low;
+
+        /**
+         * <code>s</code>, <code>o</code>, or a space for both
+         */
+        private final char suitedness;
+
+        ParsedClass(int high, int low, char suitedness) {
+            this.high = high;
+            this.low = low;
+            this.suitedness = suitedness;
+        }
+
+        boolean isPair() {
+            return high == low;
+        }
+
+        ParsedClass withRanks(int high, int low) {
+            return new ParsedClass(high, low, suitedness);
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.evaluator.HandEvaluator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A service that estimates each player's equity by dealing random run-outs of the board.
+ *
+ * <p>The samples are split in halves until a task is small enough, and the tasks run on a {@link ForkJoinPool}.
+ * Every task owns a {@link SplittableRandom} split off its parent's and its own scratch arrays, so workers
+ * share nothing mutable while sampling and their tallies are merged only as the tasks join.</p>
+ */
+@Component
+public class MonteCarloEquityCalculator {
+
+    private static final long SAMPLES_PER_TASK = 1 << 14;
+
+    private final HandEvaluator handEvaluator;
+    private final ForkJoinPool forkJoinPool;
+
+    @Autowired
+    public MonteCarloEquityCalculator(HandEvaluator handEvaluator) {
+        this(handEvaluator, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloEquityCalculator(HandEvaluator handEvaluator, ForkJoinPool forkJoinPool) {
+        this.handEvaluator = handEvaluator;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * @param holeCards      Each player's hole cards
+     * @param communityCards The community cards on the board, up to five
+     * @param deadCards      Cards known to be out of the deck, may be empty
+     * @param samples        The number of random boards to deal
+     * @return The estimated {@link EquityResult}
+     * @throws IllegalArgumentException if a card appears more than once, or the samples are not positive
+     */
+    public EquityResult calculate(List<List<Card>> holeCards, List<Card> communityCards, List<Card> deadCards,
+                                  long samples) {
+        return calculate(holeCards, communityCards, deadCards, samples, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Same as {@link #calculate(List, List, List, long)}, but repeatable: the same seed gives the same result.
+     *
+     * @param holeCards
+     * @param communityCards
+     * @param deadCards
+     * @param samples
+     * @param seed
+     * @return The estimated {@link EquityResult}
+     */
+    public EquityResult calculate(List<List<Card>> holeCards, List<Card> communityCards, List<Card> deadCards,
+                                  long samples, long seed) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("The number of samples must be positive.");
+        }
+
+        EquityScenario scenario = EquityScenario.of(holeCards, communityCards, deadCards);
+        long startNanos = System.nanoTime();
+        EquityTally tally = forkJoinPool.invoke(
+                new SampleTask(handEvaluator, scenario, samples, new SplittableRandom(seed)));
+
+        return tally.toResult(System.nanoTime() - startNanos, false);
+    }
+
+    private static final class SampleTask extends RecursiveTask<EquityTally> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final HandEvaluator handEvaluator;
+        private final EquityScenario scenario;
+        private final long samples;
+        private final SplittableRandom random;
+
+        SampleTask(HandEvaluator handEvaluator, EquityScenario scenario, long samples, SplittableRandom random) {
+            this.handEvaluator = handEvaluator;
+            this.scenario = scenario;
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        protected EquityTally compute() {
+            if (samples > SAMPLES_PER_TASK) {
+                long half = samples / 2;
+                SampleTask left = new SampleTask(handEvaluator, scenario, half, random.split());
+                left.fork();
+                EquityTally tally = new SampleTask(handEvaluator, scenario, samples - half, random).compute();
+                return tally.merge(left.join());
+            }
+
+            return sample();
+        }
+
+        private EquityTally sample() {
+            long[] holeMasks = scenario.holeMasks;
+            int[] cards = scenario.undealtCards.clone();
+            int[] strengths = new int[holeMasks.length];
+            EquityTally tally = new EquityTally(holeMasks.length);
+
+            for (long sample = 0; sample < samples; sample++) {
+                long boardMask = scenario.boardMask;
+                for (int i = 0; i < scenario.missingBoardCards; i++) {
+                    int j = i + random.nextInt(cards.length - i);
+                    int card = cards[j];
+                    cards[j] = cards[i];
+                    cards[i] = card;
+                    boardMask |= 1L << card;
+                }
+
+                handEvaluator.evaluateAll(boardMask, holeMasks, strengths);
+                tally.recordShowdown(strengths);
+            }
+
+            return tally;
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.hand.evaluator.HandAccumulator;
+import com.synacy.poker.hand.evaluator.HandStrength;
+import com.synacy.poker.util.PokerUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A player's outs on the flop or the turn: the unseen cards that would raise the player's {@link HandType}, or
+ * put the player alone in the lead of the table, if dealt next, and how likely either is by the river. Immutable.
+ *
+ * <p>Every seat is worked out at once, and exactly: every unseen card, and on the flop every unseen turn and
+ * river, is counted. The board's rank and suit counts are accumulated once per street, or once per turn card for
+ * the river, in a {@link HandAccumulator}, and each seat only adds its own hole cards and the next card to them.
+ * Cards count as unseen if they are neither on the board nor in any seat's hand, which includes burnt cards.</p>
+ */
+public final class Outs {
+
+    private static final long ALL_CARDS = (1L << Card.CARD_COUNT) - 1;
+    private static final int FLOP_CARDS = 3;
+
+    private final long improvingOutsMask;
+    private final long leadingOutsMask;
+    private final int unseenCards;
+    private final double improveByRiverProbability;
+    private final double leadAtRiverProbability;
+
+    private Outs(long improvingOutsMask, long leadingOutsMask, int unseenCards, double improveByRiverProbability,
+                 double leadAtRiverProbability) {
+        this.improvingOutsMask = improvingOutsMask;
+        this.leadingOutsMask = leadingOutsMask;
+        this.unseenCards = unseenCards;
+        this.improveByRiverProbability = improveByRiverProbability;
+        this.leadAtRiverProbability = leadAtRiverProbability;
+    }
+
+    /**
+     * @param holeCards      Each player's hole cards
+     * @param communityCards The flop or the turn
+     * @return The outs of each player, in the order of the hole cards
+     * @throws IllegalArgumentException if the board is neither the flop nor the turn, or a card appears more than
+     *                                  once
+     */
+    public static List<Outs> of(List<List<Card>> holeCards, List<Card> communityCards) {
+        int boardCards = communityCards.size();
+        if (boardCards != FLOP_CARDS && boardCards != FLOP_CARDS + 1) {
+            throw new IllegalArgumentException("Outs are counted on the flop and the turn, not on a board of "
+                    + boardCards + " cards.");
+        }
+
+        long seenMask = 0L;
+        for (Card card : communityCards) {
+            seenMask = addCard(seenMask, card);
+        }
+        long[] holeMasks = new long[holeCards.size()];
+        for (int seat = 0; seat < holeMasks.length; seat++) {
+            for (Card card : holeCards.get(seat)) {
+                holeMasks[seat] |= 1L << card.getCode();
+                seenMask = addCard(seenMask, card);
+            }
+        }
+
+        return count(HandAccumulator.of(PokerUtil.getCardMask(communityCards)), holeMasks, ALL_CARDS & ~seenMask);
+    }
+
+    /**
+     * The outs of a single player on a board of masks that have already been checked.
+     *
+     * @param holeMask  The player's hole cards
+     * @param boardMask The flop or the turn
+     * @return The player's outs, with every card that is neither in the hand nor on the board unseen
+     */
+    static Outs of(long holeMask, long boardMask) {
+        return count(HandAccumulator.of(boardMask), new long[]{holeMask}, ALL_CARDS & ~(holeMask | boardMask)).get(0);
+    }
+
+    private static List<Outs> count(HandAccumulator board, long[] holeMasks, long unseenMask) {
+        int seats = holeMasks.length;
+        int[] unseen = new int[Long.bitCount(unseenMask)];
+        for (int i = 0; unseenMask != 0; i++, unseenMask &= unseenMask - 1) {
+            unseen[i] = Long.numberOfTrailingZeros(unseenMask);
+        }
+
+        int[] categories = new int[seats];
+        int[] strengths = new int[seats];
+        board.evaluateAll(holeMasks, strengths);
+        for (int seat = 0; seat < seats; seat++) {
+            categories[seat] = HandStrength.getCategory(strengths[seat]);
+        }
+
+        long[] nextHoleMasks = new long[seats];
+        long[] improvingOutsMasks = new long[seats];
+        long[] leadingOutsMasks = new long[seats];
+        for (int card : unseen) {
+            long cardBit = 1L << card;
+            evaluateWith(board, holeMasks, cardBit, nextHoleMasks, strengths);
+            for (int seat = 0; seat < seats; seat++) {
+                if (HandStrength.getCategory(strengths[seat]) > categories[seat]) {
+                    improvingOutsMasks[seat] |= cardBit;
+                }
+            }
+            int leader = soleLeader(strengths);
+            if (leader >= 0) {
+                leadingOutsMasks[leader] |= cardBit;
+            }
+        }
+
+        long[] improvingRunouts = new long[seats];
+        long[] leadingRunouts = new long[seats];
+        long runouts;
+        if (board.getCardCount() == FLOP_CARDS) {
+            runouts = (long) unseen.length * (unseen.length - 1) / 2;
+            for (int turn = 0; turn < unseen.length; turn++) {
+                HandAccumulator turnBoard = board.plus(unseen[turn]);
+                for (int river = turn + 1; river < unseen.length; river++) {
+                    evaluateWith(turnBoard, holeMasks, 1L << unseen[river], nextHoleMasks, strengths);
+                    countRunout(strengths, categories, improvingRunouts, leadingRunouts);
+                }
+            }
+        } else {
+            runouts = unseen.length;
+            for (int seat = 0; seat < seats; seat++) {
+                improvingRunouts[seat] = Long.bitCount(improvingOutsMasks[seat]);
+                leadingRunouts[seat] = Long.bitCount(leadingOutsMasks[seat]);
+            }
+        }
+
+        List<Outs> outs = new ArrayList<>(seats);
+        for (int seat = 0; seat < seats; seat++) {
+            outs.add(new Outs(improvingOutsMasks[seat], leadingOutsMasks[seat], unseen.length,
+                    (double) improvingRunouts[seat] / runouts, (double) leadingRunouts[seat] / runouts));
+        }
+
+        return Collections.unmodifiableList(outs);
+    }
+
+    /**
+     * @return The cards that would raise the player's {@link HandType} if dealt next
+     */
+    public List<Card> getImprovingOuts() {
+        return toCards(improvingOutsMask);
+    }
+
+    /**
+     * @return The improving outs, bit <code>suit * 13 + rank</code> set for each card
+     */
+    public long getImprovingOutsMask() {
+        return improvingOutsMask;
+    }
+
+    /**
+     * @return The cards that would put the player alone in the lead if dealt next, or keep the player there
+     */
+    public List<Card> getLeadingOuts() {
+        return toCards(leadingOutsMask);
+    }
+
+    /**
+     * @return The leading outs, bit <code>suit * 13 + rank</code> set for each card
+     */
+    public long getLeadingOutsMask() {
+        return leadingOutsMask;
+    }
+
+    /**
+     * @return The probability that the next card raises the player's {@link HandType}
+     */
+    public double getImproveProbability() {
+        return (double) Long.bitCount(improvingOutsMask) / unseenCards;
+    }
+
+    /**
+     * @return The probability that the player leads alone after the next card
+     */
+    public double getLeadProbability() {
+        return (double) Long.bitCount(leadingOutsMask) / unseenCards;
+    }
+
+    /**
+     * @return The probability that the player's {@link HandType} is better on the river than now. On the flop
+     * this counts runner-runner improvements as well.
+     */
+    public double getImproveByRiverProbability() {
+        return improveByRiverProbability;
+    }
+
+    /**
+     * @return The probability that the player leads alone on the river, i.e. wins the pot alone
+     */
+    public double getLeadAtRiverProbability() {
+        return leadAtRiverProbability;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d outs, %.1f%% next card, %.1f%% by the river; %d cards to lead",
+                Long.bitCount(improvingOutsMask), getImproveProbability() * 100, improveByRiverProbability * 100,
+                Long.bitCount(leadingOutsMask));
+    }
+
+    /**
+     * Evaluates every seat on the board with one more card, which is added to each seat's hole cards so that the
+     * board's counts are reused as they are.
+     */
+    private static void evaluateWith(HandAccumulator board, long[] holeMasks, long cardBit, long[] nextHoleMasks,
+                                     int[] strengths) {
+        for (int seat = 0; seat < holeMasks.length; seat++) {
+            nextHoleMasks[seat] = holeMasks[seat] | cardBit;
+        }
+        board.evaluateAll(nextHoleMasks, strengths);
+    }
+
+    private static void countRunout(int[] strengths, int[] categories, long[] improvingRunouts,
+                                    long[] leadingRunouts) {
+        for (int seat = 0; seat < strengths.length; seat++) {
+            if (HandStrength.getCategory(strengths[seat]) > categories[seat]) {
+                improvingRunouts[seat]++;
+            }
+        }
+        int leader = soleLeader(strengths);
+        if (leader >= 0) {
+            leadingRunouts[leader]++;
+        }
+    }
+
+    /**
+     * @return The seat with the strongest hand, or -1 if the strongest hand is shared
+     */
+    private static int soleLeader(int[] strengths) {
+        int leader = -1;
+        int bestStrength = -1;
+        for (int seat = 0; seat < strengths.length; seat++) {
+            if (strengths[seat] > bestStrength) {
+                bestStrength = strengths[seat];
+                leader = seat;
+            } else if (strengths[seat] == bestStrength) {
+                leader = -1;
+            }
+        }
+
+        return leader;
+    }
+
+    private static long addCard(long seenMask, Card card) {
+        long cardBit = 1L << card.getCode();
+        if ((seenMask & cardBit) != 0) {
+            throw new IllegalArgumentException(card + " appears more than once.");
+        }
+
+        return seenMask | cardBit;
+    }
+
+    private static List<Card> toCards(long cardMask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(cardMask));
+        for (long remaining = cardMask; remaining != 0; remaining &= remaining - 1) {
+            cards.add(Card.fromCode(Long.numberOfTrailingZeros(remaining)));
+        }
+
+        return cards;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * A service that looks up the equity of hole cards before the flop in the {@link PreflopEquityTable} that ships
+ * with the application, without dealing a single board. The table is read on the first lookup, so the application
+ * still starts without it, e.g. to generate it.
+ */
+@Component
+public class PreflopEquityService {
+
+    /**
+     * The classpath location of the table, written by {@link PreflopEquityTableRunner}.
+     */
+    public static final String TABLE_RESOURCE = "equity/preflop-equity.bin";
+
+    private volatile PreflopEquityTable preflopEquityTable;
+
+    public PreflopEquityService() {
+    }
+
+    public PreflopEquityService(PreflopEquityTable preflopEquityTable) {
+        this.preflopEquityTable = preflopEquityTable;
+    }
+
+    /**
+     * @param holeCards Two hole cards
+     * @param opponents From 1 to 9
+     * @return The share of the pot the hole cards win on average against that many random hands
+     * @throws IllegalArgumentException if there are not two different hole cards, or the number of opponents is
+     *                                  out of range
+     */
+    public double getEquity(List<Card> holeCards, int opponents) {
+        return getPreflopEquityTable().getEquity(StartingHands.classOf(holeCards), opponents);
+    }
+
+    /**
+     * @param holeMask  Two hole cards, bit <code>suit * 13 + rank</code> set for each card
+     * @param opponents From 1 to 9
+     * @return The share of the pot the hole cards win on average against that many random hands
+     * @throws IllegalArgumentException if the mask does not hold two cards, or the number of opponents is out of
+     *                                  range
+     */
+    public double getEquity(long holeMask, int opponents) {
+        return getPreflopEquityTable().getEquity(StartingHands.classOf(holeMask), opponents);
+    }
+
+    /**
+     * @return The table the equities are looked up in
+     * @throws IllegalStateException if the table that ships with the application is missing or cannot be read
+     */
+    public PreflopEquityTable getPreflopEquityTable() {
+        PreflopEquityTable table = preflopEquityTable;
+        if (table == null) {
+            table = loadTable();
+            preflopEquityTable = table;
+        }
+
+        return table;
+    }
+
+    private static PreflopEquityTable loadTable() {
+        InputStream input = PreflopEquityService.class.getClassLoader().getResourceAsStream(TABLE_RESOURCE);
+        if (input == null) {
+            throw new IllegalStateException("The preflop equity table " + TABLE_RESOURCE + " is missing.");
+        }
+
+        try (InputStream tableInput = input) {
+            return PreflopEquityTable.read(tableInput);
+        } catch (IOException e) {
+            throw new IllegalStateException("The preflop equity table " + TABLE_RESOURCE + " could not be read.", e);
+        }
+    }
+
+}
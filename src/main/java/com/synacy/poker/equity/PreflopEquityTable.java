@@ -0,0 +1,119 @@
+package com.synacy.poker.equity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The equity of every {@link StartingHands starting hand class} against 1 to 9 opponents holding random cards, all
+ * the way to the river.
+ *
+ * <p>In binary form, the table is a header of the magic number, the number of classes, the greatest number of
+ * opponents and the samples per entry, followed by every entry as an unsigned 16-bit fraction of 1, class by class
+ * and opponents in order. That is just over 3 KB, and exact to well within the sampling error.</p>
+ */
+public final class PreflopEquityTable {
+
+    public static final int MAX_OPPONENTS = 9;
+
+    private static final int MAGIC = 0x50455131;
+    private static final int EQUITY_SCALE = 0xFFFF;
+
+    private final char[] scaledEquities;
+    private final long samplesPerEntry;
+
+    private PreflopEquityTable(char[] scaledEquities, long samplesPerEntry) {
+        this.scaledEquities = scaledEquities;
+        this.samplesPerEntry = samplesPerEntry;
+    }
+
+    /**
+     * @param equities        The equity of each class against each number of opponents, at index
+     *                        <code>handClass * 9 + opponents - 1</code>
+     * @param samplesPerEntry The number of showdowns each equity was estimated from
+     * @return The table
+     * @throws IllegalArgumentException if there is not one equity per entry, or an equity is not within [0, 1]
+     */
+    public static PreflopEquityTable of(double[] equities, long samplesPerEntry) {
+        if (equities.length != StartingHands.CLASS_COUNT * MAX_OPPONENTS) {
+            throw new IllegalArgumentException("Expected " + StartingHands.CLASS_COUNT * MAX_OPPONENTS
+                    + " equities, not " + equities.length + ".");
+        }
+
+        char[] scaledEquities = new char[equities.length];
+        for (int entry = 0; entry < equities.length; entry++) {
+            if (!(equities[entry] >= 0.0 && equities[entry] <= 1.0)) {
+                throw new IllegalArgumentException("An equity must be between 0 and 1, not " + equities[entry] + ".");
+            }
+            scaledEquities[entry] = (char) Math.round(equities[entry] * EQUITY_SCALE);
+        }
+
+        return new PreflopEquityTable(scaledEquities, samplesPerEntry);
+    }
+
+    /**
+     * @param input
+     * @return The table in its binary form
+     * @throws IOException if the input is not a table of this format
+     */
+    public static PreflopEquityTable read(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a preflop equity table.");
+        }
+        if (data.readInt() != StartingHands.CLASS_COUNT || data.readInt() != MAX_OPPONENTS) {
+            throw new IOException("The preflop equity table has an unexpected size.");
+        }
+
+        long samplesPerEntry = data.readLong();
+        char[] scaledEquities = new char[StartingHands.CLASS_COUNT * MAX_OPPONENTS];
+        for (int entry = 0; entry < scaledEquities.length; entry++) {
+            scaledEquities[entry] = data.readChar();
+        }
+
+        return new PreflopEquityTable(scaledEquities, samplesPerEntry);
+    }
+
+    /**
+     * Writes the table in its binary form.
+     *
+     * @param output
+     * @throws IOException
+     */
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeInt(StartingHands.CLASS_COUNT);
+        data.writeInt(MAX_OPPONENTS);
+        data.writeLong(samplesPerEntry);
+        for (char scaledEquity : scaledEquities) {
+            data.writeChar(scaledEquity);
+        }
+        data.flush();
+    }
+
+    /**
+     * @param handClass The {@link StartingHands} class
+     * @param opponents From 1 to 9
+     * @return The share of the pot the class wins on average against that many random hands
+     * @throws IllegalArgumentException if the number of opponents is out of range
+     */
+    public double getEquity(int handClass, int opponents) {
+        if (opponents < 1 || opponents > MAX_OPPONENTS) {
+            throw new IllegalArgumentException("The number of opponents must be from 1 to " + MAX_OPPONENTS
+                    + ", not " + opponents + ".");
+        }
+
+        return (double) scaledEquities[handClass * MAX_OPPONENTS + opponents - 1] / EQUITY_SCALE;
+    }
+
+    /**
+     * @return The number of showdowns each equity was estimated from
+     */
+    public long getSamplesPerEntry() {
+        return samplesPerEntry;
+    }
+
+}
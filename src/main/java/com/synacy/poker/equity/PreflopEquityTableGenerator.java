@@ -0,0 +1,136 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.evaluator.HandEvaluator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds the {@link PreflopEquityTable} by dealing random opponents and boards to one hand of each class.
+ *
+ * <p>Every hand of a class has the same equity, so only the class's {@link StartingHands#representativeMask(int)
+ * representative} is dealt. The entries of the table are split in halves until a task holds a single entry, and
+ * the tasks run on a {@link ForkJoinPool}, each with a {@link SplittableRandom} split off its parent's. The same
+ * seed therefore builds the same table however the tasks are scheduled.</p>
+ */
+@Component
+public class PreflopEquityTableGenerator {
+
+    private static final int HOLE_CARDS = 2;
+
+    private final HandEvaluator handEvaluator;
+    private final ForkJoinPool forkJoinPool;
+
+    @Autowired
+    public PreflopEquityTableGenerator(HandEvaluator handEvaluator) {
+        this(handEvaluator, ForkJoinPool.commonPool());
+    }
+
+    public PreflopEquityTableGenerator(HandEvaluator handEvaluator, ForkJoinPool forkJoinPool) {
+        this.handEvaluator = handEvaluator;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * @param samplesPerEntry The number of showdowns to deal for each class against each number of opponents
+     * @param seed
+     * @return The table
+     * @throws IllegalArgumentException if the samples are not positive
+     */
+    public PreflopEquityTable generate(long samplesPerEntry, long seed) {
+        if (samplesPerEntry <= 0) {
+            throw new IllegalArgumentException("The number of samples must be positive.");
+        }
+
+        double[] equities = new double[StartingHands.CLASS_COUNT * PreflopEquityTable.MAX_OPPONENTS];
+        forkJoinPool.invoke(new EntryTask(handEvaluator, equities, 0, equities.length, samplesPerEntry,
+                new SplittableRandom(seed)));
+
+        return PreflopEquityTable.of(equities, samplesPerEntry);
+    }
+
+    private static final class EntryTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final HandEvaluator handEvaluator;
+        private final double[] equities;
+        private final int fromEntry;
+        private final int toEntry;
+        private final long samples;
+        private final SplittableRandom random;
+
+        EntryTask(HandEvaluator handEvaluator, double[] equities, int fromEntry, int toEntry, long samples,
+                  SplittableRandom random) {
+            this.handEvaluator = handEvaluator;
+            this.equities = equities;
+            this.fromEntry = fromEntry;
+            this.toEntry = toEntry;
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (toEntry - fromEntry > 1) {
+                int middle = (fromEntry + toEntry) >>> 1;
+                EntryTask left = new EntryTask(handEvaluator, equities, fromEntry, middle, samples, random.split());
+                left.fork();
+                new EntryTask(handEvaluator, equities, middle, toEntry, samples, random).compute();
+                left.join();
+                return;
+            }
+
+            int handClass = fromEntry / PreflopEquityTable.MAX_OPPONENTS;
+            int opponents = fromEntry % PreflopEquityTable.MAX_OPPONENTS + 1;
+            equities[fromEntry] = sample(StartingHands.representativeMask(handClass), opponents);
+        }
+
+        /**
+         * Deals the board and the opponents' hole cards from the top of a partially shuffled deck.
+         */
+        private double sample(long heroMask, int opponents) {
+            int[] cards = new int[Card.CARD_COUNT - HOLE_CARDS];
+            int cardCount = 0;
+            for (int code = 0; code < Card.CARD_COUNT; code++) {
+                if ((heroMask & (1L << code)) == 0) {
+                    cards[cardCount++] = code;
+                }
+            }
+
+            long[] holeMasks = new long[opponents + 1];
+            int[] strengths = new int[holeMasks.length];
+            int dealtCards = EquityScenario.MAX_COMMUNITY_CARDS + opponents * HOLE_CARDS;
+            EquityTally tally = new EquityTally(holeMasks.length);
+            holeMasks[0] = heroMask;
+
+            for (long sample = 0; sample < samples; sample++) {
+                for (int i = 0; i < dealtCards; i++) {
+                    int j = i + random.nextInt(cards.length - i);
+                    int card = cards[j];
+                    cards[j] = cards[i];
+                    cards[i] = card;
+                }
+
+                long boardMask = 0L;
+                for (int i = 0; i < EquityScenario.MAX_COMMUNITY_CARDS; i++) {
+                    boardMask |= 1L << cards[i];
+                }
+                for (int opponent = 1; opponent <= opponents; opponent++) {
+                    int first = EquityScenario.MAX_COMMUNITY_CARDS + (opponent - 1) * HOLE_CARDS;
+                    holeMasks[opponent] = (1L << cards[first]) | (1L << cards[first + 1]);
+                }
+
+                handEvaluator.evaluateAll(boardMask, holeMasks, strengths);
+                tally.recordShowdown(strengths);
+            }
+
+            return tally.toResult(0L, false).getEquity(0);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.synacy.poker.equity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the {@link PreflopEquityTable} once the application starts with the <code>preflop-table</code> profile,
+ * which also turns the web server off, and writes it to <code>poker.preflop-table.file</code>. The run is
+ * configured through the <code>poker.preflop-table.*</code> properties.
+ */
+@Component
+@Profile("preflop-table")
+public class PreflopEquityTableRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreflopEquityTableRunner.class);
+
+    private final PreflopEquityTableGenerator preflopEquityTableGenerator;
+    private final long samples;
+    private final long seed;
+    private final Path file;
+
+    public PreflopEquityTableRunner(PreflopEquityTableGenerator preflopEquityTableGenerator,
+                                    @Value("${poker.preflop-table.samples}") long samples,
+                                    @Value("${poker.preflop-table.seed}") long seed,
+                                    @Value("${poker.preflop-table.file}") String file) {
+        this.preflopEquityTableGenerator = preflopEquityTableGenerator;
+        this.samples = samples;
+        this.seed = seed;
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        LOGGER.info("Generating the preflop equity table from {} samples per entry with seed {}", samples, seed);
+        long startNanos = System.nanoTime();
+        PreflopEquityTable preflopEquityTable = preflopEquityTableGenerator.generate(samples, seed);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream output = Files.newOutputStream(file)) {
+            preflopEquityTable.write(output);
+        }
+        LOGGER.info("Wrote the preflop equity table to {} in {} s", file,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos));
+    }
+
+}
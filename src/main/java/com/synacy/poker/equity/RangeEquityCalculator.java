@@ -0,0 +1,428 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.evaluator.HandEvaluator;
+import com.synacy.poker.util.PokerUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A service that computes the equity of one {@link HandRange} against another, or of a player's hole cards
+ * against a range, on the board so far.
+ *
+ * <p>Rather than playing every pair of hole cards of one range against every pair of the other, each board is
+ * settled in one pass per range. Every hand of the other range is evaluated once and sorted by strength, with
+ * running sums of the weights, both over the whole range and over the hands holding each card. A hand of the
+ * first range then finds the weight of the hands it beats and ties with by binary search, and takes off the hands
+ * that share one of its cards, and so could not be dealt against it, with the running sums of its two cards.</p>
+ *
+ * <p>The boards are numbered like those of the {@link ExactEquityCalculator}, or sampled at random, and are split
+ * over tasks on a {@link ForkJoinPool}, each with a tally of its own.</p>
+ */
+@Component
+public class RangeEquityCalculator {
+
+    private static final long BOARDS_PER_TASK = 1 << 7;
+    private static final long ALL_CARDS = (1L << Card.CARD_COUNT) - 1;
+    private static final int COMBO_COUNT = Card.CARD_COUNT * (Card.CARD_COUNT - 1) / 2;
+
+    private final HandEvaluator handEvaluator;
+    private final ForkJoinPool forkJoinPool;
+
+    @Autowired
+    public RangeEquityCalculator(HandEvaluator handEvaluator) {
+        this(handEvaluator, ForkJoinPool.commonPool());
+    }
+
+    public RangeEquityCalculator(HandEvaluator handEvaluator, ForkJoinPool forkJoinPool) {
+        this.handEvaluator = handEvaluator;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * @param holeCards      A player's hole cards, e.g. {@link com.synacy.poker.game.Player#getHand()}
+     * @param range          The range of the opponent
+     * @param communityCards The community cards on the board, up to five
+     * @return The exact {@link EquityResult}, the player as player 0 and the range as player 1
+     * @throws IllegalArgumentException if a card appears more than once, or the cards block the whole range
+     */
+    public EquityResult calculate(List<Card> holeCards, HandRange range, List<Card> communityCards) {
+        return calculate(HandRange.of(holeCards), range, communityCards);
+    }
+
+    /**
+     * Evaluates every possible run-out of the board. Before the flop that is up to 2,598,960 boards, for which
+     * {@link #calculate(HandRange, HandRange, List, long)} is usually precise enough and much faster.
+     *
+     * @param range          The first range
+     * @param otherRange     The other range
+     * @param communityCards The community cards on the board, up to five
+     * @return The exact {@link EquityResult}, the first range as player 0 and the other range as player 1
+     * @throws IllegalArgumentException if a community card appears more than once, or no hands of the ranges
+     *                                  can meet on the board
+     */
+    public EquityResult calculate(HandRange range, HandRange otherRange, List<Card> communityCards) {
+        RangeScenario scenario = new RangeScenario(range, otherRange, communityCards);
+        long boards = ExactEquityCalculator.BINOMIAL[scenario.undealtCards.length][scenario.missingBoardCards];
+
+        long startNanos = System.nanoTime();
+        RangeTally tally = forkJoinPool.invoke(new EnumerationTask(handEvaluator, scenario, 0, boards));
+
+        return toResult(tally, System.nanoTime() - startNanos, true);
+    }
+
+    /**
+     * @param range          The first range
+     * @param otherRange     The other range
+     * @param communityCards The community cards on the board, up to five
+     * @param samples        The number of random boards to deal
+     * @return The estimated {@link EquityResult}, the first range as player 0 and the other range as player 1
+     * @throws IllegalArgumentException if a community card appears more than once, no hands of the ranges meet
+     *                                  on the boards, or the samples are not positive
+     */
+    public EquityResult calculate(HandRange range, HandRange otherRange, List<Card> communityCards, long samples) {
+        return calculate(range, otherRange, communityCards, samples, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Same as {@link #calculate(HandRange, HandRange, List, long)}, but repeatable: the same seed gives the same
+     * result.
+     *
+     * @param range
+     * @param otherRange
+     * @param communityCards
+     * @param samples
+     * @param seed
+     * @return The estimated {@link EquityResult}
+     */
+    public EquityResult calculate(HandRange range, HandRange otherRange, List<Card> communityCards, long samples,
+                                  long seed) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("The number of samples must be positive.");
+        }
+
+        RangeScenario scenario = new RangeScenario(range, otherRange, communityCards);
+        long startNanos = System.nanoTime();
+        RangeTally tally = forkJoinPool.invoke(new SampleTask(handEvaluator, scenario, samples, new SplittableRandom(seed)));
+
+        return toResult(tally, System.nanoTime() - startNanos, false);
+    }
+
+    private static EquityResult toResult(RangeTally tally, long elapsedNanos, boolean exact) {
+        if (!tally.hasMatchups()) {
+            throw new IllegalArgumentException("No hands of the ranges can meet on the board.");
+        }
+
+        return tally.toResult(elapsedNanos, exact);
+    }
+
+    /**
+     * @return The index of a pair of hole cards among the 1326 of a deck
+     */
+    private static int comboIndex(long comboMask) {
+        int low = Long.numberOfTrailingZeros(comboMask);
+        int high = 63 - Long.numberOfLeadingZeros(comboMask);
+
+        return high * (high - 1) / 2 + low;
+    }
+
+    /**
+     * The ranges and the board of an equity question, with the cards the rest of the board is drawn from.
+     */
+    private static final class RangeScenario {
+
+        private final HandRange range;
+        private final HandRange otherRange;
+        private final long boardMask;
+        private final int missingBoardCards;
+        private final int[] undealtCards;
+
+        RangeScenario(HandRange range, HandRange otherRange, List<Card> communityCards) {
+            if (communityCards.size() > EquityScenario.MAX_COMMUNITY_CARDS) {
+                throw new IllegalArgumentException(
+                        "There are at most " + EquityScenario.MAX_COMMUNITY_CARDS + " community cards.");
+            }
+            long boardMask = PokerUtil.getCardMask(communityCards);
+            if (Long.bitCount(boardMask) != communityCards.size()) {
+                throw new IllegalArgumentException("A community card appears more than once.");
+            }
+
+            this.range = range;
+            this.otherRange = otherRange;
+            this.boardMask = boardMask;
+            this.missingBoardCards = EquityScenario.MAX_COMMUNITY_CARDS - communityCards.size();
+
+            // A card held in every hand of a range, e.g. a player's own hole cards, is never dealt to the board.
+            long undealtMask = ALL_CARDS & ~boardMask & ~commonCards(range) & ~commonCards(otherRange);
+            this.undealtCards = new int[Long.bitCount(undealtMask)];
+            for (int i = 0; undealtMask != 0; i++, undealtMask &= undealtMask - 1) {
+                undealtCards[i] = Long.numberOfTrailingZeros(undealtMask);
+            }
+        }
+
+        private static long commonCards(HandRange range) {
+            long commonCards = ALL_CARDS;
+            for (int combo = 0; combo < range.size(); combo++) {
+                commonCards &= range.getComboMask(combo);
+            }
+
+            return commonCards;
+        }
+    }
+
+    /**
+     * Settles both ranges on one board at a time, reusing its scratch arrays from board to board. Belongs to a
+     * single task.
+     */
+    private static final class BoardSettler {
+
+        private final HandEvaluator handEvaluator;
+        private final HandRange range;
+        private final HandRange otherRange;
+
+        /**
+         * The strength of each live hand of the other range in the high bits, its index in the low bits, sorted.
+         */
+        private final long[] sortedHands;
+        private final int[] strengths;
+        private final double[] weightSums;
+
+        /**
+         * The live hands of the other range again, grouped by card: the hands holding card <em>c</em> are at
+         * <code>cardStarts[c]</code> up to <code>cardStarts[c + 1]</code>, by strength.
+         */
+        private final int[] cardStarts = new int[Card.CARD_COUNT + 1];
+        private final int[] cardEnds = new int[Card.CARD_COUNT];
+        private final int[] cardStrengths;
+        private final double[] cardWeightSums;
+
+        private final double[] otherWeightsByCombo = new double[COMBO_COUNT];
+
+        BoardSettler(HandEvaluator handEvaluator, HandRange range, HandRange otherRange) {
+            this.handEvaluator = handEvaluator;
+            this.range = range;
+            this.otherRange = otherRange;
+            this.sortedHands = new long[otherRange.size()];
+            this.strengths = new int[otherRange.size()];
+            this.weightSums = new double[otherRange.size()];
+            this.cardStrengths = new int[otherRange.size() * 2];
+            this.cardWeightSums = new double[otherRange.size() * 2];
+        }
+
+        void settle(long boardMask, RangeTally tally) {
+            int hands = sortOtherRange(boardMask);
+            double totalWeight = hands == 0 ? 0.0 : weightSums[hands - 1];
+
+            for (int combo = 0; combo < range.size(); combo++) {
+                long comboMask = range.getComboMask(combo);
+                if ((comboMask & boardMask) != 0) {
+                    continue;
+                }
+
+                int strength = handEvaluator.evaluate(boardMask | comboMask);
+                int card = Long.numberOfTrailingZeros(comboMask);
+                int otherCard = 63 - Long.numberOfLeadingZeros(comboMask);
+                // The very same hole cards in the other range share both cards, so they are taken off twice.
+                double sameWeight = otherWeightsByCombo[comboIndex(comboMask)];
+
+                double beaten = weightBelow(strengths, weightSums, 0, hands, strength)
+                        - weightBelow(cardStrengths, cardWeightSums, cardStarts[card], cardEnds[card], strength)
+                        - weightBelow(cardStrengths, cardWeightSums, cardStarts[otherCard], cardEnds[otherCard],
+                        strength);
+                double notBeating = weightBelow(strengths, weightSums, 0, hands, strength + 1)
+                        - weightBelow(cardStrengths, cardWeightSums, cardStarts[card], cardEnds[card], strength + 1)
+                        - weightBelow(cardStrengths, cardWeightSums, cardStarts[otherCard], cardEnds[otherCard],
+                        strength + 1)
+                        + sameWeight;
+                double met = totalWeight - cardWeight(card) - cardWeight(otherCard) + sameWeight;
+
+                tally.recordMatchups(range.getWeight(combo), beaten, notBeating - beaten, met);
+            }
+            tally.endBoard();
+
+            for (int i = 0; i < hands; i++) {
+                otherWeightsByCombo[comboIndex(otherRange.getComboMask((int) sortedHands[i]))] = 0.0;
+            }
+        }
+
+        /**
+         * Evaluates the hands of the other range that the board leaves live, and sorts them by strength into the
+         * running sums, both overall and by card.
+         *
+         * @return The number of live hands
+         */
+        private int sortOtherRange(long boardMask) {
+            int hands = 0;
+            Arrays.fill(cardEnds, 0);
+            for (int combo = 0; combo < otherRange.size(); combo++) {
+                long comboMask = otherRange.getComboMask(combo);
+                if ((comboMask & boardMask) == 0) {
+                    int strength = handEvaluator.evaluate(boardMask | comboMask);
+                    sortedHands[hands++] = ((long) strength << Integer.SIZE) | combo;
+                    cardEnds[Long.numberOfTrailingZeros(comboMask)]++;
+                    cardEnds[63 - Long.numberOfLeadingZeros(comboMask)]++;
+                }
+            }
+            Arrays.sort(sortedHands, 0, hands);
+
+            for (int card = 0; card < Card.CARD_COUNT; card++) {
+                cardStarts[card + 1] = cardStarts[card] + cardEnds[card];
+                cardEnds[card] = cardStarts[card];
+            }
+
+            double weightSum = 0.0;
+            for (int i = 0; i < hands; i++) {
+                int strength = (int) (sortedHands[i] >>> Integer.SIZE);
+                int combo = (int) sortedHands[i];
+                long comboMask = otherRange.getComboMask(combo);
+                double weight = otherRange.getWeight(combo);
+
+                weightSum += weight;
+                strengths[i] = strength;
+                weightSums[i] = weightSum;
+                addToCard(Long.numberOfTrailingZeros(comboMask), strength, weight);
+                addToCard(63 - Long.numberOfLeadingZeros(comboMask), strength, weight);
+                otherWeightsByCombo[comboIndex(comboMask)] = weight;
+            }
+
+            return hands;
+        }
+
+        private void addToCard(int card, int strength, double weight) {
+            int position = cardEnds[card]++;
+            cardStrengths[position] = strength;
+            cardWeightSums[position] = position == cardStarts[card] ? weight : cardWeightSums[position - 1] + weight;
+        }
+
+        private double cardWeight(int card) {
+            return cardEnds[card] == cardStarts[card] ? 0.0 : cardWeightSums[cardEnds[card] - 1];
+        }
+    }
+
+    /**
+     * @return The sum of the weights of the hands from <code>from</code> up to <code>to</code> that are weaker
+     * than the strength
+     */
+    private static double weightBelow(int[] strengths, double[] weightSums, int from, int to, int strength) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (strengths[middle] < strength) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low == from ? 0.0 : weightSums[low - 1];
+    }
+
+    private static final class EnumerationTask extends RecursiveTask<RangeTally> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final HandEvaluator handEvaluator;
+        private final RangeScenario scenario;
+        private final long fromBoard;
+        private final long toBoard;
+
+        EnumerationTask(HandEvaluator handEvaluator, RangeScenario scenario, long fromBoard, long toBoard) {
+            this.handEvaluator = handEvaluator;
+            this.scenario = scenario;
+            this.fromBoard = fromBoard;
+            this.toBoard = toBoard;
+        }
+
+        @Override
+        protected RangeTally compute() {
+            if (toBoard - fromBoard > BOARDS_PER_TASK) {
+                long middleBoard = fromBoard + (toBoard - fromBoard) / 2;
+                EnumerationTask left = new EnumerationTask(handEvaluator, scenario, fromBoard, middleBoard);
+                left.fork();
+                RangeTally tally = new EnumerationTask(handEvaluator, scenario, middleBoard, toBoard).compute();
+                return tally.merge(left.join());
+            }
+
+            return enumerate();
+        }
+
+        private RangeTally enumerate() {
+            BoardSettler settler = new BoardSettler(handEvaluator, scenario.range, scenario.otherRange);
+            int[] cards = scenario.undealtCards;
+            int[] indices = ExactEquityCalculator.unrank(fromBoard, scenario.missingBoardCards);
+            RangeTally tally = new RangeTally();
+
+            for (long board = fromBoard; board < toBoard; board++) {
+                long boardMask = scenario.boardMask;
+                for (int index : indices) {
+                    boardMask |= 1L << cards[index];
+                }
+
+                settler.settle(boardMask, tally);
+                ExactEquityCalculator.nextCombination(indices);
+            }
+
+            return tally;
+        }
+    }
+
+    private static final class SampleTask extends RecursiveTask<RangeTally> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final HandEvaluator handEvaluator;
+        private final RangeScenario scenario;
+        private final long samples;
+        private final SplittableRandom random;
+
+        SampleTask(HandEvaluator handEvaluator, RangeScenario scenario, long samples, SplittableRandom random) {
+            this.handEvaluator = handEvaluator;
+            this.scenario = scenario;
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        protected RangeTally compute() {
+            if (samples > BOARDS_PER_TASK) {
+                long half = samples / 2;
+                SampleTask left = new SampleTask(handEvaluator, scenario, half, random.split());
+                left.fork();
+                RangeTally tally = new SampleTask(handEvaluator, scenario, samples - half, random).compute();
+                return tally.merge(left.join());
+            }
+
+            return sample();
+        }
+
+        private RangeTally sample() {
+            BoardSettler settler = new BoardSettler(handEvaluator, scenario.range, scenario.otherRange);
+            int[] cards = scenario.undealtCards.clone();
+            RangeTally tally = new RangeTally();
+
+            for (long sample = 0; sample < samples; sample++) {
+                long boardMask = scenario.boardMask;
+                for (int i = 0; i < scenario.missingBoardCards; i++) {
+                    int j = i + random.nextInt(cards.length - i);
+                    int card = cards[j];
+                    cards[j] = cards[i];
+                    cards[i] = card;
+                    boardMask |= 1L << card;
+                }
+
+                settler.settle(boardMask, tally);
+            }
+
+            return tally;
+        }
+    }
+
+}
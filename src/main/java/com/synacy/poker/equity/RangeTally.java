@@ -0,0 +1,107 @@
+package com.synacy.poker.equity;
+
+/**
+ * Running weighted win and tie counts of one range against another over a number of boards. A tally belongs to
+ * a single worker; tallies of different workers are combined with {@link #merge(RangeTally)} once the work is
+ * done.
+ *
+ * <p>Each matchup of two pairs of hole cards on a board counts with the product of their weights. The totals of
+ * every board are kept as well, for the standard error of a sample of boards.</p>
+ */
+final class RangeTally {
+
+    private double wins;
+    private double ties;
+    private double matchups;
+
+    private double boardWins;
+    private double boardTies;
+    private double boardMatchups;
+
+    private long boards;
+    private double boardEquitySquares;
+    private double boardMatchupSquares;
+    private double boardProducts;
+
+    /**
+     * Records the matchups of one pair of hole cards of the first range on the current board.
+     *
+     * @param weight   The weight of the pair of hole cards
+     * @param wins     The weight of the hands of the other range it beats
+     * @param ties     The weight of the hands of the other range it ties with
+     * @param matchups The weight of all hands of the other range it meets, i.e. that share no card with it
+     */
+    void recordMatchups(double weight, double wins, double ties, double matchups) {
+        boardWins += weight * wins;
+        boardTies += weight * ties;
+        boardMatchups += weight * matchups;
+    }
+
+    /**
+     * Closes the current board, whose matchups have all been recorded.
+     */
+    void endBoard() {
+        double boardEquity = boardWins + boardTies / 2;
+        boardEquitySquares += boardEquity * boardEquity;
+        boardMatchupSquares += boardMatchups * boardMatchups;
+        boardProducts += boardEquity * boardMatchups;
+        boards++;
+
+        wins += boardWins;
+        ties += boardTies;
+        matchups += boardMatchups;
+        boardWins = 0.0;
+        boardTies = 0.0;
+        boardMatchups = 0.0;
+    }
+
+    /**
+     * @param other
+     * @return This tally, with the other tally's counts added to it
+     */
+    RangeTally merge(RangeTally other) {
+        wins += other.wins;
+        ties += other.ties;
+        matchups += other.matchups;
+        boards += other.boards;
+        boardEquitySquares += other.boardEquitySquares;
+        boardMatchupSquares += other.boardMatchupSquares;
+        boardProducts += other.boardProducts;
+
+        return this;
+    }
+
+    /**
+     * @return false if no two hands of the ranges ever met, e.g. because the board blocks every one of them
+     */
+    boolean hasMatchups() {
+        return matchups > 0.0;
+    }
+
+    /**
+     * @param elapsedNanos The wall-clock time the boards took
+     * @param exact        Whether every possible board was counted, rather than a sample of them
+     * @return The {@link EquityResult} of the first range as player 0 and the other range as player 1
+     */
+    EquityResult toResult(long elapsedNanos, boolean exact) {
+        double equity = (wins + ties / 2) / matchups;
+        double[] winProbabilities = {wins / matchups, (matchups - wins - ties) / matchups};
+        double[] tieProbabilities = {ties / matchups, ties / matchups};
+        double[] equities = {equity, 1.0 - equity};
+        double[] standardErrors = new double[2];
+
+        if (!exact && boards > 1) {
+            // The equity is a ratio of two sums over the boards, so its variance is that of a ratio estimator.
+            double residualSquares = boardEquitySquares - 2 * equity * boardProducts
+                    + equity * equity * boardMatchupSquares;
+            double meanMatchups = matchups / boards;
+            double variance = residualSquares / (boards - 1) / (boards * meanMatchups * meanMatchups);
+            standardErrors[0] = Math.sqrt(Math.max(variance, 0.0));
+            standardErrors[1] = standardErrors[0];
+        }
+
+        return new EquityResult(winProbabilities, tieProbabilities, equities, standardErrors, boards, elapsedNanos,
+                exact);
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.util.PokerBits;
+
+import java.util.List;
+
+/**
+ * The 169 classes of Hold'em starting hands. Before the flop, suits only matter in whether the two hole cards
+ * share one, so the 1326 possible pairs of hole cards collapse into 13 pocket pairs, 78 suited and 78 offsuit
+ * hands, e.g. AA, AKs and AKo.
+ *
+ * <p>A class is numbered by its cell in a 13 x 13 grid of ranks: <code>high * 13 + low</code> for suited hands,
+ * <code>low * 13 + high</code> for offsuit hands, and the diagonal for pocket pairs.</p>
+ */
+public final class StartingHands {
+
+    public static final int CLASS_COUNT = PokerBits.RANK_COUNT * PokerBits.RANK_COUNT;
+
+    private static final String RANK_SYMBOLS = "23456789TJQKA";
+
+    private StartingHands() {
+    }
+
+    /**
+     * @param holeCards Two hole cards
+     * @return The class of the hole cards
+     * @throws IllegalArgumentException if there are not exactly two different cards
+     */
+    public static int classOf(List<Card> holeCards) {
+        if (holeCards.size() != 2) {
+            throw new IllegalArgumentException("A starting hand has two cards, not " + holeCards.size() + ".");
+        }
+
+        return classOf(holeCards.get(0).getCode(), holeCards.get(1).getCode());
+    }
+
+    /**
+     * @param holeMask Two hole cards, bit <code>suit * 13 + rank</code> set for each card
+     * @return The class of the hole cards
+     * @throws IllegalArgumentException if the mask does not hold exactly two cards
+     */
+    public static int classOf(long holeMask) {
+        if (Long.bitCount(holeMask) != 2) {
+            throw new IllegalArgumentException(
+                    "A starting hand has two cards, not " + Long.bitCount(holeMask) + ".");
+        }
+
+        return classOf(Long.numberOfTrailingZeros(holeMask), 63 - Long.numberOfLeadingZeros(holeMask));
+    }
+
+    /**
+     * @param cardCode      The {@link Card#getCode()} of one hole card
+     * @param otherCardCode The {@link Card#getCode()} of the other hole card
+     * @return The class of the hole cards
+     * @throws IllegalArgumentException if both codes are the same card
+     */
+    public static int classOf(int cardCode, int otherCardCode) {
+        if (cardCode == otherCardCode) {
+            throw new IllegalArgumentException("The hole cards must be different cards.");
+        }
+
+        int rank = cardCode % PokerBits.RANK_COUNT;
+        int otherRank = otherCardCode % PokerBits.RANK_COUNT;
+        int high = Math.max(rank, otherRank);
+        int low = Math.min(rank, otherRank);
+        boolean suited = cardCode / PokerBits.RANK_COUNT == otherCardCode / PokerBits.RANK_COUNT;
+
+        return suited ? high * PokerBits.RANK_COUNT + low : low * PokerBits.RANK_COUNT + high;
+    }
+
+    /**
+     * @param handClass
+     * @return true if the class is a pocket pair
+     */
+    public static boolean isPair(int handClass) {
+        return highRank(handClass) == lowRank(handClass);
+    }
+
+    /**
+     * @param handClass
+     * @return true if the class is a suited hand
+     */
+    public static boolean isSuited(int handClass) {
+        return handClass / PokerBits.RANK_COUNT > handClass % PokerBits.RANK_COUNT;
+    }
+
+    /**
+     * @param handClass
+     * @return The {@link CardRank} ordinal of the higher card
+     */
+    public static int highRank(int handClass) {
+        return Math.max(handClass / PokerBits.RANK_COUNT, handClass % PokerBits.RANK_COUNT);
+    }
+
+    /**
+     * @param handClass
+     * @return The {@link CardRank} ordinal of the lower card
+     */
+    public static int lowRank(int handClass) {
+        return Math.min(handClass / PokerBits.RANK_COUNT, handClass % PokerBits.RANK_COUNT);
+    }
+
+    /**
+     * @param handClass
+     * @return The number of pairs of hole cards in the class: 6 for a pocket pair, 4 suited, 12 offsuit
+     */
+    public static int comboCount(int handClass) {
+        if (isPair(handClass)) {
+            return 6;
+        }
+
+        return isSuited(handClass) ? 4 : 12;
+    }
+
+    /**
+     * @param handClass
+     * @return One pair of hole cards of the class, as a card mask
+     */
+    public static long representativeMask(int handClass) {
+        int high = highRank(handClass);
+        int low = lowRank(handClass);
+        int lowSuit = isSuited(handClass) ? 0 : 1;
+
+        return (1L << high) | (1L << (lowSuit * PokerBits.RANK_COUNT + low));
+    }
+
+    /**
+     * @param handClass
+     * @return Every pair of hole cards of the class, as card masks
+     */
+    public static long[] comboMasks(int handClass) {
+        int high = highRank(handClass);
+        int low = lowRank(handClass);
+        long[] comboMasks = new long[comboCount(handClass)];
+        int combos = 0;
+        for (int highSuit = 0; highSuit < PokerBits.SUIT_COUNT; highSuit++) {
+            for (int lowSuit = 0; lowSuit < PokerBits.SUIT_COUNT; lowSuit++) {
+                boolean suited = highSuit == lowSuit;
+                if (isPair(handClass) ? lowSuit > highSuit : suited == isSuited(handClass)) {
+                    comboMasks[combos++] = (1L << (highSuit * PokerBits.RANK_COUNT + high))
+                            | (1L << (lowSuit * PokerBits.RANK_COUNT + low));
+                }
+            }
+        }
+
+        return comboMasks;
+    }
+
+    /**
+     * @param symbol A rank as written in a class name, e.g. <code>T</code> or <code>7</code>, in either case
+     * @return The {@link CardRank} ordinal, or -1 if the symbol is not a rank
+     */
+    public static int rankOf(char symbol) {
+        return RANK_SYMBOLS.indexOf(Character.toUpperCase(symbol));
+    }
+
+    /**
+     * @param handClass
+     * @return The usual name of the class, e.g. QQ, AKs or T9o
+     */
+    public static String nameOf(int handClass) {
+        String ranks = "" + RANK_SYMBOLS.charAt(highRank(handClass)) + RANK_SYMBOLS.charAt(lowRank(handClass));
+        if (isPair(handClass)) {
+            return ranks;
+        }
+
+        return ranks + (isSuited(handClass) ? "s" : "o");
+    }
+
+}
@@ -4,49 +4,107 @@ import com.synacy.poker.card.Card;
 import com.synacy.poker.card.CardRank;
 import com.synacy.poker.deck.Deck;
 import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.equity.PreflopEquityService;
 import com.synacy.poker.hand.Hand;
 import com.synacy.poker.hand.HandIdentifier;
 import com.synacy.poker.hand.HandType;
+import com.synacy.poker.hand.HandValue;
 import com.synacy.poker.hand.WinningHandCalculator;
+import com.synacy.poker.hand.evaluator.HandAccumulator;
 import com.synacy.poker.hand.types.OnePair;
-import com.synacy.poker.util.PokerUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * The game engine.
+ *
+ * <p>The state of the game is an immutable {@link GameState}. Every action builds the next snapshot from the
+ * current one and swaps it in with a compare-and-set, retrying if another action got there first, so reading
+ * the game never locks and never sees a half-finished action. A new game is swapped in the same way.</p>
+ *
+ * <p>The game keeps a single {@link Deck}, which every new game resets and shuffles while holding the deck's
+ * lock. The shuffled cards are copied into the new snapshot, since the snapshots of a game keep dealing from the
+ * same shuffled order.</p>
+ *
+ * <p>Every snapshot is built with the version after that of the snapshot it replaces, read inside the same
+ * compare-and-set loop. A snapshot is only swapped in over the one it was built from, so the version of the game
+ * only ever increases, whichever action wins a race.</p>
+ *
+ * <p>A game deals either {@link GameVariant#TEXAS_HOLDEM} or {@link GameVariant#OMAHA}, which only differ in the
+ * number of hole cards dealt and in how a hand is made out of them.</p>
  */
 @Component
 public class Game {
 
-    private List<Player> players = new ArrayList<>();
+    private static final List<String> PLAYER_NAMES = Arrays.asList(
+            "Alex", "Bob", "Jane", "Chris", "Dana", "Eli", "Faye", "Gus", "Hana", "Ivan");
 
-    private List<Card> communityCards = new ArrayList<>();
-
-    private DeckBuilder deckBuilder;
     private HandIdentifier handIdentifier;
     private WinningHandCalculator winningHandCalculator;
+    private PreflopEquityService preflopEquityService;
+
+    private final int seatCount;
+    private final Deck deck;
+    private final GameVariant variant;
 
-    private Deck deck;
+    private final AtomicReference<GameState> state = new AtomicReference<>();
+    private final List<GameStateListener> stateListeners = new CopyOnWriteArrayList<>();
 
-    private Hand winningHand = null;
+    static final int MAX_COMMUNITY_CARDS = 5;
 
-    private static final int MAX_PLAYER_CARDS = 2;
-    private static final int MAX_COMMUNITY_CARDS = 5;
+    public static final int MIN_SEATS = 2;
+    public static final int MAX_SEATS = 10;
+    public static final int DEFAULT_SEATS = 3;
 
+    /**
+     * A {@link GameVariant#TEXAS_HOLDEM} table of {@link #DEFAULT_SEATS} players with a preflop equity service of
+     * its own. Games that are created often should share the application's {@link PreflopEquityService} instead.
+     *
+     * @param deckBuilder
+     * @param handIdentifier
+     * @param winningHandCalculator
+     */
     public Game(DeckBuilder deckBuilder,
                 HandIdentifier handIdentifier,
                 WinningHandCalculator winningHandCalculator) {
-        players.add(new Player("Alex"));
-        players.add(new Player("Bob"));
-        players.add(new Player("Jane"));
+        this(deckBuilder, handIdentifier, winningHandCalculator, DEFAULT_SEATS, new PreflopEquityService(),
+                GameVariant.TEXAS_HOLDEM);
+    }
 
-        this.deckBuilder = deckBuilder;
+    /**
+     * @param deckBuilder
+     * @param handIdentifier
+     * @param winningHandCalculator
+     * @param seatCount             The number of players, from 2 to 10
+     * @param preflopEquityService  Looks up the equity of each player's hole cards as they are dealt, in
+     *                              {@link GameVariant#TEXAS_HOLDEM} only
+     * @param variant               The game to deal
+     * @throws IllegalArgumentException if the number of players is out of range
+     */
+    @Autowired
+    public Game(DeckBuilder deckBuilder,
+                HandIdentifier handIdentifier,
+                WinningHandCalculator winningHandCalculator,
+                @Value("${poker.table.seats:3}") int seatCount,
+                PreflopEquityService preflopEquityService,
+                @Value("${poker.table.variant:TEXAS_HOLDEM}") GameVariant variant) {
+        if (seatCount < MIN_SEATS || seatCount > MAX_SEATS) {
+            throw new IllegalArgumentException("A table seats " + MIN_SEATS + " to " + MAX_SEATS + " players.");
+        }
+
+        this.deck = deckBuilder.buildDeck();
         this.handIdentifier = handIdentifier;
         this.winningHandCalculator = winningHandCalculator;
+        this.preflopEquityService = preflopEquityService;
+        this.seatCount = seatCount;
+        this.variant = variant;
 
         startNewGame();
     }
@@ -58,19 +116,37 @@ public class Game {
      * <ul>
      * <li>Players' previous hands are cleared</li>
      * <li>Community cards are cleared</li>
-     * <li>A new deck is used</li>
+     * <li>All cards are returned to the deck</li>
      * <li>The deck is shuffled</li>
      * <li>Players' are dealt with new cards.</li>
      * </ul>
+     *
+     * The deck is shuffled with a new random seed, see {@link #getSeed()}.
      */
     public void startNewGame() {
-        players.forEach(Player::clearHand);
-        communityCards.clear();
-
-        deck = deckBuilder.buildDeck();
-        deck.shuffle();
+        startNewGame(ThreadLocalRandom.current().nextLong());
+    }
 
-        dealHands();
+    /**
+     * Starts a new game with the deck shuffled by the given seed. Starting a game with the seed of an earlier
+     * game deals exactly the same cards, unless the deck's random source cannot be seeded.
+     *
+     * @param seed
+     * @see #startNewGame()
+     */
+    public void startNewGame(long seed) {
+        Card[] shuffledCards = shuffle(seed);
+
+        GameState current;
+        GameState next;
+        do {
+            current = state.get();
+            next = dealHands(shuffledCards, seed, nextVersion(current));
+        } while (!state.compareAndSet(current, next));
+
+        if (current != null) {
+            fireStateChanged(current, next);
+        }
     }
 
     /**
@@ -86,157 +162,310 @@ public class Game {
      * Dealt community are of course removed from the deck at the time their placed on the table.
      */
     public void nextAction() {
-        if (communityCards.isEmpty()) {
-            burnCard();
-            dealThreeCommunityCards();
-        } else if (communityCards.size() < MAX_COMMUNITY_CARDS) {
-            burnCard();
-            dealOneCommunityCard();
-        }
+        GameState current;
+        GameState next;
+        do {
+            current = state.get();
+            if (current.hasEnded()) {
+                return;
+            }
 
-        if (hasEnded()) {
-            identifyWinningHand();
-        }
+            next = dealNextStreet(current);
+        } while (!state.compareAndSet(current, next));
+
+        fireStateChanged(current, next);
     }
 
     /**
-     * Checks the combination of the players and community cards to identify the winning hand.
+     * Takes the next action, or starts a new game once the game has ended. Both are decided on the same snapshot
+     * that is swapped out, so two players advancing an ended game at once start one new game, and the second of
+     * them deals its flop.
      *
-     * @see <a href="https://www.youtube.com/watch?v=GAoR9ji8D6A">Poker rules</a>
+     * @see #nextAction()
+     * @see #startNewGame()
      */
-    public void identifyWinningHand() {
-        List<Hand> playerHands = players.stream()
-                .map(this::identifyPlayerHand)
-                .collect(Collectors.toList());
-        winningHand = winningHandCalculator.calculateWinningHand(playerHands);
-
-        for(Player player : players) {
-            Hand playerHand = handIdentifier.identifyHand(player.getHand(), communityCards);
-            if(winningHand.getHandTypeInt() == playerHand.getHandTypeInt()) {
-                Hand highHand = checkHighSequenceWinner(winningHand, playerHand);
-                if(highHand == null) {
-                    highHand = checkHighCardWinner(winningHand, playerHand);
+    public void advance() {
+        long seed = ThreadLocalRandom.current().nextLong();
+        Card[] shuffledCards = null;
+
+        GameState current;
+        GameState next;
+        do {
+            current = state.get();
+            if (current.hasEnded()) {
+                if (shuffledCards == null) {
+                    shuffledCards = shuffle(seed);
                 }
-
-                if(highHand != null) {
-                    winningHand = highHand;
-                }
-            }
-        }
-    }
-
-    private Hand checkHighSequenceWinner(Hand winningHand, Hand playerHand) {
-        Integer winner = PokerUtil.getSequenceSum(winningHand.getHandTypeCards());
-        Integer player = PokerUtil.getSequenceSum(playerHand.getHandTypeCards());
-
-        if(winner > player) {
-            return winningHand;
-        } else if(winner < player) {
-            return playerHand;
-        } else {
-            winner = PokerUtil.getSequenceSum(winningHand.getHighCards());
-            player = PokerUtil.getSequenceSum(playerHand.getHighCards());
-            if(winner > player) {
-                return winningHand;
-            } else if(winner < player){
-                return playerHand;
+                next = dealHands(shuffledCards, seed, nextVersion(current));
+            } else {
+                next = dealNextStreet(current);
             }
-        }
+        } while (!state.compareAndSet(current, next));
 
-        return null;
+        fireStateChanged(current, next);
     }
 
-    private Hand checkHighCardWinner(Hand winningHand, Hand playerHand) {
-        Integer winnerCard = winningHand != null && winningHand.getHighCards()!=null && winningHand.getHighCards().size()>0
-                ? winningHand.getHighCards().get(0).getRankToInt() : -1;
-        Integer playerCard = playerHand != null && playerHand.getHighCards()!=null && playerHand.getHighCards().size()>0
-                ? playerHand.getHighCards().get(0).getRankToInt() : -1;
+    /**
+     * Checks the combination of the players and community cards to identify the winning hand.
+     *
+     * @see <a href="https://www.youtube.com/watch?v=GAoR9ji8D6A">Poker rules</a>
+     */
+    public void identifyWinningHand() {
+        GameState current;
+        GameState next;
+        do {
+            current = state.get();
+            next = current.withShowdown(showdown(current), nextVersion(current));
+        } while (!state.compareAndSet(current, next));
+
+        fireStateChanged(current, next);
+    }
 
-        if(winnerCard > playerCard) {
-            return winningHand;
-        } else if(winnerCard < playerCard) {
-            return  playerHand;
-        } else {
-            winnerCard = winningHand!=null && winningHand.getHighCards()!=null && winningHand.getHighCards().size()>1
-                    ? winningHand.getHighCards().get(1).getRankToInt() : -1;
-            playerCard = playerHand!=null && playerHand.getHighCards()!=null && playerHand.getHighCards().size()>1
-                    ? playerHand.getHighCards().get(1).getRankToInt() : -1;
+    /**
+     * Registers a listener that is told about every later change of the game, e.g. to push the change to the
+     * browsers watching the table.
+     *
+     * @param listener
+     */
+    public void addStateListener(GameStateListener listener) {
+        stateListeners.add(listener);
+    }
 
-            if(winnerCard >= playerCard) {
-                return winningHand;
-            } else {
-                return playerHand;
-            }
-        }
+    /**
+     * @param listener A listener added with {@link #addStateListener(GameStateListener)}
+     */
+    public void removeStateListener(GameStateListener listener) {
+        stateListeners.remove(listener);
     }
 
     /**
      * Checks if the player won
      *
      * @param player
-     * @return true if the player's hand is equal to the winning hand.
+     * @return true if the player's hand is as strong as the winning hand. Tied players all win.
      */
     public boolean checkIfPlayerWon(Player player) {
-        Hand playerHand = identifyPlayerHand(player);
-        return winningHand!=null && playerHand!=null && winningHand.toString().equals(playerHand.toString());
+        GameState current = state.get();
+        Showdown showdown = current.getShowdown();
+        HandValue winningHandValue = showdown == null ? null : showdown.getWinningHandValue();
+        if (winningHandValue == null) {
+            return false;
+        }
+        if (current.getPlayers().contains(player)) {
+            return current.checkIfPlayerWon(player);
+        }
+
+        HandValue playerHandValue = evaluateHand(player.getHand(), current.getCommunityCards());
+        return playerHandValue != null && playerHandValue.getStrength() == winningHandValue.getStrength();
     }
 
     /**
      * Identifies the player's hand. A hand is combination of the two cards in the player's
-     * possession and the community cards on the table.
+     * possession and the community cards on the table. In {@link GameVariant#OMAHA} it is made of exactly two of
+     * the player's four cards and exactly three community cards.
      *
      * @param player
      * @return The {@link} of a player, e.g. High Card, One Pair, Straight, etc.
      * @see <a href="https://www.youtube.com/watch?v=GAoR9ji8D6A">Poker rules</a>
      */
     public Hand identifyPlayerHand(Player player) {
-        List<Card> playerCards = player.getHand();
-        return handIdentifier.identifyHand(playerCards, communityCards);
+        return identifyPlayerHand(state.get(), player);
+    }
+
+    /**
+     * @return The current {@link GameState}. Everything read from one snapshot belongs to the same moment of the
+     * game.
+     */
+    public GameState getState() {
+        return state.get();
+    }
+
+    /**
+     * @return The game the table deals
+     */
+    public GameVariant getVariant() {
+        return variant;
     }
 
     /**
      * @return The list of {@link Player}s
      */
     public List<Player> getPlayers() {
-        return players;
+        return state.get().getPlayers();
     }
 
     /**
      * @return The list of community cards {@link Card}
      */
     public List<Card> getCommunityCards() {
-        return communityCards;
+        return state.get().getCommunityCards();
+    }
+
+    /**
+     * @return The winning {@link Hand} of the game, or null until the game has ended
+     */
+    public Hand getWinningHand() {
+        return state.get().getWinningHand();
+    }
+
+    /**
+     * @return The {@link Showdown} of the game, or null until the game has ended
+     */
+    public Showdown getShowdown() {
+        return state.get().getShowdown();
+    }
+
+    /**
+     * @return The version of the current {@link GameState}, which every change of the game increases
+     */
+    public long getVersion() {
+        return state.get().getVersion();
+    }
+
+    /**
+     * @return The seed the deck of the current game was shuffled with
+     */
+    public long getSeed() {
+        return state.get().getSeed();
     }
 
     /**
      * @return true if the number of community cards is equal to the maximum community cards allowed.
      */
     public boolean hasEnded() {
-        return communityCards.size() >= MAX_COMMUNITY_CARDS;
+        return state.get().hasEnded();
+    }
+
+    private void fireStateChanged(GameState previous, GameState next) {
+        for (GameStateListener listener : stateListeners) {
+            listener.stateChanged(previous, next);
+        }
+    }
+
+    private Hand identifyPlayerHand(GameState current, Player player) {
+        Hand playerHand = current.identifyPlayerHand(player);
+        if (playerHand == null) {
+            HandValue handValue = evaluateHand(player.getHand(), current.getCommunityCards());
+            playerHand = handValue == null ? null : handValue.toHand();
+        }
+
+        return playerHand;
+    }
+
+    private HandValue evaluateHand(List<Card> playerCards, List<Card> communityCards) {
+        if (variant == GameVariant.OMAHA) {
+            return handIdentifier.evaluateOmahaHand(playerCards, communityCards);
+        }
+
+        return handIdentifier.evaluateHand(playerCards, communityCards);
     }
 
-    private void dealHands() {
-        for (int i = 0; i < MAX_PLAYER_CARDS; i++) {
-            dealOneCardToEachPlayer();
+    /**
+     * Works out the showdown from the hands the snapshot has already evaluated, without building any {@link Hand}.
+     */
+    private Showdown showdown(GameState current) {
+        List<HandValue> playerHandValues = current.getPlayerHandValues();
+        return new Showdown(playerHandValues, winningHandCalculator.calculateWinningHandValue(playerHandValues));
+    }
+
+    /**
+     * Resets and shuffles the game's deck under its lock.
+     *
+     * @return The shuffled cards, top first
+     */
+    private Card[] shuffle(long seed) {
+        synchronized (deck) {
+            deck.reset();
+            deck.shuffle(seed);
+            Card[] shuffledCards = new Card[deck.size()];
+            for (int i = 0; i < shuffledCards.length; i++) {
+                shuffledCards[i] = deck.removeFromTop();
+            }
+
+            return shuffledCards;
         }
     }
 
-    private void dealOneCardToEachPlayer() {
-        players.forEach(player -> player.addToHand(deck.removeFromTop()));
+    /**
+     * Deals the next community cards, and settles the showdown if they complete the board.
+     */
+    private GameState dealNextStreet(GameState current) {
+        GameState next = dealCommunityCards(current);
+        if (next.hasEnded()) {
+            next = next.withShowdown(showdown(next), next.getVersion());
+        }
+
+        return next;
     }
 
-    private void dealThreeCommunityCards() {
-        communityCards.add(deck.removeFromTop());
-        communityCards.add(deck.removeFromTop());
-        communityCards.add(deck.removeFromTop());
+    /**
+     * Deals the hole cards one at a time to each player in turn. In {@link GameVariant#TEXAS_HOLDEM}, also looks
+     * up each player's equity against the rest of the table before the flop.
+     */
+    private GameState dealHands(Card[] shuffledCards, long seed, long version) {
+        int playerCount = seatCount;
+        int holeCards = variant.getHoleCards();
+        boolean holdem = variant == GameVariant.TEXAS_HOLDEM;
+        List<Player> players = new ArrayList<>(playerCount);
+        HandAccumulator[] handAccumulators = holdem ? new HandAccumulator[playerCount] : null;
+        for (int i = 0; i < playerCount; i++) {
+            List<Card> hand = new ArrayList<>(holeCards);
+            HandAccumulator handAccumulator = HandAccumulator.EMPTY;
+            for (int card = 0; card < holeCards; card++) {
+                Card holeCard = shuffledCards[card * playerCount + i];
+                hand.add(holeCard);
+                handAccumulator = handAccumulator.plus(holeCard);
+            }
+            double preflopEquity = Double.NaN;
+            if (holdem) {
+                preflopEquity = preflopEquityService.getEquity(handAccumulator.getCardMask(), playerCount - 1);
+                handAccumulators[i] = handAccumulator;
+            }
+            players.add(new Player(PLAYER_NAMES.get(i), Collections.unmodifiableList(hand), preflopEquity));
+        }
+
+        return new GameState(variant, players, Collections.emptyList(), shuffledCards, playerCount * holeCards,
+                seed, version, handAccumulators, handIdentifier);
     }
 
-    private void dealOneCommunityCard() {
-        communityCards.add(deck.removeFromTop());
+    /**
+     * Burns a card, then deals three community cards on the flop or one on the turn and the river. In
+     * {@link GameVariant#TEXAS_HOLDEM}, each card is added to every player's {@link HandAccumulator} as it is
+     * dealt.
+     */
+    private GameState dealCommunityCards(GameState current) {
+        List<Card> communityCards = current.getCommunityCards();
+        int cardCount = communityCards.isEmpty() ? 3 : 1;
+        int deckCursor = current.getDeckCursor() + 1;
+
+        List<Card> nextCommunityCards = new ArrayList<>(MAX_COMMUNITY_CARDS);
+        nextCommunityCards.addAll(communityCards);
+        HandAccumulator[] handAccumulators = null;
+        if (variant == GameVariant.TEXAS_HOLDEM) {
+            handAccumulators = new HandAccumulator[current.getPlayers().size()];
+            for (int seat = 0; seat < handAccumulators.length; seat++) {
+                handAccumulators[seat] = current.getHandAccumulator(seat);
+            }
+        }
+        for (int i = 0; i < cardCount; i++) {
+            Card card = current.getDeck()[deckCursor++];
+            nextCommunityCards.add(card);
+            if (handAccumulators != null) {
+                for (int seat = 0; seat < handAccumulators.length; seat++) {
+                    handAccumulators[seat] = handAccumulators[seat].plus(card);
+                }
+            }
+        }
+
+        return new GameState(variant, current.getPlayers(), nextCommunityCards, current.getDeck(), deckCursor,
+                current.getSeed(), nextVersion(current), handAccumulators, handIdentifier);
     }
 
-    private void burnCard() {
-        deck.removeFromTop();
+    /**
+     * @param current The snapshot to replace, or null before the first game
+     */
+    private static long nextVersion(GameState current) {
+        return current == null ? 1L : current.getVersion() + 1;
     }
 
 }
@@ -2,9 +2,22 @@ package com.synacy.poker.game;
 
 import com.synacy.poker.card.BlankCard;
 import com.synacy.poker.card.Card;
+import com.synacy.poker.equity.BoardAnalysis;
+import com.synacy.poker.equity.BoardAnalysisService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Iterator;
 import java.util.List;
@@ -13,22 +26,140 @@ import java.util.List;
 public class GameController {
 
 	private Game game;
+	private TableRegistry tableRegistry;
+	private GameStatePublisher gameStatePublisher;
+	private BoardAnalysisService boardAnalysisService;
 
-	public GameController(Game game) {
+	public GameController(Game game, TableRegistry tableRegistry, GameStatePublisher gameStatePublisher,
+						  BoardAnalysisService boardAnalysisService) {
 		this.game = game;
+		this.tableRegistry = tableRegistry;
+		this.gameStatePublisher = gameStatePublisher;
+		this.boardAnalysisService = boardAnalysisService;
 	}
 
 	@GetMapping("/")
-	public String index(Model model) {
-		model.addAttribute("game", game);
+	public String index(WebRequest request, Model model) {
+		return render(request, model, game, "/nextAction", "/events");
+	}
+
+	@GetMapping("/nextAction")
+	public String nextAction() {
+		game.advance();
+
+		return "redirect:/";
+	}
+
+	/**
+	 * Takes the next action for a page that follows the game through {@link #events()}, without a redirect.
+	 */
+	@PostMapping("/nextAction")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void postNextAction() {
+		game.advance();
+	}
+
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter events() {
+		return gameStatePublisher.subscribe(game);
+	}
+
+	/**
+	 * The {@link BoardAnalysis} of a player's hole cards on the board so far, as JSON.
+	 */
+	@GetMapping("/players/{seat}/analysis")
+	@ResponseBody
+	public BoardAnalysis analysis(@PathVariable int seat) {
+		return analyze(game.getState(), seat);
+	}
 
-		List<Player> players = game.getPlayers();
+	@PostMapping("/tables")
+	public String createTable(@RequestParam(defaultValue = "" + Game.DEFAULT_SEATS) int seats,
+							  @RequestParam(defaultValue = "TEXAS_HOLDEM") GameVariant variant) {
+		try {
+			return "redirect:/tables/" + tableRegistry.createTable(seats, variant);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
+	}
+
+	@GetMapping("/tables/{tableId}")
+	public String table(@PathVariable String tableId, WebRequest request, Model model) {
+		Game tableGame = tableRegistry.findTable(tableId).orElseThrow(() -> tableNotFound(tableId));
+
+		return render(request, model, tableGame, "/tables/" + tableId + "/nextAction",
+				"/tables/" + tableId + "/events");
+	}
+
+	@GetMapping("/tables/{tableId}/nextAction")
+	public String tableNextAction(@PathVariable String tableId) {
+		if (!tableRegistry.updateTable(tableId, Game::advance)) {
+			throw tableNotFound(tableId);
+		}
+
+		return "redirect:/tables/" + tableId;
+	}
+
+	@PostMapping("/tables/{tableId}/nextAction")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void postTableNextAction(@PathVariable String tableId) {
+		if (!tableRegistry.updateTable(tableId, Game::advance)) {
+			throw tableNotFound(tableId);
+		}
+	}
+
+	/**
+	 * Streams a {@link GameStateDiff} of every change of the table's game.
+	 */
+	@GetMapping(path = "/tables/{tableId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter tableEvents(@PathVariable String tableId) {
+		Game tableGame = tableRegistry.findTable(tableId).orElseThrow(() -> tableNotFound(tableId));
+
+		return gameStatePublisher.subscribe(tableGame);
+	}
+
+	@GetMapping("/tables/{tableId}/players/{seat}/analysis")
+	@ResponseBody
+	public BoardAnalysis tableAnalysis(@PathVariable String tableId, @PathVariable int seat) {
+		Game tableGame = tableRegistry.findTable(tableId).orElseThrow(() -> tableNotFound(tableId));
+
+		return analyze(tableGame.getState(), seat);
+	}
+
+	@DeleteMapping("/tables/{tableId}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void evictTable(@PathVariable String tableId) {
+		if (!tableRegistry.evictTable(tableId)) {
+			throw tableNotFound(tableId);
+		}
+	}
+
+	/**
+	 * Renders a single {@link GameState}, so that the page is consistent even if the game moves on meanwhile.
+	 * The page is tagged with the version of the snapshot, and a browser that already shows that version gets
+	 * <code>304 Not Modified</code> without anything being rendered.
+	 *
+	 * @return The view name, or null if the browser's page is still current
+	 */
+	private String render(WebRequest request, Model model, Game game, String nextActionPath, String eventsPath) {
+		GameState state = game.getState();
+		if (request.checkNotModified(eTagOf(state))) {
+			return null;
+		}
+
+		model.addAttribute("game", state);
+		model.addAttribute("nextActionPath", nextActionPath);
+		model.addAttribute("eventsPath", eventsPath);
+
+		List<Player> players = state.getPlayers();
 		for (int i = 0; i < players.size(); i++) {
 			int playerNumber = i + 1;
 			model.addAttribute("player" + playerNumber, players.get(i));
 		}
 
-		Iterator<Card> communityCardIterator = game.getCommunityCards().iterator();
+		Iterator<Card> communityCardIterator = state.getCommunityCards().iterator();
 		for (int communityCardNumber = 1; communityCardNumber <= 5; communityCardNumber++) {
 			model.addAttribute("communityCard" + communityCardNumber, fetchNextCommunityCard(communityCardIterator));
 		}
@@ -36,6 +167,22 @@ public class GameController {
 		return "index";
 	}
 
+	/**
+	 * Analyses by suit-isomorphism class are cached, so players at any table with the same deal up to the names
+	 * of the suits share the work.
+	 */
+	private BoardAnalysis analyze(GameState state, int seat) {
+		List<Player> players = state.getPlayers();
+		if (seat < 0 || seat >= players.size()) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no seat " + seat + ".");
+		}
+		if (state.getVariant() != GameVariant.TEXAS_HOLDEM) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Boards are only analyzed in Texas Hold'em.");
+		}
+
+		return boardAnalysisService.analyze(players.get(seat).getHand(), state.getCommunityCards());
+	}
+
 	private Card fetchNextCommunityCard(Iterator<Card> communityCardIterator) {
 		if (communityCardIterator.hasNext()) {
 			return communityCardIterator.next();
@@ -44,15 +191,15 @@ public class GameController {
 		}
 	}
 
-	@GetMapping("/nextAction")
-	public String nextAction() {
-		if (game.hasEnded()) {
-			game.startNewGame();
-		} else {
-			game.nextAction();
-		}
+	/**
+	 * The seed tells apart games whose versions are alike, e.g. the same table id after a restart.
+	 */
+	private String eTagOf(GameState state) {
+		return Long.toHexString(state.getSeed()) + "-" + state.getVersion();
+	}
 
-		return "redirect:/";
+	private ResponseStatusException tableNotFound(String tableId) {
+		return new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no table " + tableId + ".");
 	}
 
 }
@@ -0,0 +1,285 @@
+package com.synacy.poker.game;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.equity.Outs;
+import com.synacy.poker.hand.Hand;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.HandValue;
+import com.synacy.poker.hand.evaluator.HandAccumulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable snapshot of a {@link Game}: the players and their hole cards, the community cards, the shuffled
+ * deck with the position of the next card to deal, and the {@link Showdown} once the game has ended.
+ *
+ * <p>The game never changes a snapshot; every action builds the next one. A page rendered from a single
+ * snapshot therefore never sees a half-dealt board, however many actions happen while it renders.</p>
+ *
+ * <p>Each player's cards are evaluated street by street in a {@link HandAccumulator}, so the strength of every
+ * seat is known as soon as a card is dealt. The {@link HandValue}s and the {@link Hand} objects are only built the
+ * first time they are asked for, at most once per snapshot, and without evaluating the cards again.</p>
+ *
+ * <p>Omaha hands are not accumulated, since a hand of exactly two hole cards and three community cards cannot be
+ * built up card by card. They are evaluated for every seat at once the first time they are asked for.</p>
+ */
+public final class GameState {
+
+    private final GameVariant variant;
+    private final List<Player> players;
+    private final List<Card> communityCards;
+    private final Card[] deck;
+    private final int deckCursor;
+    private final long seed;
+    private final long version;
+    private final Showdown showdown;
+    private final HandAccumulator[] handAccumulators;
+
+    private final HandIdentifier handIdentifier;
+    private volatile List<HandValue> playerHandValues;
+    private volatile List<Hand> playerHands;
+    private volatile List<Outs> playerOuts;
+
+    /**
+     * @param handAccumulators Each player's {@link HandAccumulator}, or null for {@link GameVariant#OMAHA}
+     */
+    GameState(GameVariant variant, List<Player> players, List<Card> communityCards, Card[] deck, int deckCursor,
+              long seed, long version, HandAccumulator[] handAccumulators, HandIdentifier handIdentifier) {
+        this(variant, players, communityCards, deck, deckCursor, seed, version, null, handAccumulators,
+                handIdentifier, null);
+    }
+
+    private GameState(GameVariant variant, List<Player> players, List<Card> communityCards, Card[] deck,
+                      int deckCursor, long seed, long version, Showdown showdown,
+                      HandAccumulator[] handAccumulators, HandIdentifier handIdentifier,
+                      List<HandValue> playerHandValues) {
+        this.variant = variant;
+        this.players = Collections.unmodifiableList(players);
+        this.communityCards = Collections.unmodifiableList(communityCards);
+        this.deck = deck;
+        this.deckCursor = deckCursor;
+        this.seed = seed;
+        this.version = version;
+        this.showdown = showdown;
+        this.handAccumulators = handAccumulators;
+        this.handIdentifier = handIdentifier;
+        this.playerHandValues = playerHandValues;
+    }
+
+    /**
+     * @param showdown
+     * @param version  The version of the copy
+     * @return A copy of this snapshot with the showdown
+     */
+    GameState withShowdown(Showdown showdown, long version) {
+        return new GameState(variant, players, communityCards, deck, deckCursor, seed, version, showdown,
+                handAccumulators, handIdentifier, showdown.getHandValues());
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The evaluation of the player's hole cards and the community cards so far, or null for
+     * {@link GameVariant#OMAHA}
+     */
+    HandAccumulator getHandAccumulator(int seat) {
+        return handAccumulators[seat];
+    }
+
+    /**
+     * @return The shuffled deck of the game, shared by every snapshot of the game and never changed
+     */
+    Card[] getDeck() {
+        return deck;
+    }
+
+    /**
+     * @return The position in the deck of the next card to deal
+     */
+    public int getDeckCursor() {
+        return deckCursor;
+    }
+
+    /**
+     * @return The game the table deals
+     */
+    public GameVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * @return The list of {@link Player}s
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return The list of community cards {@link Card}
+     */
+    public List<Card> getCommunityCards() {
+        return communityCards;
+    }
+
+    /**
+     * @return The seed the deck was shuffled with
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The version of the snapshot. Every change of a {@link Game} swaps in a snapshot of a greater version
+     * than the one it replaces, so two snapshots of the same game with the same version are the same snapshot.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The {@link Showdown}, or null until the game has ended
+     */
+    public Showdown getShowdown() {
+        return showdown;
+    }
+
+    /**
+     * @return The winning {@link Hand}, or null until the game has ended
+     */
+    public Hand getWinningHand() {
+        return showdown == null ? null : showdown.getWinningHand();
+    }
+
+    /**
+     * @return true if the number of community cards is equal to the maximum community cards allowed.
+     */
+    public boolean hasEnded() {
+        return communityCards.size() >= Game.MAX_COMMUNITY_CARDS;
+    }
+
+    /**
+     * @return The {@link HandValue} of each player, in the order of {@link #getPlayers()}
+     */
+    public List<HandValue> getPlayerHandValues() {
+        List<HandValue> handValues = playerHandValues;
+        if (handValues == null) {
+            if (handAccumulators == null) {
+                handValues = handIdentifier.evaluateOmahaHands(getHoleCards(), communityCards);
+            } else {
+                handValues = new ArrayList<>(players.size());
+                for (HandAccumulator handAccumulator : handAccumulators) {
+                    handValues.add(handIdentifier.evaluateHand(handAccumulator));
+                }
+                handValues = Collections.unmodifiableList(handValues);
+            }
+            playerHandValues = handValues;
+        }
+
+        return handValues;
+    }
+
+    /**
+     * @return The {@link Hand} of each player, in the order of {@link #getPlayers()}
+     */
+    public List<Hand> getPlayerHands() {
+        List<Hand> hands = playerHands;
+        if (hands == null) {
+            List<HandValue> handValues = getPlayerHandValues();
+            hands = new ArrayList<>(handValues.size());
+            for (HandValue handValue : handValues) {
+                hands.add(handValue == null ? null : handValue.toHand());
+            }
+            hands = Collections.unmodifiableList(hands);
+            playerHands = hands;
+        }
+
+        return hands;
+    }
+
+    /**
+     * @return The {@link Outs} of each player, in the order of {@link #getPlayers()}, on the flop and the turn;
+     * empty on the other streets, and in {@link GameVariant#OMAHA}, whose outs are not counted
+     */
+    public List<Outs> getPlayerOuts() {
+        List<Outs> outs = playerOuts;
+        if (outs == null) {
+            int boardCards = communityCards.size();
+            if (variant != GameVariant.TEXAS_HOLDEM || boardCards == 0 || boardCards == Game.MAX_COMMUNITY_CARDS) {
+                outs = Collections.emptyList();
+            } else {
+                outs = Outs.of(getHoleCards(), communityCards);
+            }
+            playerOuts = outs;
+        }
+
+        return outs;
+    }
+
+    /**
+     * @param player A player of this snapshot
+     * @return The player's {@link Outs}, or null if there are none on this street or the player is not in this
+     * snapshot
+     */
+    public Outs getOuts(Player player) {
+        int index = indexOf(player);
+        List<Outs> outs = getPlayerOuts();
+        return index < 0 || outs.isEmpty() ? null : outs.get(index);
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The {@link com.synacy.poker.hand.evaluator.HandStrength} of the player's best hand so far
+     */
+    public int getHandStrength(int seat) {
+        if (handAccumulators == null) {
+            HandValue handValue = getPlayerHandValues().get(seat);
+            return handValue == null ? -1 : handValue.getStrength();
+        }
+
+        return handAccumulators[seat].getStrength();
+    }
+
+    /**
+     * @param player A player of this snapshot
+     * @return The player's {@link Hand}, or null if the player is not in this snapshot
+     */
+    public Hand identifyPlayerHand(Player player) {
+        int index = indexOf(player);
+        if (index < 0) {
+            return null;
+        }
+
+        HandValue handValue = getPlayerHandValues().get(index);
+        return handValue == null ? null : handValue.toHand();
+    }
+
+    /**
+     * @param player A player of this snapshot
+     * @return true if the player's hand is as strong as the winning hand. Tied players all win.
+     */
+    public boolean checkIfPlayerWon(Player player) {
+        int index = indexOf(player);
+        return showdown != null && index >= 0 && showdown.isWinner(index);
+    }
+
+    private List<List<Card>> getHoleCards() {
+        List<List<Card>> holeCards = new ArrayList<>(players.size());
+        for (Player player : players) {
+            holeCards.add(player.getHand());
+        }
+
+        return holeCards;
+    }
+
+    private int indexOf(Player player) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i) == player) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
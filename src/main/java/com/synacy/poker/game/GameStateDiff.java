@@ -0,0 +1,153 @@
+package com.synacy.poker.game;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.equity.Outs;
+import com.synacy.poker.hand.HandValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What changed on the table from one {@link GameState} to the next, small enough to push to every browser watching
+ * the table instead of having each of them render the whole page again.
+ *
+ * <p>A diff carries the community cards dealt since the previous snapshot, the hand every player has made so
+ * far with their outs, and the winners once the game has ended. It also carries the seed of the game, so that a
+ * page showing another deal, e.g. after a new game has started, knows to render again, and the version of the
+ * next snapshot, so that a page never goes back to an older one. Immutable.</p>
+ */
+public final class GameStateDiff {
+
+    private final String seed;
+    private final long version;
+    private final int firstCommunityCard;
+    private final List<String> communityCards;
+    private final List<String> communityCardStyles;
+    private final List<String> hands;
+    private final List<String> outs;
+    private final boolean ended;
+    private final List<Integer> winners;
+
+    private GameStateDiff(String seed, long version, int firstCommunityCard, List<String> communityCards,
+                          List<String> communityCardStyles, List<String> hands, List<String> outs,
+                          boolean ended, List<Integer> winners) {
+        this.seed = seed;
+        this.version = version;
+        this.firstCommunityCard = firstCommunityCard;
+        this.communityCards = communityCards;
+        this.communityCardStyles = communityCardStyles;
+        this.hands = hands;
+        this.outs = outs;
+        this.ended = ended;
+        this.winners = winners;
+    }
+
+    /**
+     * @param previous The snapshot the browser has shown so far, or null to describe the whole of the next one
+     * @param next     The snapshot to show
+     * @return The change from the previous snapshot to the next
+     */
+    public static GameStateDiff of(GameState previous, GameState next) {
+        int firstCommunityCard = previous == null || previous.getDeck() != next.getDeck()
+                ? 0 : previous.getCommunityCards().size();
+
+        List<Card> nextCommunityCards = next.getCommunityCards();
+        List<String> communityCards = new ArrayList<>(nextCommunityCards.size() - firstCommunityCard);
+        List<String> communityCardStyles = new ArrayList<>(nextCommunityCards.size() - firstCommunityCard);
+        for (Card card : nextCommunityCards.subList(firstCommunityCard, nextCommunityCards.size())) {
+            communityCards.add(card.toString());
+            communityCardStyles.add(card.styleClass());
+        }
+
+        List<String> hands = new ArrayList<>(next.getPlayers().size());
+        for (HandValue handValue : next.getPlayerHandValues()) {
+            hands.add(handValue == null ? "" : handValue.toHand().toString());
+        }
+
+        List<String> outs = new ArrayList<>(next.getPlayers().size());
+        List<Outs> playerOuts = next.getPlayerOuts();
+        for (int seat = 0; seat < next.getPlayers().size(); seat++) {
+            outs.add(playerOuts.isEmpty() ? "" : playerOuts.get(seat).toString());
+        }
+
+        List<Integer> winners = new ArrayList<>();
+        Showdown showdown = next.getShowdown();
+        if (showdown != null) {
+            for (int seat = 0; seat < showdown.getPlayerCount(); seat++) {
+                if (showdown.isWinner(seat)) {
+                    winners.add(seat);
+                }
+            }
+        }
+
+        return new GameStateDiff(Long.toString(next.getSeed()), next.getVersion(), firstCommunityCard,
+                Collections.unmodifiableList(communityCards), Collections.unmodifiableList(communityCardStyles),
+                Collections.unmodifiableList(hands), Collections.unmodifiableList(outs), next.hasEnded(),
+                Collections.unmodifiableList(winners));
+    }
+
+    /**
+     * @return The seed of the game, as a string since JavaScript numbers cannot hold every <code>long</code>
+     */
+    public String getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The {@link GameState#getVersion()} of the next snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The index of the first community card of {@link #getCommunityCards()} on the board
+     */
+    public int getFirstCommunityCard() {
+        return firstCommunityCard;
+    }
+
+    /**
+     * @return The community cards dealt since the previous snapshot, e.g. <code>A&amp;hearts;</code>
+     */
+    public List<String> getCommunityCards() {
+        return communityCards;
+    }
+
+    /**
+     * @return The CSS class of each of {@link #getCommunityCards()}
+     */
+    public List<String> getCommunityCardStyles() {
+        return communityCardStyles;
+    }
+
+    /**
+     * @return The hand each player has made so far, by seat
+     */
+    public List<String> getHands() {
+        return hands;
+    }
+
+    /**
+     * @return The {@link Outs} of each player on the flop and the turn, by seat, empty on the other streets
+     */
+    public List<String> getOuts() {
+        return outs;
+    }
+
+    /**
+     * @return true if the game has ended
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * @return The seats of the players who won, empty until the game has ended
+     */
+    public List<Integer> getWinners() {
+        return winners;
+    }
+
+}
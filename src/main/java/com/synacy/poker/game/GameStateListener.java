@@ -0,0 +1,19 @@
+package com.synacy.poker.game;
+
+/**
+ * Told about every change of a {@link Game}, right after the new {@link GameState} has been swapped in.
+ *
+ * @see Game#addStateListener(GameStateListener)
+ */
+@FunctionalInterface
+public interface GameStateListener {
+
+    /**
+     * Called on the thread that changed the game, so it should return quickly.
+     *
+     * @param previous The snapshot before the change
+     * @param next     The snapshot after the change
+     */
+    void stateChanged(GameState previous, GameState next);
+
+}
@@ -0,0 +1,235 @@
+package com.synacy.poker.game;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes every change of a {@link Game} to the browsers watching it as a server-sent event of a
+ * {@link GameStateDiff}, so that spectators follow the table without reloading the page.
+ *
+ * <p>Each subscription listens to its game until the browser goes away or
+ * <code>poker.events.timeout-seconds</code> pass, after which the browser's <code>EventSource</code> reconnects
+ * on its own. A subscription starts with a diff of the whole current snapshot, so that nothing dealt between
+ * rendering the page and subscribing is missed.</p>
+ *
+ * <p>A game has a single listener however many browsers watch it, which writes each diff as JSON once and queues
+ * it for every subscription. The events are sent on <code>poker.events.threads</code> threads of the publisher,
+ * one subscription at a time and in order, so the thread that changed the game, which may hold the table's lock,
+ * never waits for a browser. A subscription that falls {@value #MAX_PENDING_EVENTS} events behind is ended, and
+ * its browser reconnects to a fresh snapshot.</p>
+ *
+ * <p>Listeners are called after the compare-and-set, so two actions racing on the same game may call them out of
+ * order. The listener therefore diffs from the newest snapshot it has queued rather than from the previous one,
+ * and skips a snapshot that is not newer, so that a browser never goes back to an older snapshot.</p>
+ */
+@Component
+public class GameStatePublisher {
+
+    static final String EVENT_NAME = "state";
+    static final int MAX_PENDING_EVENTS = 64;
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<Game, Broadcast> broadcasts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameStatePublisher(ObjectMapper objectMapper,
+                              @Value("${poker.events.timeout-seconds:300}") long timeoutSeconds,
+                              @Value("${poker.events.threads:2}") int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "game-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param game The game to watch
+     * @return The stream of the game's changes, to be returned from a controller
+     */
+    public SseEmitter subscribe(Game game) {
+        Subscription subscription = new Subscription(game, new SseEmitter(timeoutMillis));
+        subscription.emitter.onCompletion(subscription::cancel);
+        subscription.emitter.onTimeout(subscription.emitter::complete);
+
+        broadcasts.compute(game, (key, broadcast) -> {
+            if (broadcast == null) {
+                broadcast = new Broadcast();
+                broadcast.listenTo(game);
+            }
+            broadcast.add(subscription, game);
+            return broadcast;
+        });
+
+        return subscription.emitter;
+    }
+
+    /**
+     * Stops the threads sending the events, when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String toJson(GameStateDiff diff) {
+        try {
+            return objectMapper.writeValueAsString(diff);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("The diff could not be written as JSON.", e);
+        }
+    }
+
+    /**
+     * Stops listening to the game once its last subscription has ended.
+     */
+    private void unsubscribe(Subscription subscription) {
+        broadcasts.computeIfPresent(subscription.game, (game, broadcast) -> {
+            broadcast.subscriptions.remove(subscription);
+            if (broadcast.subscriptions.isEmpty()) {
+                game.removeStateListener(broadcast);
+                return null;
+            }
+            return broadcast;
+        });
+    }
+
+    private final class Broadcast implements GameStateListener {
+
+        private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+        /**
+         * The newest snapshot queued for the subscriptions, which the next diff starts from
+         */
+        private GameState queued;
+
+        /**
+         * Starts from the game's current snapshot. Changes that were swapped in earlier but are only told about
+         * now are not newer, so they are skipped.
+         */
+        synchronized void listenTo(Game game) {
+            game.addStateListener(this);
+            queued = game.getState();
+        }
+
+        /**
+         * Catches up with the game first, so that a new subscription starts from a snapshot at least as new as the
+         * page it follows, then queues the whole of that snapshot for it ahead of any later diff.
+         */
+        synchronized void add(Subscription subscription, Game game) {
+            stateChanged(null, game.getState());
+            subscriptions.add(subscription);
+            subscription.enqueue(toJson(GameStateDiff.of(null, queued)));
+        }
+
+        @Override
+        public synchronized void stateChanged(GameState previous, GameState next) {
+            if (next.getVersion() <= queued.getVersion()) {
+                return;
+            }
+
+            String json = toJson(GameStateDiff.of(queued, next));
+            queued = next;
+            for (Subscription subscription : subscriptions) {
+                subscription.enqueue(json);
+            }
+        }
+    }
+
+    private final class Subscription {
+
+        private final Game game;
+        private final SseEmitter emitter;
+        private final Queue<String> pendingEvents = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        Subscription(Game game, SseEmitter emitter) {
+            this.game = game;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues the event, and has a thread of the publisher send the queue unless one already is.
+         */
+        void enqueue(String json) {
+            if (ended.get()) {
+                return;
+            }
+            int pending = pendingCount.incrementAndGet();
+            if (pending > MAX_PENDING_EVENTS) {
+                // Ended on a thread of the publisher, since the caller may hold the broadcast's lock
+                if (pending == MAX_PENDING_EVENTS + 1) {
+                    executor.execute(() -> endWithError(new IOException("The browser fell too far behind.")));
+                }
+                return;
+            }
+
+            pendingEvents.add(json);
+            if (sending.compareAndSet(false, true)) {
+                executor.execute(this::sendPendingEvents);
+            }
+        }
+
+        /**
+         * Sends the queued diffs in order, or ends the subscription if the browser has gone away.
+         */
+        private void sendPendingEvents() {
+            do {
+                String json;
+                while ((json = pendingEvents.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(json, MediaType.APPLICATION_JSON));
+                    } catch (IOException | IllegalStateException e) {
+                        endWithError(e);
+                        pendingEvents.clear();
+                        return;
+                    }
+                }
+                sending.set(false);
+                // An event queued after the last poll but before the flag was cleared is sent by this thread
+            } while (!pendingEvents.isEmpty() && sending.compareAndSet(false, true));
+        }
+
+        void cancel() {
+            if (ended.compareAndSet(false, true)) {
+                unsubscribe(this);
+            }
+        }
+
+        private void endWithError(Exception e) {
+            if (ended.compareAndSet(false, true)) {
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.synacy.poker.game;
+
+/**
+ * The games a table can deal, chosen per table or through the <code>poker.table.variant</code> property.
+ */
+public enum GameVariant {
+
+    /**
+     * Two hole cards, of which a hand uses any, none or both
+     */
+    TEXAS_HOLDEM(2),
+
+    /**
+     * Four hole cards, of which a hand uses exactly two, with exactly three community cards
+     */
+    OMAHA(4);
+
+    private final int holeCards;
+
+    GameVariant(int holeCards) {
+        this.holeCards = holeCards;
+    }
+
+    /**
+     * @return The number of cards dealt to each player
+     */
+    public int getHoleCards() {
+        return holeCards;
+    }
+
+}
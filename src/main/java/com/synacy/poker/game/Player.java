@@ -6,20 +6,31 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * A player in the game.
+ * A player in the game. The game never changes a player; every deal seats new players with their new hands.
  */
 public class Player {
 
-	private String name;
-	private List<Card> hand = new ArrayList<>();
+	private final String name;
+	private final List<Card> hand;
+	private final double preflopEquity;
 
 	public Player(String name) {
-		this.name = name;
+		this(name, new ArrayList<>());
 	}
 
 	public Player(String name, List<Card> hand) {
+		this(name, hand, Double.NaN);
+	}
+
+	/**
+	 * @param name
+	 * @param hand
+	 * @param preflopEquity The equity of the hole cards before the flop, against the other players at the table
+	 */
+	public Player(String name, List<Card> hand, double preflopEquity) {
 		this.name = name;
 		this.hand = hand;
+		this.preflopEquity = preflopEquity;
 	}
 
 	public String getName() {
@@ -30,12 +41,15 @@ public class Player {
 		return hand;
 	}
 
-	void addToHand(Card card) {
-		hand.add(card);
+	/**
+	 * @return The equity of the hole cards before the flop, or NaN if it is not known
+	 */
+	public double getPreflopEquity() {
+		return preflopEquity;
 	}
 
-	void clearHand() {
-		hand.clear();
+	public boolean hasPreflopEquity() {
+		return !Double.isNaN(preflopEquity);
 	}
 
 	public String toString() {
@@ -0,0 +1,175 @@
+package com.synacy.poker.game;
+
+import com.synacy.poker.hand.Hand;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.hand.HandValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a game, worked out once when the last community card is dealt: every player's {@link HandValue}
+ * and strength, the players' finishing order and who won. Immutable, so views read it as often as they like without
+ * evaluating a hand again.
+ *
+ * <p>Only the hand values are needed to work out the result. The {@link Hand}s are built the first time they are
+ * asked for, so a game that nobody looks at, e.g. in a simulation, never builds one.</p>
+ */
+public final class Showdown {
+
+    private static final int NO_STRENGTH = -1;
+
+    private final List<HandValue> handValues;
+    private final HandValue winningHandValue;
+    private final int[] strengths;
+    private final int[] ranks;
+    private final int winnerCount;
+    private volatile List<Hand> hands;
+
+    /**
+     * @param handValues       Each player's hand value, by seat. A seat without a hand never wins.
+     * @param winningHandValue The winning hand value among them, or null if there is none
+     */
+    Showdown(List<HandValue> handValues, HandValue winningHandValue) {
+        this.handValues = Collections.unmodifiableList(handValues);
+        this.winningHandValue = winningHandValue;
+
+        int playerCount = handValues.size();
+        strengths = new int[playerCount];
+        for (int seat = 0; seat < playerCount; seat++) {
+            HandValue handValue = handValues.get(seat);
+            strengths[seat] = handValue == null ? NO_STRENGTH : handValue.getStrength();
+        }
+
+        ranks = new int[playerCount];
+        for (int seat = 0; seat < playerCount; seat++) {
+            int rank = 1;
+            for (int strength : strengths) {
+                if (strength > strengths[seat]) {
+                    rank++;
+                }
+            }
+            ranks[seat] = rank;
+        }
+
+        int winners = 0;
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (isWinner(seat)) {
+                winners++;
+            }
+        }
+        winnerCount = winners;
+    }
+
+    /**
+     * @return The number of players
+     */
+    public int getPlayerCount() {
+        return strengths.length;
+    }
+
+    /**
+     * @return Each player's {@link HandValue}, by seat
+     */
+    public List<HandValue> getHandValues() {
+        return handValues;
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The player's {@link HandValue}
+     */
+    public HandValue getHandValue(int seat) {
+        return handValues.get(seat);
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The {@link HandType} of the player's hand, or null without a hand
+     */
+    public HandType getHandType(int seat) {
+        HandValue handValue = handValues.get(seat);
+        return handValue == null ? null : handValue.getHandType();
+    }
+
+    /**
+     * @return Each player's {@link Hand}, by seat, built on the first call
+     */
+    public List<Hand> getHands() {
+        List<Hand> built = hands;
+        if (built == null) {
+            built = new ArrayList<>(handValues.size());
+            for (HandValue handValue : handValues) {
+                built.add(handValue == null ? null : handValue.toHand());
+            }
+            built = Collections.unmodifiableList(built);
+            hands = built;
+        }
+
+        return built;
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The player's {@link Hand}
+     */
+    public Hand getHand(int seat) {
+        HandValue handValue = handValues.get(seat);
+        return handValue == null ? null : handValue.toHand();
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The {@link com.synacy.poker.hand.evaluator.HandStrength} of the player's hand, or -1 without a hand
+     */
+    public int getStrength(int seat) {
+        return strengths[seat];
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The player's finishing position, 1 for the best hand. Tied players share a position.
+     */
+    public int getRank(int seat) {
+        return ranks[seat];
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return true if the player's hand is as strong as the winning hand. Tied players all win.
+     */
+    public boolean isWinner(int seat) {
+        return winningHandValue != null && strengths[seat] == winningHandValue.getStrength();
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return true if the player won and split the pot with others
+     */
+    public boolean isTied(int seat) {
+        return winnerCount > 1 && isWinner(seat);
+    }
+
+    /**
+     * @return The number of players who won
+     */
+    public int getWinnerCount() {
+        return winnerCount;
+    }
+
+    /**
+     * @return The winning {@link HandValue}, or null if there is none
+     */
+    public HandValue getWinningHandValue() {
+        return winningHandValue;
+    }
+
+    /**
+     * @return The winning {@link Hand}, or null if there is none
+     */
+    public Hand getWinningHand() {
+        return winningHandValue == null ? null : winningHandValue.toHand();
+    }
+
+}
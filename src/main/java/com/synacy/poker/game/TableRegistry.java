@@ -0,0 +1,218 @@
+package com.synacy.poker.game;
+
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.equity.PreflopEquityService;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.WinningHandCalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hosts many independent tables, each with its own {@link Game}, by table id.
+ *
+ * <p>Tables are spread over a fixed number of {@link ConcurrentHashMap} shards by the hash of their id, so
+ * creating and evicting tables on one shard never resizes or contends with the others. Changes to a table run
+ * under one of a fixed set of striped locks chosen by the same hash, which keeps the number of locks constant
+ * however many tables there are, while tables on different stripes never wait for each other.</p>
+ *
+ * <p>Tables that have not been used for <code>poker.tables.idle-timeout-seconds</code> are evicted. Instead of
+ * a background thread, every table creation sweeps the next shard in turn.</p>
+ */
+@Component
+public class TableRegistry {
+
+    private static final int SHARD_COUNT = 64;
+    private static final int LOCK_STRIPE_COUNT = 1024;
+
+    private final List<ConcurrentHashMap<String, Table>> shards = new ArrayList<>(SHARD_COUNT);
+    private final ReentrantLock[] lockStripes = new ReentrantLock[LOCK_STRIPE_COUNT];
+
+    private final AtomicLong nextTableId = new AtomicLong();
+    private final AtomicInteger nextSweptShard = new AtomicInteger();
+    private final long idleTimeoutNanos;
+
+    private final DeckBuilder deckBuilder;
+    private final HandIdentifier handIdentifier;
+    private final WinningHandCalculator winningHandCalculator;
+    private final PreflopEquityService preflopEquityService;
+
+    @Autowired
+    public TableRegistry(DeckBuilder deckBuilder,
+                         HandIdentifier handIdentifier,
+                         WinningHandCalculator winningHandCalculator,
+                         PreflopEquityService preflopEquityService,
+                         @Value("${poker.tables.idle-timeout-seconds:1800}") long idleTimeoutSeconds) {
+        this.deckBuilder = deckBuilder;
+        this.handIdentifier = handIdentifier;
+        this.winningHandCalculator = winningHandCalculator;
+        this.preflopEquityService = preflopEquityService;
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            shards.add(new ConcurrentHashMap<>());
+        }
+        for (int stripe = 0; stripe < LOCK_STRIPE_COUNT; stripe++) {
+            lockStripes[stripe] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Creates a table of {@link Game#DEFAULT_SEATS} players with a new game already dealt.
+     *
+     * @return The id of the new table
+     */
+    public String createTable() {
+        return createTable(Game.DEFAULT_SEATS);
+    }
+
+    /**
+     * Creates a table with a new game already dealt.
+     *
+     * @param seatCount The number of players, from 2 to 10
+     * @return The id of the new table
+     * @throws IllegalArgumentException if the number of players is out of range
+     */
+    public String createTable(int seatCount) {
+        return createTable(seatCount, GameVariant.TEXAS_HOLDEM);
+    }
+
+    /**
+     * Creates a table of the given game with a new game already dealt.
+     *
+     * @param seatCount The number of players, from 2 to 10
+     * @param variant   The game to deal
+     * @return The id of the new table
+     * @throws IllegalArgumentException if the number of players is out of range
+     */
+    public String createTable(int seatCount, GameVariant variant) {
+        Game game = new Game(deckBuilder, handIdentifier, winningHandCalculator, seatCount, preflopEquityService,
+                variant);
+        evictIdleTables(shards.get(Math.floorMod(nextSweptShard.getAndIncrement(), SHARD_COUNT)));
+
+        String tableId = Long.toString(nextTableId.incrementAndGet(), Character.MAX_RADIX);
+        shardOf(tableId).put(tableId, new Table(game));
+
+        return tableId;
+    }
+
+    /**
+     * @param tableId
+     * @return The {@link Game} of the table, or empty if there is no such table
+     */
+    public Optional<Game> findTable(String tableId) {
+        Table table = shardOf(tableId).get(tableId);
+        if (table == null) {
+            return Optional.empty();
+        }
+
+        table.touch();
+        return Optional.of(table.game);
+    }
+
+    /**
+     * Changes the table's game while holding the table's lock, so that changes to the same table never overlap.
+     *
+     * @param tableId
+     * @param transition The change to make to the game
+     * @return false if there is no such table
+     */
+    public boolean updateTable(String tableId, Consumer<Game> transition) {
+        Table table = shardOf(tableId).get(tableId);
+        if (table == null) {
+            return false;
+        }
+
+        ReentrantLock lock = lockOf(tableId);
+        lock.lock();
+        try {
+            table.touch();
+            transition.accept(table.game);
+        } finally {
+            lock.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * @param tableId
+     * @return false if there is no such table
+     */
+    public boolean evictTable(String tableId) {
+        return shardOf(tableId).remove(tableId) != null;
+    }
+
+    /**
+     * Evicts every table that has been idle for longer than the idle timeout.
+     */
+    public void evictIdleTables() {
+        for (ConcurrentHashMap<String, Table> shard : shards) {
+            evictIdleTables(shard);
+        }
+    }
+
+    /**
+     * @return The number of tables
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Table> shard : shards) {
+            size += shard.size();
+        }
+
+        return size;
+    }
+
+    private void evictIdleTables(ConcurrentHashMap<String, Table> shard) {
+        long now = System.nanoTime();
+        for (Iterator<Table> tables = shard.values().iterator(); tables.hasNext(); ) {
+            if (now - tables.next().lastAccessNanos > idleTimeoutNanos) {
+                tables.remove();
+            }
+        }
+    }
+
+    private ConcurrentHashMap<String, Table> shardOf(String tableId) {
+        return shards.get(spread(tableId.hashCode()) & (SHARD_COUNT - 1));
+    }
+
+    private ReentrantLock lockOf(String tableId) {
+        return lockStripes[(spread(tableId.hashCode()) >>> 6) & (LOCK_STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * Mixes the high bits of the hash into the low bits, which pick the shard and the lock stripe.
+     */
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Table {
+
+        private final Game game;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        Table(Game game) {
+            this.game = game;
+        }
+
+        void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+    }
+
+}
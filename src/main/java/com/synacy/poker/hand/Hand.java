@@ -1,6 +1,9 @@
 package com.synacy.poker.hand;
 
 import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.synacy.poker.hand.evaluator.HandStrength;
+import com.synacy.poker.util.PokerUtil;
 
 import java.util.List;
 
@@ -10,6 +13,12 @@ import java.util.List;
  */
 public abstract class Hand {
 
+    private static final int UNKNOWN_STRENGTH = -1;
+
+    private static final BitmaskHandEvaluator HAND_EVALUATOR = new BitmaskHandEvaluator();
+
+    private int strength = UNKNOWN_STRENGTH;
+
     /**
      * @return The {@link HandType}
      */
@@ -22,4 +31,20 @@ public abstract class Hand {
     public abstract List<Card> getHandTypeCards();
 
     public abstract List<Card> getHighCards();
+
+    /**
+     * @return The {@link HandStrength} of the hand, encoding the hand type and every tiebreak rank. A hand with
+     * a greater strength beats a hand with a lesser one, and equal strengths split the pot.
+     */
+    public int getStrength() {
+        if (strength == UNKNOWN_STRENGTH) {
+            strength = HAND_EVALUATOR.evaluate(PokerUtil.getCardMask(getCards()));
+        }
+
+        return strength;
+    }
+
+    void setStrength(int strength) {
+        this.strength = strength;
+    }
 }
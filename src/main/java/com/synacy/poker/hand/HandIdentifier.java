@@ -2,16 +2,22 @@ package com.synacy.poker.hand;
 
 import com.synacy.poker.card.Card;
 import com.synacy.poker.card.CardRank;
-import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.synacy.poker.hand.evaluator.CachingHandEvaluator;
+import com.synacy.poker.hand.evaluator.HandAccumulator;
+import com.synacy.poker.hand.evaluator.HandEvaluator;
+import com.synacy.poker.hand.evaluator.HandStrength;
+import com.synacy.poker.hand.evaluator.OmahaHandEvaluator;
 import com.synacy.poker.hand.types.*;
+import com.synacy.poker.util.PokerBits;
 import com.synacy.poker.util.PokerUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
-import java.util.function.BinaryOperator;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * A service that is to used to identify the {@link Hand} given the player's cards and the community
@@ -20,198 +26,243 @@ import java.util.stream.Stream;
 @Component
 public class HandIdentifier {
 
+    private final HandEvaluator handEvaluator;
+    private final OmahaHandEvaluator omahaHandEvaluator = new OmahaHandEvaluator();
+
+    public HandIdentifier() {
+        this(new BitmaskHandEvaluator());
+    }
+
+    public HandIdentifier(HandEvaluator handEvaluator) {
+        this.handEvaluator = handEvaluator;
+    }
+
+    /**
+     * @param handEvaluator
+     * @param cacheSize     The most strengths to keep in a {@link CachingHandEvaluator} in front of the evaluator,
+     *                      or 0 to evaluate every hand afresh
+     */
+    @Autowired
+    public HandIdentifier(HandEvaluator handEvaluator, @Value("${poker.evaluator.cache-size:0}") int cacheSize) {
+        this(cacheSize > 0 ? new CachingHandEvaluator(handEvaluator, cacheSize) : handEvaluator);
+    }
+
     /**
      * Given the player's cards and the community cards, identifies the player's hand.
      *
      * @param playerCards
      * @param communityCards
      * @return The player's {@link Hand} or `null` if no Hand was identified.
+     * @see #evaluateHand(List, List)
      */
     public Hand identifyHand(List<Card> playerCards, List<Card> communityCards) {
-        Hand hand = getStraightFlush(playerCards, communityCards);
-        if(hand != null) {
-            return hand;
-        }
-
-        hand = getFourOfAKind(playerCards, communityCards);
-        if(hand != null) {
-            return hand;
-        }
-
-        hand = getFullHouse(playerCards, communityCards);
-        if(hand != null) {
-            return hand;
-        }
-
-        hand = getFlush(playerCards, communityCards);
-        if(hand != null) {
-            return hand;
-        }
-
-        hand = getStraight(playerCards, communityCards);
-        if(hand != null) {
-            return hand;
-        }
-
-        hand = getThreeOfAKind(playerCards, communityCards);
-        if(hand != null) {
-            return hand;
-        }
+        HandValue handValue = evaluateHand(playerCards, communityCards);
+        return handValue == null ? null : handValue.toHand();
+    }
 
-        hand = getTwoPairs(playerCards, communityCards);
-        if(hand != null) {
-            return hand;
-        }
+    /**
+     * Builds the {@link Hand} of cards that have already been evaluated street by street, without evaluating
+     * them again.
+     *
+     * @param handAccumulator
+     * @return The {@link Hand} or `null` if the accumulator holds no cards.
+     */
+    public Hand identifyHand(HandAccumulator handAccumulator) {
+        HandValue handValue = evaluateHand(handAccumulator);
+        return handValue == null ? null : handValue.toHand();
+    }
 
-        hand = getOnePair(playerCards, communityCards);
-        if(hand != null) {
-            return hand;
+    /**
+     * Evaluates the player's cards and the community cards without building the {@link Hand}.
+     *
+     * @param playerCards
+     * @param communityCards
+     * @return The player's {@link HandValue} or `null` if there are no cards.
+     */
+    public HandValue evaluateHand(List<Card> playerCards, List<Card> communityCards) {
+        long cardMask = PokerUtil.getCardMask(playerCards, communityCards);
+        if (cardMask == 0L) {
+            return null;
         }
 
-        hand = getHighCards(playerCards, communityCards);
-        return hand;
+        return HandValue.of(handEvaluator.evaluate(cardMask), cardMask);
     }
 
-    private StraightFlush getStraightFlush(List<Card> playerCards, List<Card> communityCard) {
-        List<Card> mergedCards = PokerUtil.getMergedCardList(playerCards, communityCard);
-
-        CardSuit cardSuit = PokerUtil.getCommonSuitRank(mergedCards, Card::getSuit);
-
-        mergedCards.removeIf(c -> !c.getSuit().equals(cardSuit));
-
-        List<Card> cardList = PokerUtil.getCardSequence(mergedCards);
-        if(cardList != null && cardList.size() >= 5) {
-            if(cardList.get(0).getRank().equals(CardRank.ACE)) {
-                return new RoyalFlush(cardList.stream().limit(5).collect(Collectors.toList()));
-            }
-            return new StraightFlush(cardList.stream().limit(5).collect(Collectors.toList()));
+    /**
+     * @param handAccumulator
+     * @return The {@link HandValue} of the accumulated cards or `null` if the accumulator holds no cards.
+     */
+    public HandValue evaluateHand(HandAccumulator handAccumulator) {
+        long cardMask = handAccumulator.getCardMask();
+        if (cardMask == 0L) {
+            return null;
         }
 
-        return null;
+        return HandValue.of(handAccumulator.getStrength(), cardMask);
     }
 
-    private FourOfAKind getFourOfAKind(List<Card> playerCards, List<Card> communityCard) {
-        List<Card> cardList = PokerUtil.getMergedCardList(playerCards, communityCard);
-        List<Card> quadList = PokerUtil.getPairCardList(cardList);
-
-        if(quadList != null && quadList.size() == 4) {
-            List<Card> kickers = PokerUtil.getKickers(quadList, cardList, 1);
-            return new FourOfAKind(quadList, kickers);
+    /**
+     * Evaluates an Omaha hand: exactly two of the player's cards and exactly three of the community cards.
+     *
+     * @param playerCards
+     * @param communityCards
+     * @return The {@link HandValue} of the player's best five cards or `null` if there are no cards.
+     */
+    public HandValue evaluateOmahaHand(List<Card> playerCards, List<Card> communityCards) {
+        long holeMask = PokerUtil.getCardMask(playerCards);
+        long boardMask = PokerUtil.getCardMask(communityCards);
+        if ((holeMask | boardMask) == 0L) {
+            return null;
         }
 
-        return  null;
+        // The search already ranks the best hand it finds, so its cards are not evaluated again
+        int[] strength = new int[1];
+        long[] cardMask = new long[1];
+        omahaHandEvaluator.evaluateAll(boardMask, new long[]{holeMask}, strength, cardMask);
+        return HandValue.of(strength[0], cardMask[0]);
     }
 
-    private FullHouse getFullHouse(List<Card> playerCards, List<Card> communityCards) {
-        List<Card> mergedCardList = PokerUtil.getMergedCardList(playerCards, communityCards);
-        List<Card> trioCardList = PokerUtil.getPairCardList(mergedCardList);
+    /**
+     * Evaluates the Omaha hands of several players on the same community cards, which are worked out once for
+     * all of them.
+     *
+     * @param playerCards    Each player's cards
+     * @param communityCards
+     * @return The {@link HandValue} of each player, in the order of the player cards
+     * @see #evaluateOmahaHand(List, List)
+     */
+    public List<HandValue> evaluateOmahaHands(List<List<Card>> playerCards, List<Card> communityCards) {
+        long[] holeMasks = new long[playerCards.size()];
+        for (int player = 0; player < holeMasks.length; player++) {
+            holeMasks[player] = PokerUtil.getCardMask(playerCards.get(player));
+        }
+        int[] strengths = new int[holeMasks.length];
+        long[] cardMasks = new long[holeMasks.length];
+        omahaHandEvaluator.evaluateAll(PokerUtil.getCardMask(communityCards), holeMasks, strengths, cardMasks);
 
-        if(trioCardList != null && trioCardList.size() == 3) {
-            mergedCardList.removeAll(trioCardList);
-            List<Card> pairCards = PokerUtil.getPairCardList(mergedCardList);
-            if(pairCards !=  null && pairCards.size() == 2) {
-                return new FullHouse(trioCardList, pairCards);
-            }
+        List<HandValue> handValues = new ArrayList<>(holeMasks.length);
+        for (int player = 0; player < holeMasks.length; player++) {
+            handValues.add(cardMasks[player] == 0L ? null : HandValue.of(strengths[player], cardMasks[player]));
         }
 
-        return null;
+        return Collections.unmodifiableList(handValues);
     }
 
-    private Flush getFlush(List<Card> playerCards, List<Card> communityCards) {
-        List<Card> mergedCardList = PokerUtil.getMergedCardList(playerCards, communityCards);
-        List<Card> flushList = new ArrayList<>();
-
-        CardSuit cardSuit = PokerUtil.getCommonSuitRank(mergedCardList, Card::getSuit);
-
-        flushList = mergedCardList.stream()
-                    .filter(card -> card.getSuit().equals(cardSuit))
-                    .sorted(Comparator.comparing(Card::getRankToInt).reversed())
-                    .limit(5)
-                    .collect(Collectors.toList());
+    /**
+     * Picks the cards behind an evaluated strength out of the card mask.
+     */
+    static Hand buildHand(int strength, long cardMask) {
+        Hand hand = newHand(strength, cardMask);
+        hand.setStrength(strength);
 
+        return hand;
+    }
 
-        if(flushList != null && flushList.size() >= 5) {
-            return new Flush(flushList.stream().limit(5).collect(Collectors.toList()));
+    private static Hand newHand(int strength, long cardMask) {
+        switch (HandStrength.getHandType(strength)) {
+            case STRAIGHT_FLUSH:
+                return getStraightFlush(strength, cardMask);
+            case FOUR_OF_A_KIND:
+                return new FourOfAKind(getCardsOfRank(cardMask, HandStrength.getRank(strength, 0)),
+                        getKickers(strength, cardMask, 1));
+            case FULL_HOUSE:
+                return new FullHouse(getCardsOfRank(cardMask, HandStrength.getRank(strength, 0)),
+                        getCardsOfRank(cardMask, HandStrength.getRank(strength, 1), 2));
+            case FLUSH:
+                return new Flush(getFlushCards(strength, cardMask));
+            case STRAIGHT:
+                return new Straight(getStraightCards(HandStrength.getRank(strength, 0), cardMask));
+            case THREE_OF_A_KIND:
+                return new ThreeOfAKind(getCardsOfRank(cardMask, HandStrength.getRank(strength, 0)),
+                        getKickers(strength, cardMask, 1));
+            case TWO_PAIR:
+                return new TwoPair(getCardsOfRank(cardMask, HandStrength.getRank(strength, 0)),
+                        getCardsOfRank(cardMask, HandStrength.getRank(strength, 1)),
+                        getKickers(strength, cardMask, 2));
+            case ONE_PAIR:
+                return new OnePair(getCardsOfRank(cardMask, HandStrength.getRank(strength, 0)),
+                        getKickers(strength, cardMask, 1));
+            default:
+                return new HighCard(getKickers(strength, cardMask, 0));
         }
-
-        return null;
     }
 
-    private Straight getStraight(List<Card> playerCards, List<Card> communityCards) {
-        List<Card> mergedCards = PokerUtil.getMergedCardList(playerCards, communityCards);
-        List<Card> cardList = PokerUtil.getCardSequence(mergedCards);
+    private static StraightFlush getStraightFlush(int strength, long cardMask) {
+        int highRank = HandStrength.getRank(strength, 0);
+        int straightRanks = PokerBits.straightRanks(highRank);
 
-        if(cardList != null && cardList.size() >= 5) {
-            return new Straight(cardList.stream().limit(5).collect(Collectors.toList()));
+        for (int suit = 0; suit < PokerBits.SUIT_COUNT; suit++) {
+            if ((PokerBits.suitMask(cardMask, suit) & straightRanks) == straightRanks) {
+                long suitCards = cardMask & ((long) PokerBits.RANK_MASK << (suit * PokerBits.RANK_COUNT));
+                List<Card> cards = getStraightCards(highRank, suitCards);
+                if (highRank == CardRank.ACE.ordinal()) {
+                    return new RoyalFlush(cards);
+                }
+                return new StraightFlush(cards);
+            }
         }
 
         return null;
     }
 
-    private ThreeOfAKind getThreeOfAKind(List<Card> playerCards, List<Card> communityCards) {
-        List<Card> mergedCards = PokerUtil.getMergedCardList(playerCards, communityCards);
-        List<Card> trioCards = PokerUtil.getPairCardList(mergedCards);
-
-        if(trioCards != null && trioCards.size() == 3) {
-            List<Card> kickerCards = PokerUtil.getKickers(trioCards, mergedCards, 2);
-            if(kickerCards != null) {
-                return new ThreeOfAKind(trioCards, kickerCards);
+    private static List<Card> getFlushCards(int strength, long cardMask) {
+        int flushRanks = getRanks(strength, 0);
+        for (int suit = 0; suit < PokerBits.SUIT_COUNT; suit++) {
+            if ((PokerBits.suitMask(cardMask, suit) & flushRanks) == flushRanks) {
+                long suitCards = cardMask & ((long) PokerBits.RANK_MASK << (suit * PokerBits.RANK_COUNT));
+                List<Card> cards = new ArrayList<>(HandStrength.MAX_RANKS);
+                PokerBits.addCardsByRank(suitCards, flushRanks, cards);
+                return cards;
             }
         }
 
         return null;
     }
 
-    private TwoPair getTwoPairs(List<Card> playerCards, List<Card> communityCards) {
-        List<Card> mergedCardList = PokerUtil.getMergedCardList(playerCards, communityCards);
-        List<Card> pair1CardList = PokerUtil.getPairCardList(mergedCardList);
-
-        if(pair1CardList != null && pair1CardList.size() == 2) {
-            mergedCardList.removeAll(pair1CardList);
-
-            List<Card> pair2CardList = PokerUtil.getPairCardList(mergedCardList);
-            List<Card> pairList = PokerUtil.getMergedCardList(pair1CardList, pair2CardList);
-            List<Card> kickerCards = new ArrayList<>();
-
-            if(pairList != null && mergedCardList!= null) {
-                kickerCards = PokerUtil.getKickers(pairList, mergedCardList, 1);
-            }
+    /**
+     * @return The cards of the straight from the highest rank down, e.g. 5,4,3,2,A for the wheel.
+     */
+    private static List<Card> getStraightCards(int highRank, long cardMask) {
+        List<Card> cards = new ArrayList<>(HandStrength.MAX_RANKS);
+        PokerBits.addStraightCards(cardMask, highRank, cards);
 
-            if(pair2CardList != null && pair2CardList.size() == 2 && kickerCards != null) {
-                if(pair1CardList.get(0).getRankToInt() >= pair2CardList.get(0).getRankToInt()) {
-                    return new TwoPair(pair1CardList, pair2CardList, kickerCards);
-                }
+        return cards;
+    }
 
-                return new TwoPair(pair2CardList, pair1CardList, kickerCards);
-            }
-        }
+    /**
+     * @return One card for each rank slot of the strength, starting at the given slot.
+     */
+    private static List<Card> getKickers(int strength, long cardMask, int firstIndex) {
+        List<Card> kickers = new ArrayList<>(HandStrength.MAX_RANKS - firstIndex);
+        PokerBits.addCardsByRank(cardMask, getRanks(strength, firstIndex), kickers);
 
-        return null;
+        return kickers;
     }
 
-    private OnePair getOnePair(List<Card> playerCards, List<Card> communityCards) {
-        List<Card> mergedCardList = PokerUtil.getMergedCardList(playerCards, communityCards);
-        List<Card> pairCardList = PokerUtil.getPairCardList(mergedCardList);
-
-        if(pairCardList != null && pairCardList.size() == 2) {
-            List<Card> kickerCardList = PokerUtil.getKickers(pairCardList, mergedCardList, 3);
-            if(kickerCardList != null) {
-                return new OnePair(pairCardList, kickerCardList);
+    /**
+     * @return The mask of the ranks in the rank slots of the strength, starting at the given slot.
+     */
+    private static int getRanks(int strength, int firstIndex) {
+        int ranks = 0;
+        for (int index = firstIndex; index < HandStrength.MAX_RANKS; index++) {
+            int rank = HandStrength.getRank(strength, index);
+            if (rank < 0) {
+                break;
             }
+            ranks |= 1 << rank;
         }
 
-        return null;
+        return ranks;
     }
 
-    private HighCard getHighCards(List<Card> playerCards, List<Card> communityCards) {
-        List<Card> mergedCards = PokerUtil.getMergedCardList(playerCards, communityCards);
-        List<Card> highCardList = PokerUtil.getOrderedCardList(mergedCards)
-                                    .stream().limit(5).collect(Collectors.toList());
+    private static List<Card> getCardsOfRank(long cardMask, int rank) {
+        return getCardsOfRank(cardMask, rank, PokerBits.SUIT_COUNT);
+    }
 
-        if(highCardList != null) {
-            return new HighCard(highCardList);
-        }
+    private static List<Card> getCardsOfRank(long cardMask, int rank, int limit) {
+        List<Card> cards = new ArrayList<>(limit);
+        PokerBits.addCardsOfRank(cardMask, rank, limit, cards);
 
-        return null;
+        return cards;
     }
 }
@@ -0,0 +1,105 @@
+package com.synacy.poker.hand;
+
+import com.synacy.poker.hand.evaluator.HandStrength;
+
+/**
+ * An evaluated hand: its {@link HandStrength} and the cards it was evaluated from, packed one bit per card.
+ *
+ * <p>That is all it takes to compare hands and tell who won, so games, simulations and equity jobs work with
+ * hand values only. The {@link Hand} with its card lists is built from the value the first time
+ * {@link #toHand()} or {@link #toString()} is called, for display, and then kept.</p>
+ *
+ * <p>Note: this class has a natural ordering that is inconsistent with equals, see {@link #compareTo}.</p>
+ */
+public final class HandValue implements Comparable<HandValue> {
+
+    private final int strength;
+    private final long cardMask;
+    private volatile Hand hand;
+
+    private HandValue(int strength, long cardMask) {
+        this.strength = strength;
+        this.cardMask = cardMask;
+    }
+
+    /**
+     * @param strength The {@link HandStrength} of the cards
+     * @param cardMask The cards, bit <code>suit * 13 + rank</code> set for each card
+     * @return The hand value
+     * @throws IllegalArgumentException if there are no cards
+     */
+    public static HandValue of(int strength, long cardMask) {
+        if (cardMask == 0L) {
+            throw new IllegalArgumentException("A hand needs at least one card.");
+        }
+
+        return new HandValue(strength, cardMask);
+    }
+
+    /**
+     * @return The {@link HandStrength}. A hand with a greater strength beats a hand with a lesser one, and equal
+     * strengths split the pot.
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * @return The {@link HandType}. A Royal Flush is a {@link HandType#STRAIGHT_FLUSH}.
+     */
+    public HandType getHandType() {
+        return HandStrength.getHandType(strength);
+    }
+
+    /**
+     * @return The cards the hand was evaluated from, not just the five that play
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    /**
+     * @return The {@link Hand} with the cards that make it, built on the first call
+     */
+    public Hand toHand() {
+        Hand built = hand;
+        if (built == null) {
+            built = HandIdentifier.buildHand(strength, cardMask);
+            hand = built;
+        }
+
+        return built;
+    }
+
+    /**
+     * Orders hand values by strength alone, so hands of different cards that split the pot compare as equal.
+     * This ordering is inconsistent with {@link #equals(Object)}, which also compares the cards: a sorted set or
+     * map of hand values keeps only one of several hands of the same strength.
+     *
+     * @param other
+     * @return Less than, equal to or greater than 0 as this hand loses to, ties with or beats the other hand
+     */
+    @Override
+    public int compareTo(HandValue other) {
+        return Integer.compare(strength, other.strength);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HandValue handValue = (HandValue) o;
+        return strength == handValue.strength && cardMask == handValue.cardMask;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * strength + Long.hashCode(cardMask);
+    }
+
+    @Override
+    public String toString() {
+        return toHand().toString();
+    }
+
+}
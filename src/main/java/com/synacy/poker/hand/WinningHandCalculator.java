@@ -1,12 +1,8 @@
 package com.synacy.poker.hand;
 
-import com.synacy.poker.game.Player;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * A service class used to calculate the winning hand.
@@ -16,11 +12,36 @@ public class WinningHandCalculator {
 
 	/**
 	 * @param playerHands
-	 * @return The winning {@link Hand} from a list of player hands.
+	 * @return The winning {@link Hand} from a list of player hands. When hands tie, the first of them.
 	 */
 	public Hand calculateWinningHand(List<Hand> playerHands) {
-		return playerHands.stream()
-				.max(Comparator.comparing(c -> c.getHandTypeInt()))
-				.orElse(null);
+		Hand winningHand = null;
+		int winningStrength = -1;
+		for (Hand playerHand : playerHands) {
+			int strength = playerHand.getStrength();
+			if (strength > winningStrength) {
+				winningHand = playerHand;
+				winningStrength = strength;
+			}
+		}
+
+		return winningHand;
+	}
+
+	/**
+	 * @param playerHandValues
+	 * @return The winning {@link HandValue} from a list of evaluated player hands, without building any
+	 * {@link Hand}. When hands tie, the first of them.
+	 */
+	public HandValue calculateWinningHandValue(List<HandValue> playerHandValues) {
+		HandValue winningHandValue = null;
+		for (HandValue playerHandValue : playerHandValues) {
+			if (playerHandValue != null
+					&& (winningHandValue == null || playerHandValue.getStrength() > winningHandValue.getStrength())) {
+				winningHandValue = playerHandValue;
+			}
+		}
+
+		return winningHandValue;
 	}
 }
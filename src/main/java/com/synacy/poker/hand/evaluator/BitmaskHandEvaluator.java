@@ -0,0 +1,162 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.util.PokerBits;
+
+/**
+ * Evaluates a set of cards packed into a <code>long</code>, one bit per card, in a single pass.
+ *
+ * <p>A card occupies bit <code>suit * 13 + rank</code>, where suit and rank are the {@link com.synacy.poker.card.CardSuit}
+ * and {@link com.synacy.poker.card.CardRank} ordinals. Each suit therefore owns a contiguous 13-bit rank mask, and
+ * pairs, trips and quads fall out of AND-ing those masks together. Nothing is allocated per evaluation, and any
+ * number of cards can be evaluated, from the two hole cards before the flop up to the full board.</p>
+ *
+ * @see HandStrength
+ */
+public class BitmaskHandEvaluator implements HandEvaluator {
+
+    public static final int RANK_COUNT = PokerBits.RANK_COUNT;
+
+    public static final int SUIT_COUNT = PokerBits.SUIT_COUNT;
+
+    public static final int RANK_MASK = PokerBits.RANK_MASK;
+
+    @Override
+    public int evaluate(long cardMask) {
+        int spades = suitMask(cardMask, 0);
+        int clubs = suitMask(cardMask, 1);
+        int diamonds = suitMask(cardMask, 2);
+        int hearts = suitMask(cardMask, 3);
+
+        int flushStrength = Math.max(
+                Math.max(evaluateFlush(spades), evaluateFlush(clubs)),
+                Math.max(evaluateFlush(diamonds), evaluateFlush(hearts)));
+        if (HandStrength.getCategory(flushStrength) == HandType.STRAIGHT_FLUSH.ordinal()) {
+            return flushStrength;
+        }
+
+        int ranks = spades | clubs | diamonds | hearts;
+        int pairs = (spades & clubs) | (diamonds & hearts) | ((spades | clubs) & (diamonds | hearts));
+        int trips = (spades & clubs & (diamonds | hearts)) | (diamonds & hearts & (spades | clubs));
+        int quads = spades & clubs & diamonds & hearts;
+
+        return Math.max(flushStrength, evaluateRanks(ranks, pairs, trips, quads));
+    }
+
+    /**
+     * Works out the board's rank and suit counts once, then adds each player's cards to them.
+     *
+     * @see HandAccumulator#evaluateAll(long[], int[])
+     */
+    @Override
+    public void evaluateAll(long boardMask, long[] holeMasks, int[] strengths) {
+        HandAccumulator.of(boardMask).evaluateAll(holeMasks, strengths);
+    }
+
+    /**
+     * @param cardMask
+     * @param suit     The {@link com.synacy.poker.card.CardSuit} ordinal
+     * @return The 13-bit mask of the ranks held in the suit
+     */
+    public static int suitMask(long cardMask, int suit) {
+        return PokerBits.suitMask(cardMask, suit);
+    }
+
+    /**
+     * @param suitRanks The ranks held in a single suit
+     * @return The Straight Flush or Flush strength of the suit, or 0 if it holds fewer than five cards
+     */
+    public static int evaluateFlush(int suitRanks) {
+        if (Integer.bitCount(suitRanks) < 5) {
+            return 0;
+        }
+
+        int straightHighRank = PokerBits.straightHighRank(suitRanks);
+        if (straightHighRank >= 0) {
+            return HandStrength.of(HandType.STRAIGHT_FLUSH, HandStrength.rankSlot(straightHighRank, 0));
+        }
+
+        return HandStrength.of(HandType.FLUSH, topRankSlots(suitRanks, 5, 0));
+    }
+
+    /**
+     * Evaluates the best hand that ignores suits, i.e. everything except Flush and Straight Flush.
+     *
+     * @param ranks The ranks held at least once
+     * @param pairs The ranks held at least twice
+     * @param trips The ranks held at least three times
+     * @param quads The ranks held four times
+     * @return The strength of the best hand the ranks make
+     */
+    public static int evaluateRanks(int ranks, int pairs, int trips, int quads) {
+        if (quads != 0) {
+            int quadRank = highestRank(quads);
+            return HandStrength.of(HandType.FOUR_OF_A_KIND, HandStrength.rankSlot(quadRank, 0)
+                    | topRankSlots(ranks & ~(1 << quadRank), 1, 1));
+        }
+
+        if (trips != 0) {
+            int tripRank = highestRank(trips);
+            int fullHousePairs = pairs & ~(1 << tripRank);
+            if (fullHousePairs != 0) {
+                return HandStrength.of(HandType.FULL_HOUSE, HandStrength.rankSlot(tripRank, 0)
+                        | HandStrength.rankSlot(highestRank(fullHousePairs), 1));
+            }
+        }
+
+        int straightHighRank = PokerBits.straightHighRank(ranks);
+        if (straightHighRank >= 0) {
+            return HandStrength.of(HandType.STRAIGHT, HandStrength.rankSlot(straightHighRank, 0));
+        }
+
+        if (trips != 0) {
+            int tripRank = highestRank(trips);
+            return HandStrength.of(HandType.THREE_OF_A_KIND, HandStrength.rankSlot(tripRank, 0)
+                    | topRankSlots(ranks & ~(1 << tripRank), 2, 1));
+        }
+
+        if (pairs != 0) {
+            int highPairRank = highestRank(pairs);
+            int lowPairs = pairs & ~(1 << highPairRank);
+            if (lowPairs != 0) {
+                int lowPairRank = highestRank(lowPairs);
+                return HandStrength.of(HandType.TWO_PAIR, HandStrength.rankSlot(highPairRank, 0)
+                        | HandStrength.rankSlot(lowPairRank, 1)
+                        | topRankSlots(ranks & ~(1 << highPairRank) & ~(1 << lowPairRank), 1, 2));
+            }
+
+            return HandStrength.of(HandType.ONE_PAIR, HandStrength.rankSlot(highPairRank, 0)
+                    | topRankSlots(ranks & ~(1 << highPairRank), 3, 1));
+        }
+
+        return HandStrength.of(HandType.HIGH_CARD, topRankSlots(ranks, 5, 0));
+    }
+
+    /**
+     * @param ranks
+     * @return The rank ordinal of the highest card of the straight within the ranks, or -1 if there is none
+     */
+    public static int getStraightHighRank(int ranks) {
+        return PokerBits.straightHighRank(ranks);
+    }
+
+    /**
+     * @param ranks A non-empty rank mask
+     * @return The highest rank ordinal in the mask
+     */
+    public static int highestRank(int ranks) {
+        return PokerBits.highestRank(ranks);
+    }
+
+    private static int topRankSlots(int ranks, int count, int firstIndex) {
+        int slots = 0;
+        for (int index = firstIndex; index < firstIndex + count && ranks != 0; index++) {
+            int rank = highestRank(ranks);
+            slots |= HandStrength.rankSlot(rank, index);
+            ranks &= ~(1 << rank);
+        }
+
+        return slots;
+    }
+
+}
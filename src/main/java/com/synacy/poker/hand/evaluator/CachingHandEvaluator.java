@@ -0,0 +1,51 @@
+package com.synacy.poker.hand.evaluator;
+
+/**
+ * A {@link HandEvaluator} that remembers the strengths another evaluator works out, in an {@link EvaluationCache}.
+ *
+ * <p>Pages and what-if queries evaluate the same few cards again and again; those evaluations become a cache hit.
+ * Evaluating players against a shared board with {@link #evaluateAll(long, long[], int[])} goes straight to the
+ * other evaluator, since simulations rarely deal the same cards twice and would only churn the cache.</p>
+ */
+public class CachingHandEvaluator implements HandEvaluator {
+
+    private final HandEvaluator handEvaluator;
+    private final EvaluationCache evaluationCache;
+
+    /**
+     * @param handEvaluator The evaluator to cache the strengths of
+     * @param capacity      The most strengths to hold
+     */
+    public CachingHandEvaluator(HandEvaluator handEvaluator, int capacity) {
+        this.handEvaluator = handEvaluator;
+        this.evaluationCache = new EvaluationCache(capacity);
+    }
+
+    @Override
+    public int evaluate(long cardMask) {
+        if (cardMask == 0L) {
+            return handEvaluator.evaluate(cardMask);
+        }
+
+        int strength = evaluationCache.get(cardMask);
+        if (strength < 0) {
+            strength = handEvaluator.evaluate(cardMask);
+            evaluationCache.put(cardMask, strength);
+        }
+
+        return strength;
+    }
+
+    @Override
+    public void evaluateAll(long boardMask, long[] holeMasks, int[] strengths) {
+        handEvaluator.evaluateAll(boardMask, holeMasks, strengths);
+    }
+
+    /**
+     * @return The cache, e.g. to read its hit and miss counts
+     */
+    public EvaluationCache getEvaluationCache() {
+        return evaluationCache;
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.synacy.poker.hand.evaluator;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size cache of {@link HandStrength}s by card mask, shared by any number of threads without locks.
+ *
+ * <p>The cache is an open-addressing table of two <code>long</code>s per slot: the card mask, and a stamp in the
+ * high half of a word with the strength in the low half. A writer claims a slot by making its stamp odd with a
+ * compare-and-set, writes the card mask, then publishes the strength with the next even stamp; a writer that
+ * finds the slot claimed skips the put. A reader accepts a slot only if the stamp is even and unchanged after it
+ * read the card mask, so a slot that another thread is halfway through overwriting reads as a miss instead of a
+ * wrong strength, without allocating or following a pointer. A card mask is looked for in the few slots after
+ * its hash; when they are all taken, a clock over those slots evicts the first one that has
+ * not been hit since the hand last passed it.</p>
+ */
+public final class EvaluationCache {
+
+    private static final int PROBE_LENGTH = 4;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long STAMP_UNIT = 1L << 32;
+    private static final long STRENGTH_MASK = STAMP_UNIT - 1;
+
+    private final AtomicLongArray slots;
+    private final int capacity;
+    private final int indexShift;
+
+    /**
+     * Whether each slot has been hit since the clock last passed it. Races on these flags only make eviction a
+     * little less exact, so they are plain bytes.
+     */
+    private final byte[] referenced;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity The most strengths to hold, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public EvaluationCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("The capacity of the cache must be from 1 to 2^28.");
+        }
+
+        int slotCount = Math.max(PROBE_LENGTH, Integer.highestOneBit(capacity - 1) << 1);
+        this.capacity = slotCount;
+        this.indexShift = Long.SIZE - Integer.numberOfTrailingZeros(slotCount);
+        this.slots = new AtomicLongArray(slotCount * 2);
+        this.referenced = new byte[slotCount];
+    }
+
+    /**
+     * @param cardMask A non-empty card mask
+     * @return The cached strength of the cards, or -1 if it is not cached
+     */
+    public int get(long cardMask) {
+        int home = indexOf(cardMask);
+        for (int probe = 0; probe < PROBE_LENGTH; probe++) {
+            int slot = (home + probe) & (capacity - 1);
+            long word = slots.get(slot * 2 + 1);
+            if (word != 0 && (word & STAMP_UNIT) == 0 && slots.get(slot * 2) == cardMask
+                    && slots.get(slot * 2 + 1) == word) {
+                referenced[slot] = 1;
+                hits.increment();
+                return (int) word;
+            }
+        }
+
+        misses.increment();
+        return -1;
+    }
+
+    /**
+     * Caches the strength of the cards, evicting another strength if there is no room near the card mask's slot.
+     * Does nothing if another thread is writing the slot at the same time.
+     *
+     * @param cardMask A non-empty card mask
+     * @param strength The {@link HandStrength} of the cards
+     */
+    public void put(long cardMask, int strength) {
+        int slot = findSlot(cardMask);
+        long word = slots.get(slot * 2 + 1);
+        if ((word & STAMP_UNIT) != 0 || !slots.compareAndSet(slot * 2 + 1, word, word + STAMP_UNIT)) {
+            return;
+        }
+
+        slots.set(slot * 2, cardMask);
+        slots.set(slot * 2 + 1, ((word + 2 * STAMP_UNIT) & ~STRENGTH_MASK) | (strength & STRENGTH_MASK));
+        referenced[slot] = 0;
+    }
+
+    /**
+     * @return The number of slots
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of lookups that found their card mask
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that did not find their card mask
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The slot already holding the card mask, else an empty slot, else the slot the clock evicts
+     */
+    private int findSlot(long cardMask) {
+        int home = indexOf(cardMask);
+        for (int probe = 0; probe < PROBE_LENGTH; probe++) {
+            int slot = (home + probe) & (capacity - 1);
+            if (slots.get(slot * 2 + 1) == 0 || slots.get(slot * 2) == cardMask) {
+                return slot;
+            }
+        }
+
+        for (int probe = 0; probe < PROBE_LENGTH * 2; probe++) {
+            int slot = (home + probe % PROBE_LENGTH) & (capacity - 1);
+            if (referenced[slot] == 0) {
+                return slot;
+            }
+            referenced[slot] = 0;
+        }
+
+        return home;
+    }
+
+    private int indexOf(long cardMask) {
+        return (int) ((cardMask * GOLDEN_GAMMA) >>> indexShift);
+    }
+
+}
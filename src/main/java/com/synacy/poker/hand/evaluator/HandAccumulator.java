@@ -0,0 +1,200 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.hand.HandType;
+
+/**
+ * The evaluation of a growing set of cards, updated one card at a time as the streets are dealt.
+ *
+ * <p>Besides the card mask, an accumulator keeps the rank counts as four rank masks, the ranks held at least
+ * once, twice, three and four times, and the number of cards of each suit packed four bits per suit. Adding a
+ * card shifts one bit through the rank masks and bumps one suit count, and the strength is worked out from
+ * those without looking at the earlier cards again. A flush is only checked for once a suit holds five
+ * cards.</p>
+ *
+ * <p>Accumulators are immutable: {@link #plus(Card)} returns a new one, so the accumulator of an earlier street
+ * stays valid.</p>
+ *
+ * @see BitmaskHandEvaluator
+ */
+public final class HandAccumulator {
+
+    public static final HandAccumulator EMPTY = new HandAccumulator(0L, 0, 0, 0, 0, 0);
+
+    private static final int SUIT_COUNT_BITS = 4;
+    private static final int SUIT_COUNT_MASK = (1 << SUIT_COUNT_BITS) - 1;
+    private static final int FLUSH_CARDS = 5;
+
+    private final long cardMask;
+    private final int ranks;
+    private final int pairs;
+    private final int trips;
+    private final int quads;
+    private final int suitCounts;
+    private final int strength;
+
+    private HandAccumulator(long cardMask, int ranks, int pairs, int trips, int quads, int suitCounts) {
+        this.cardMask = cardMask;
+        this.ranks = ranks;
+        this.pairs = pairs;
+        this.trips = trips;
+        this.quads = quads;
+        this.suitCounts = suitCounts;
+        this.strength = evaluate(cardMask, ranks, pairs, trips, quads, suitCounts);
+    }
+
+    /**
+     * @param cardMask
+     * @return The accumulator of the cards in the mask
+     */
+    public static HandAccumulator of(long cardMask) {
+        return EMPTY.plusAll(cardMask);
+    }
+
+    /**
+     * @param card
+     * @return The accumulator of these cards and the card
+     * @throws IllegalArgumentException if the card is already held
+     */
+    public HandAccumulator plus(Card card) {
+        return plus(card.getCode());
+    }
+
+    /**
+     * @param cardCode The {@link Card#getCode()} of the card
+     * @return The accumulator of these cards and the card
+     * @throws IllegalArgumentException if the card is already held
+     */
+    public HandAccumulator plus(int cardCode) {
+        long cardBit = 1L << cardCode;
+        if ((cardMask & cardBit) != 0) {
+            throw new IllegalArgumentException(Card.fromCode(cardCode) + " is already held.");
+        }
+
+        int rankBit = 1 << (cardCode % BitmaskHandEvaluator.RANK_COUNT);
+        int suit = cardCode / BitmaskHandEvaluator.RANK_COUNT;
+
+        return new HandAccumulator(cardMask | cardBit,
+                ranks | rankBit,
+                pairs | (ranks & rankBit),
+                trips | (pairs & rankBit),
+                quads | (trips & rankBit),
+                suitCounts + (1 << (suit * SUIT_COUNT_BITS)));
+    }
+
+    /**
+     * @param cardMask Cards none of which are held yet
+     * @return The accumulator of these cards and the cards in the mask
+     * @throws IllegalArgumentException if a card is already held
+     */
+    public HandAccumulator plusAll(long cardMask) {
+        if ((this.cardMask & cardMask) != 0) {
+            throw new IllegalArgumentException("Some of the cards are already held.");
+        }
+
+        int nextRanks = ranks;
+        int nextPairs = pairs;
+        int nextTrips = trips;
+        int nextQuads = quads;
+        int nextSuitCounts = suitCounts;
+        for (long cards = cardMask; cards != 0; cards &= cards - 1) {
+            int cardCode = Long.numberOfTrailingZeros(cards);
+            int rankBit = 1 << (cardCode % BitmaskHandEvaluator.RANK_COUNT);
+            nextQuads |= nextTrips & rankBit;
+            nextTrips |= nextPairs & rankBit;
+            nextPairs |= nextRanks & rankBit;
+            nextRanks |= rankBit;
+            nextSuitCounts += 1 << (cardCode / BitmaskHandEvaluator.RANK_COUNT * SUIT_COUNT_BITS);
+        }
+
+        return new HandAccumulator(this.cardMask | cardMask, nextRanks, nextPairs, nextTrips, nextQuads,
+                nextSuitCounts);
+    }
+
+    /**
+     * Evaluates several players against these cards as the shared board. The board's rank and suit counts are
+     * only worked out once; each player adds just their own cards to them, and nothing is allocated.
+     *
+     * @param holeMasks Each player's hole cards, none of them on the board
+     * @param strengths Receives the {@link HandStrength} of each player, at least as long as the hole masks
+     */
+    public void evaluateAll(long[] holeMasks, int[] strengths) {
+        for (int player = 0; player < holeMasks.length; player++) {
+            long playerCardMask = cardMask;
+            int playerRanks = ranks;
+            int playerPairs = pairs;
+            int playerTrips = trips;
+            int playerQuads = quads;
+            int playerSuitCounts = suitCounts;
+            for (long cards = holeMasks[player]; cards != 0; cards &= cards - 1) {
+                int cardCode = Long.numberOfTrailingZeros(cards);
+                int rankBit = 1 << (cardCode % BitmaskHandEvaluator.RANK_COUNT);
+                playerCardMask |= 1L << cardCode;
+                playerQuads |= playerTrips & rankBit;
+                playerTrips |= playerPairs & rankBit;
+                playerPairs |= playerRanks & rankBit;
+                playerRanks |= rankBit;
+                playerSuitCounts += 1 << (cardCode / BitmaskHandEvaluator.RANK_COUNT * SUIT_COUNT_BITS);
+            }
+            strengths[player] = evaluate(playerCardMask, playerRanks, playerPairs, playerTrips, playerQuads,
+                    playerSuitCounts);
+        }
+    }
+
+    /**
+     * @return The card mask of the cards held
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    /**
+     * @return The number of cards held
+     */
+    public int getCardCount() {
+        return Long.bitCount(cardMask);
+    }
+
+    /**
+     * @param suit The {@link com.synacy.poker.card.CardSuit} ordinal
+     * @return The number of cards held in the suit
+     */
+    public int getSuitCount(int suit) {
+        return suitCount(suitCounts, suit);
+    }
+
+    /**
+     * @param rank The {@link com.synacy.poker.card.CardRank} ordinal
+     * @return The number of cards held of the rank
+     */
+    public int getRankCount(int rank) {
+        return ((ranks >>> rank) & 1) + ((pairs >>> rank) & 1) + ((trips >>> rank) & 1) + ((quads >>> rank) & 1);
+    }
+
+    /**
+     * @return The {@link HandStrength} of the best hand the cards make
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    private static int suitCount(int suitCounts, int suit) {
+        return (suitCounts >>> (suit * SUIT_COUNT_BITS)) & SUIT_COUNT_MASK;
+    }
+
+    private static int evaluate(long cardMask, int ranks, int pairs, int trips, int quads, int suitCounts) {
+        int flushStrength = 0;
+        for (int suit = 0; suit < BitmaskHandEvaluator.SUIT_COUNT; suit++) {
+            if (suitCount(suitCounts, suit) >= FLUSH_CARDS) {
+                flushStrength = Math.max(flushStrength,
+                        BitmaskHandEvaluator.evaluateFlush(BitmaskHandEvaluator.suitMask(cardMask, suit)));
+            }
+        }
+        if (HandStrength.getCategory(flushStrength) == HandType.STRAIGHT_FLUSH.ordinal()) {
+            return flushStrength;
+        }
+
+        return Math.max(flushStrength, BitmaskHandEvaluator.evaluateRanks(ranks, pairs, trips, quads));
+    }
+
+}
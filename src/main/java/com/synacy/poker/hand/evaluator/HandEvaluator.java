@@ -0,0 +1,52 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.util.PokerUtil;
+
+import java.util.List;
+
+/**
+ * A strategy that evaluates a set of cards, packed one bit per card, to a {@link HandStrength}.
+ *
+ * @see BitmaskHandEvaluator
+ * @see LookupTableHandEvaluator
+ */
+public interface HandEvaluator {
+
+    /**
+     * @param cardMask The cards to evaluate, bit <code>suit * 13 + rank</code> set for each card
+     * @return The {@link HandStrength} of the best hand the cards make
+     */
+    int evaluate(long cardMask);
+
+    /**
+     * Evaluates several players who share the same board, e.g. every seat at a showdown.
+     *
+     * @param boardMask The community cards
+     * @param holeMasks Each player's hole cards
+     * @param strengths Receives the {@link HandStrength} of each player, at least as long as the hole masks
+     */
+    default void evaluateAll(long boardMask, long[] holeMasks, int[] strengths) {
+        for (int player = 0; player < holeMasks.length; player++) {
+            strengths[player] = evaluate(boardMask | holeMasks[player]);
+        }
+    }
+
+    /**
+     * @param board     The community cards
+     * @param holeCards Each player's hole cards
+     * @return The {@link HandStrength} of each player
+     * @see #evaluateAll(long, long[], int[])
+     */
+    default int[] evaluateAll(List<Card> board, List<List<Card>> holeCards) {
+        long[] holeMasks = new long[holeCards.size()];
+        for (int player = 0; player < holeMasks.length; player++) {
+            holeMasks[player] = PokerUtil.getCardMask(holeCards.get(player));
+        }
+
+        int[] strengths = new int[holeMasks.length];
+        evaluateAll(PokerUtil.getCardMask(board), holeMasks, strengths);
+        return strengths;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.synacy.poker.hand.evaluator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Chooses the {@link HandEvaluator} through the <code>poker.evaluator.type</code> property, either
+ * <code>bitmask</code> (the default) or <code>lookup-table</code>.
+ */
+@Configuration
+public class HandEvaluatorConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "poker.evaluator.type", havingValue = "bitmask", matchIfMissing = true)
+    public HandEvaluator bitmaskHandEvaluator() {
+        return new BitmaskHandEvaluator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "poker.evaluator.type", havingValue = "lookup-table")
+    public HandEvaluator lookupTableHandEvaluator(@Value("${poker.evaluator.table-file}") String tableFile) {
+        return LookupTableHandEvaluator.load(Paths.get(tableFile));
+    }
+
+}
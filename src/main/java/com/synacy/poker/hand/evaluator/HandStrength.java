@@ -0,0 +1,70 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.hand.HandType;
+
+/**
+ * Packs a hand's category and tiebreak ranks into a single <code>int</code>.
+ *
+ * <p>The {@link HandType} ordinal takes the bits above {@link #CATEGORY_SHIFT}, followed by up to five
+ * 4-bit rank slots in order of significance. A slot holds the rank ordinal plus one, leaving zero for
+ * "no card", so a hand with fewer kickers always ranks below an otherwise equal hand with more. Two
+ * strengths compare the same way the hands they describe do.</p>
+ */
+public final class HandStrength {
+
+    public static final int CATEGORY_SHIFT = 20;
+
+    public static final int MAX_RANKS = 5;
+
+    private static final int RANK_BITS = 4;
+    private static final int RANK_SLOT_MASK = 0xF;
+
+    private static final HandType[] HAND_TYPES = HandType.values();
+
+    private HandStrength() {
+    }
+
+    /**
+     * @param handType
+     * @param rankSlots The packed rank slots, see {@link #rankSlot(int, int)}
+     * @return The strength of the hand
+     */
+    public static int of(HandType handType, int rankSlots) {
+        return (handType.ordinal() << CATEGORY_SHIFT) | rankSlots;
+    }
+
+    /**
+     * @param rank  The rank ordinal, 0 for Two up to 12 for Ace
+     * @param index The slot index, 0 being the most significant
+     * @return The rank placed into its slot, ready to be OR-ed with the other slots
+     */
+    public static int rankSlot(int rank, int index) {
+        return (rank + 1) << ((MAX_RANKS - 1 - index) * RANK_BITS);
+    }
+
+    /**
+     * @param strength
+     * @return The {@link HandType} of the strength
+     */
+    public static HandType getHandType(int strength) {
+        return HAND_TYPES[getCategory(strength)];
+    }
+
+    /**
+     * @param strength
+     * @return The {@link HandType} ordinal of the strength
+     */
+    public static int getCategory(int strength) {
+        return strength >>> CATEGORY_SHIFT;
+    }
+
+    /**
+     * @param strength
+     * @param index    The slot index, 0 being the most significant
+     * @return The rank ordinal in the slot, or -1 if the slot is empty
+     */
+    public static int getRank(int strength, int index) {
+        return ((strength >>> ((MAX_RANKS - 1 - index) * RANK_BITS)) & RANK_SLOT_MASK) - 1;
+    }
+
+}
@@ -0,0 +1,280 @@
+package com.synacy.poker.hand.evaluator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Answers evaluations of up to seven cards from a precomputed table.
+ *
+ * <p>The table has two parts. The flush part is indexed directly by a suit's 13-bit rank mask. The rank part
+ * is indexed by a perfect hash of the per-rank card counts, which ranks every multiset of at most seven ranks
+ * (no rank more than four times) densely, so a lookup costs thirteen small additions and no branches on the
+ * hand itself. With seven cards or fewer a flush can never be beaten by a hand the ranks alone make, so a
+ * single lookup in either part is the answer.</p>
+ *
+ * <p>The table is written once with {@link #writeTable(Path)} and opened through {@link FileChannel#map}, so
+ * it lives outside the heap and is shared by every JVM that maps the same file. Evaluations of more than
+ * seven cards fall back to the {@link BitmaskHandEvaluator}.</p>
+ */
+public class LookupTableHandEvaluator implements HandEvaluator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LookupTableHandEvaluator.class);
+
+    private static final int MAX_CARDS = 7;
+    private static final int MAX_RANK_COUNT = BitmaskHandEvaluator.SUIT_COUNT;
+    private static final int RANK_COUNT = BitmaskHandEvaluator.RANK_COUNT;
+
+    private static final int FILE_MAGIC = 0x504B5254;
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_INTS = 4;
+
+    private static final int FLUSH_TABLE_SIZE = 1 << RANK_COUNT;
+
+    /**
+     * <code>HASH_OFFSET[rank][remainingCards][count]</code> is the number of rank multisets that come before
+     * any multiset holding <code>count</code> cards of <code>rank</code> with <code>remainingCards</code> still
+     * to place from <code>rank</code> upwards.
+     */
+    private static final int[] HASH_OFFSET = new int[RANK_COUNT * (MAX_CARDS + 1) * (MAX_RANK_COUNT + 1)];
+
+    /**
+     * The index of the first rank multiset of each size.
+     */
+    private static final int[] SIZE_OFFSET = new int[MAX_CARDS + 2];
+
+    static {
+        int[][] multisetCounts = countRankMultisets();
+
+        for (int rank = 0; rank < RANK_COUNT; rank++) {
+            int ranksAbove = RANK_COUNT - 1 - rank;
+            for (int remainingCards = 0; remainingCards <= MAX_CARDS; remainingCards++) {
+                int offset = 0;
+                for (int count = 0; count <= MAX_RANK_COUNT; count++) {
+                    HASH_OFFSET[hashOffsetIndex(rank, remainingCards, count)] = offset;
+                    if (count <= remainingCards) {
+                        offset += multisetCounts[ranksAbove][remainingCards - count];
+                    }
+                }
+            }
+        }
+
+        for (int size = 0; size <= MAX_CARDS; size++) {
+            SIZE_OFFSET[size + 1] = SIZE_OFFSET[size] + multisetCounts[RANK_COUNT][size];
+        }
+    }
+
+    private static final int RANK_TABLE_SIZE = SIZE_OFFSET[MAX_CARDS + 1];
+
+    private final IntBuffer flushTable;
+    private final IntBuffer rankTable;
+
+    private final BitmaskHandEvaluator fallbackEvaluator = new BitmaskHandEvaluator();
+
+    private LookupTableHandEvaluator(IntBuffer table) {
+        this.flushTable = sliceOf(table, HEADER_INTS, FLUSH_TABLE_SIZE);
+        this.rankTable = sliceOf(table, HEADER_INTS + FLUSH_TABLE_SIZE, RANK_TABLE_SIZE);
+    }
+
+    /**
+     * Maps the table file into memory, or generates the table in memory if the file is missing. A missing
+     * file is written out so that the next JVM can map it.
+     *
+     * @param tableFile
+     * @return A {@link LookupTableHandEvaluator} backed by the table file when possible.
+     * @throws IllegalStateException if the table file exists but is not a valid table
+     */
+    public static LookupTableHandEvaluator load(Path tableFile) {
+        if (!Files.isRegularFile(tableFile)) {
+            try {
+                writeTable(tableFile);
+            } catch (IOException e) {
+                LOGGER.warn("Could not write the hand rank table to {}, using an in-memory table instead", tableFile, e);
+                return inMemory();
+            }
+        }
+
+        try {
+            return map(tableFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not map the hand rank table at {}, using an in-memory table instead", tableFile, e);
+            return inMemory();
+        }
+    }
+
+    /**
+     * @param tableFile
+     * @return A {@link LookupTableHandEvaluator} backed by the memory-mapped table file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalStateException if the file is not a valid table
+     */
+    public static LookupTableHandEvaluator map(Path tableFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(tableFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new LookupTableHandEvaluator(validate(buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer(), tableFile));
+        }
+    }
+
+    /**
+     * @return A {@link LookupTableHandEvaluator} backed by a freshly generated table on the heap
+     */
+    public static LookupTableHandEvaluator inMemory() {
+        return new LookupTableHandEvaluator(IntBuffer.wrap(generateTable()));
+    }
+
+    /**
+     * Generates the table and writes it to the file, replacing the file atomically.
+     *
+     * @param tableFile
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeTable(Path tableFile) throws IOException {
+        int[] table = generateTable();
+        ByteBuffer buffer = ByteBuffer.allocate(table.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(table);
+
+        Path absoluteFile = tableFile.toAbsolutePath();
+        Files.createDirectories(absoluteFile.getParent());
+        Path temporaryFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public int evaluate(long cardMask) {
+        int cardCount = Long.bitCount(cardMask);
+        if (cardCount > MAX_CARDS) {
+            return fallbackEvaluator.evaluate(cardMask);
+        }
+
+        int spades = BitmaskHandEvaluator.suitMask(cardMask, 0);
+        int clubs = BitmaskHandEvaluator.suitMask(cardMask, 1);
+        int diamonds = BitmaskHandEvaluator.suitMask(cardMask, 2);
+        int hearts = BitmaskHandEvaluator.suitMask(cardMask, 3);
+
+        int flushStrength = flushTable.get(spades) | flushTable.get(clubs)
+                | flushTable.get(diamonds) | flushTable.get(hearts);
+        if (flushStrength != 0) {
+            return flushStrength;
+        }
+
+        return rankTable.get(hash(spades, clubs, diamonds, hearts, cardCount));
+    }
+
+    private static int hash(int spades, int clubs, int diamonds, int hearts, int cardCount) {
+        int index = SIZE_OFFSET[cardCount];
+        int remainingCards = cardCount;
+        for (int rank = 0; remainingCards > 0; rank++) {
+            int count = ((spades >>> rank) & 1) + ((clubs >>> rank) & 1)
+                    + ((diamonds >>> rank) & 1) + ((hearts >>> rank) & 1);
+            index += HASH_OFFSET[hashOffsetIndex(rank, remainingCards, count)];
+            remainingCards -= count;
+        }
+
+        return index;
+    }
+
+    private static int hashOffsetIndex(int rank, int remainingCards, int count) {
+        return (rank * (MAX_CARDS + 1) + remainingCards) * (MAX_RANK_COUNT + 1) + count;
+    }
+
+    /**
+     * @return The header, the flush part and the rank part of the table, in file order.
+     */
+    static int[] generateTable() {
+        int[] table = new int[HEADER_INTS + FLUSH_TABLE_SIZE + RANK_TABLE_SIZE];
+        table[0] = FILE_MAGIC;
+        table[1] = FILE_VERSION;
+        table[2] = FLUSH_TABLE_SIZE;
+        table[3] = RANK_TABLE_SIZE;
+
+        for (int suitRanks = 0; suitRanks < FLUSH_TABLE_SIZE; suitRanks++) {
+            table[HEADER_INTS + suitRanks] = BitmaskHandEvaluator.evaluateFlush(suitRanks);
+        }
+
+        generateRankTable(table, HEADER_INTS + FLUSH_TABLE_SIZE, new int[BitmaskHandEvaluator.SUIT_COUNT], 0, 0);
+
+        return table;
+    }
+
+    /**
+     * Visits every multiset of at most seven ranks, placing the cards of each rank into the suit masks so that
+     * the masks can be hashed and evaluated exactly like a dealt hand. Flushes are ignored here; the flush part
+     * of the table covers them.
+     */
+    private static void generateRankTable(int[] table, int offset, int[] suitMasks, int rank, int cardCount) {
+        if (rank == RANK_COUNT) {
+            int spades = suitMasks[0];
+            int clubs = suitMasks[1];
+            int diamonds = suitMasks[2];
+            int hearts = suitMasks[3];
+            table[offset + hash(spades, clubs, diamonds, hearts, cardCount)] = BitmaskHandEvaluator.evaluateRanks(
+                    spades | clubs | diamonds | hearts,
+                    clubs,
+                    diamonds,
+                    hearts);
+            return;
+        }
+
+        for (int count = 0; count <= MAX_RANK_COUNT && cardCount + count <= MAX_CARDS; count++) {
+            for (int suit = 0; suit < count; suit++) {
+                suitMasks[suit] |= 1 << rank;
+            }
+            generateRankTable(table, offset, suitMasks, rank + 1, cardCount + count);
+            for (int suit = 0; suit < count; suit++) {
+                suitMasks[suit] &= ~(1 << rank);
+            }
+        }
+    }
+
+    /**
+     * @return <code>multisetCounts[ranks][cards]</code>, the number of ways to hold exactly <code>cards</code>
+     * cards spread over <code>ranks</code> ranks, no rank more than four times.
+     */
+    private static int[][] countRankMultisets() {
+        int[][] multisetCounts = new int[RANK_COUNT + 1][MAX_CARDS + 1];
+        multisetCounts[0][0] = 1;
+        for (int ranks = 1; ranks <= RANK_COUNT; ranks++) {
+            for (int cards = 0; cards <= MAX_CARDS; cards++) {
+                for (int count = 0; count <= MAX_RANK_COUNT && count <= cards; count++) {
+                    multisetCounts[ranks][cards] += multisetCounts[ranks - 1][cards - count];
+                }
+            }
+        }
+
+        return multisetCounts;
+    }
+
+    private static IntBuffer validate(IntBuffer table, Path tableFile) {
+        if (table.limit() != HEADER_INTS + FLUSH_TABLE_SIZE + RANK_TABLE_SIZE
+                || table.get(0) != FILE_MAGIC
+                || table.get(1) != FILE_VERSION
+                || table.get(2) != FLUSH_TABLE_SIZE
+                || table.get(3) != RANK_TABLE_SIZE) {
+            throw new IllegalStateException(tableFile + " is not a hand rank table.");
+        }
+
+        return table;
+    }
+
+    private static IntBuffer sliceOf(IntBuffer table, int offset, int length) {
+        IntBuffer duplicate = table.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + length);
+        return duplicate.slice();
+    }
+
+}
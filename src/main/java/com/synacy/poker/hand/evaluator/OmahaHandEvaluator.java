@@ -0,0 +1,432 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.util.PokerBits;
+
+/**
+ * Evaluates Omaha hands, where a player's hand is made of exactly two of their hole cards and exactly three of the
+ * community cards.
+ *
+ * <p>Four hole cards and five community cards give 6 pairs of hole cards and 10 triples of community cards, i.e.
+ * 60 hands of five cards. Instead of evaluating each of them afresh, the rank masks and the suit of every triple
+ * are worked out once per board and shared by every seat, and those of every pair once per seat. On top of
+ * that:</p>
+ * <ul>
+ * <li>Flushes are only looked for where a suited pair meets a triple of the same suit.</li>
+ * <li>Without a pair on the board no hand of five makes a Full House or Four of a Kind, so once a flush is found
+ * on such a board the hands without a flush are not looked at at all.</li>
+ * <li>Each pair is bounded by the {@link HandType} it makes with the whole board, the best any of its triples
+ * can do. Pairs are tried from the highest bound down and skipped once their bound falls below the best type
+ * found.</li>
+ * <li>The {@link HandType} of every other hand is told from the pair's and the triple's rank masks with a few
+ * operations and a table lookup, and only hands at least as good as the best type found have their kickers
+ * ranked.</li>
+ * </ul>
+ *
+ * <p>Before the flop, the hand is made of as many cards as there are: two hole cards, and the community cards if
+ * there are fewer than three.</p>
+ */
+public final class OmahaHandEvaluator {
+
+    public static final int HOLE_CARDS = 4;
+
+    public static final int HOLE_CARDS_USED = 2;
+
+    public static final int BOARD_CARDS_USED = 3;
+
+    private static final int INDEX_BITS = 8;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    /**
+     * The {@link HandType} ordinal of a hand of five without a flush, by {@link #categoryIndex}
+     */
+    private static final byte[] CATEGORIES = new byte[(HandStrength.MAX_RANKS + 1) << 3];
+
+    static {
+        for (int index = 0; index < CATEGORIES.length; index++) {
+            int distinctRanks = index >>> 3;
+            boolean trips = (index & 4) != 0;
+            boolean quads = (index & 2) != 0;
+            boolean straight = (index & 1) != 0;
+
+            HandType handType;
+            if (distinctRanks == 5) {
+                handType = straight ? HandType.STRAIGHT : HandType.HIGH_CARD;
+            } else if (distinctRanks == 4) {
+                handType = HandType.ONE_PAIR;
+            } else if (distinctRanks == 3) {
+                handType = trips ? HandType.THREE_OF_A_KIND : HandType.TWO_PAIR;
+            } else {
+                handType = quads ? HandType.FOUR_OF_A_KIND : HandType.FULL_HOUSE;
+            }
+            CATEGORIES[index] = (byte) handType.ordinal();
+        }
+    }
+
+    /**
+     * @param holeMask  The player's hole cards, bit <code>suit * 13 + rank</code> set for each card
+     * @param boardMask The community cards
+     * @return The {@link HandStrength} of the player's best hand of two hole cards and three community cards
+     */
+    public int evaluate(long holeMask, long boardMask) {
+        Subsets pairs = new Subsets(holeMask, HOLE_CARDS_USED);
+        Subsets triples = new Subsets(boardMask, BOARD_CARDS_USED);
+
+        return strengthOf(search(pairs, triples));
+    }
+
+    /**
+     * Evaluates several players who share the same board. The board's triples are worked out once, and the
+     * players' pairs are worked out in the same arrays one player after the other.
+     *
+     * @param boardMask The community cards
+     * @param holeMasks Each player's hole cards
+     * @param strengths Receives the {@link HandStrength} of each player, at least as long as the hole masks
+     */
+    public void evaluateAll(long boardMask, long[] holeMasks, int[] strengths) {
+        evaluateAll(boardMask, holeMasks, strengths, null);
+    }
+
+    /**
+     * @param boardMask The community cards
+     * @param holeMasks Each player's hole cards
+     * @param strengths Receives the {@link HandStrength} of each player, at least as long as the hole masks
+     * @param bestHands Receives the cards of each player's best hand, see {@link #bestHand(long, long)}, or null
+     * @see #evaluateAll(long, long[], int[])
+     */
+    public void evaluateAll(long boardMask, long[] holeMasks, int[] strengths, long[] bestHands) {
+        Subsets triples = new Subsets(boardMask, BOARD_CARDS_USED);
+        Subsets pairs = null;
+        for (int player = 0; player < holeMasks.length; player++) {
+            if (pairs == null || !pairs.fits(holeMasks[player])) {
+                pairs = new Subsets(holeMasks[player], HOLE_CARDS_USED);
+            } else {
+                pairs.fill(holeMasks[player]);
+            }
+            long found = search(pairs, triples);
+            strengths[player] = strengthOf(found);
+            if (bestHands != null) {
+                bestHands[player] = cardsOf(found, pairs, triples);
+            }
+        }
+    }
+
+    /**
+     * @param holeMask  The player's hole cards
+     * @param boardMask The community cards
+     * @return The cards of the player's best hand: two hole cards and three community cards, or as many as there
+     * are. Of hands that tie, the first one found.
+     */
+    public long bestHand(long holeMask, long boardMask) {
+        Subsets pairs = new Subsets(holeMask, HOLE_CARDS_USED);
+        Subsets triples = new Subsets(boardMask, BOARD_CARDS_USED);
+
+        return cardsOf(search(pairs, triples), pairs, triples);
+    }
+
+    /**
+     * Looks for flushes among the suited pairs and triples first. Then, unless a flush already beats every hand
+     * the board allows without one, goes through the pairs from the best bound down, works out just the
+     * {@link HandType} of each of their hands, and only ranks the kickers of the hands that can still win.
+     *
+     * @return The strength of the best hand, shifted above the index of its pair and the index of its triple
+     */
+    private static long search(Subsets pairs, Subsets triples) {
+        int bestStrength = -1;
+        int bestPair = 0;
+        int bestTriple = 0;
+
+        if (pairs.size + triples.size < HandStrength.MAX_RANKS) {
+            for (int pair = 0; pair < pairs.count; pair++) {
+                for (int triple = 0; triple < triples.count; triple++) {
+                    int strength = evaluateRanks(pairs, pair, triples, triple);
+                    if (strength > bestStrength) {
+                        bestStrength = strength;
+                        bestPair = pair;
+                        bestTriple = triple;
+                    }
+                }
+            }
+
+            return pack(bestStrength, bestPair, bestTriple);
+        }
+
+        for (int pair = 0; pair < pairs.count; pair++) {
+            int suit = pairs.suits[pair];
+            if (suit < 0) {
+                continue;
+            }
+            for (int triple = 0; triple < triples.count; triple++) {
+                if (triples.suits[triple] == suit) {
+                    int strength = BitmaskHandEvaluator.evaluateFlush(pairs.ranks[pair] | triples.ranks[triple]);
+                    if (strength > bestStrength) {
+                        bestStrength = strength;
+                        bestPair = pair;
+                        bestTriple = triple;
+                    }
+                }
+            }
+        }
+
+        int bestCategory = bestStrength < 0 ? -1 : HandStrength.getCategory(bestStrength);
+        if (bestCategory > triples.highestRankCategory) {
+            return pack(bestStrength, bestPair, bestTriple);
+        }
+
+        int[] order = pairs.orderByBound(triples);
+        for (int i = 0; i < pairs.count; i++) {
+            int pair = order[i] & INDEX_MASK;
+            if (order[i] >>> INDEX_BITS < bestCategory) {
+                break;
+            }
+            for (int triple = 0; triple < triples.count; triple++) {
+                int category = CATEGORIES[categoryIndex(pairs, pair, triples, triple)];
+                if (category >= bestCategory) {
+                    bestCategory = category;
+                    int strength = evaluateRanks(pairs, pair, triples, triple);
+                    if (strength > bestStrength) {
+                        bestStrength = strength;
+                        bestPair = pair;
+                        bestTriple = triple;
+                    }
+                }
+            }
+        }
+
+        return pack(bestStrength, bestPair, bestTriple);
+    }
+
+    /**
+     * Tells the {@link HandType} of a pair and a triple without a flush from their rank masks alone. Five cards of
+     * as many ranks make a Straight or nothing, four ranks One Pair, three ranks Two Pair or Three of a Kind, and
+     * two ranks a Full House or Four of a Kind, depending on whether a rank is held three or four times.
+     *
+     * @return The index of the type in {@link #CATEGORIES}
+     */
+    private static int categoryIndex(Subsets pairs, int pair, Subsets triples, int triple) {
+        int pairRanks = pairs.ranks[pair];
+        int pocketPair = pairs.doubles[pair];
+        int tripleRanks = triples.ranks[triple];
+        int tripleDoubles = triples.doubles[triple];
+        int tripleTrips = triples.trips[triple];
+
+        int ranks = pairRanks | tripleRanks;
+        int trips = tripleTrips | (tripleDoubles & pairRanks) | (pocketPair & tripleRanks);
+        int quads = (tripleTrips & pairRanks) | (pocketPair & tripleDoubles);
+        int straight = ~PokerBits.straightHighRank(ranks) >>> 31;
+
+        return Integer.bitCount(ranks) << 3 | nonZero(trips) << 2 | nonZero(quads) << 1 | straight;
+    }
+
+    /**
+     * Adds the pair's rank counts to the triple's, as {@link HandAccumulator} does one card at a time, and
+     * evaluates the hand without a flush.
+     */
+    private static int evaluateRanks(Subsets pairs, int pair, Subsets triples, int triple) {
+        int pairRanks = pairs.ranks[pair];
+        int pocketPair = pairs.doubles[pair];
+        int tripleRanks = triples.ranks[triple];
+        int tripleDoubles = triples.doubles[triple];
+        int tripleTrips = triples.trips[triple];
+
+        return BitmaskHandEvaluator.evaluateRanks(pairRanks | tripleRanks,
+                tripleDoubles | (tripleRanks & pairRanks) | pocketPair,
+                tripleTrips | (tripleDoubles & pairRanks) | (pocketPair & tripleRanks),
+                (tripleTrips & pairRanks) | (pocketPair & tripleDoubles));
+    }
+
+    /**
+     * @param ranks A rank mask
+     * @return 1 if any rank is set, else 0
+     */
+    private static int nonZero(int ranks) {
+        return (ranks | -ranks) >>> 31;
+    }
+
+    private static long pack(int strength, int pair, int triple) {
+        return (long) strength << (2 * INDEX_BITS) | pair << INDEX_BITS | triple;
+    }
+
+    private static int strengthOf(long found) {
+        return (int) (found >>> (2 * INDEX_BITS));
+    }
+
+    private static long cardsOf(long found, Subsets pairs, Subsets triples) {
+        return pairs.cardMasks[(int) (found >>> INDEX_BITS) & INDEX_MASK] | triples.cardMasks[(int) found & INDEX_MASK];
+    }
+
+    /**
+     * Every choice of up to three cards out of a set, e.g. the 10 triples of a board of five, with the ranks held
+     * at least once, twice and three times and the suit of each. The subsets are built with nested loops over the
+     * cards, so that a triple extends the pair of its first two cards.
+     */
+    private static final class Subsets {
+
+        private final int maxSize;
+        private final long[] cardBits;
+        private final int[] cardRanks;
+        private final int[] cardSuits;
+        private final long[] cardMasks;
+
+        /**
+         * The ranks held at least once, which for cards of a single suit are the ranks of the flush
+         */
+        private final int[] ranks;
+        private final int[] doubles;
+        private final int[] trips;
+
+        /**
+         * The {@link com.synacy.poker.card.CardSuit} ordinal if every card is of the same suit, else -1
+         */
+        private final int[] suits;
+
+        /**
+         * Scratch space for {@link #orderByBound(Subsets)}
+         */
+        private final int[] order;
+
+        private int size;
+        private int count;
+
+        /**
+         * The highest {@link HandType} ordinal a hand of five can make out of one of the subsets without a flush
+         */
+        private int highestRankCategory;
+
+        /**
+         * The ranks held at least once, twice, three and four times among all the cards
+         */
+        private int allRanks;
+        private int allDoubles;
+        private int allTrips;
+        private int allQuads;
+
+        /**
+         * @param cardMask The cards to choose from
+         * @param maxSize  The number of cards to choose, at most three, or fewer if there are not as many cards
+         */
+        Subsets(long cardMask, int maxSize) {
+            int cardCount = Long.bitCount(cardMask);
+            int capacity = 1;
+            for (int i = 0; i < Math.min(maxSize, cardCount); i++) {
+                capacity = capacity * (cardCount - i) / (i + 1);
+            }
+
+            this.maxSize = maxSize;
+            this.cardBits = new long[cardCount];
+            this.cardRanks = new int[cardCount];
+            this.cardSuits = new int[cardCount];
+            this.cardMasks = new long[capacity];
+            this.ranks = new int[capacity];
+            this.doubles = new int[capacity];
+            this.trips = new int[capacity];
+            this.suits = new int[capacity];
+            this.order = new int[capacity];
+            fill(cardMask);
+        }
+
+        /**
+         * @return true if the subsets of the cards fit in these arrays, see {@link #fill(long)}
+         */
+        boolean fits(long cardMask) {
+            return Long.bitCount(cardMask) == cardBits.length;
+        }
+
+        /**
+         * Replaces the subsets with those of other cards, as many cards as before.
+         */
+        void fill(long cardMask) {
+            int cardCount = cardBits.length;
+            long remaining = cardMask;
+            allRanks = 0;
+            allDoubles = 0;
+            allTrips = 0;
+            allQuads = 0;
+            for (int card = 0; card < cardCount; card++, remaining &= remaining - 1) {
+                int cardCode = Long.numberOfTrailingZeros(remaining);
+                int rank = 1 << (cardCode % PokerBits.RANK_COUNT);
+                cardBits[card] = 1L << cardCode;
+                cardRanks[card] = rank;
+                cardSuits[card] = cardCode / PokerBits.RANK_COUNT;
+                allQuads |= allTrips & rank;
+                allTrips |= allDoubles & rank;
+                allDoubles |= allRanks & rank;
+                allRanks |= rank;
+            }
+
+            size = Math.min(maxSize, cardCount);
+            count = 0;
+            if (size == 0) {
+                add(0L, 0, 0, 0, -1);
+            }
+            for (int first = 0; first < cardCount && size >= 1; first++) {
+                if (size == 1) {
+                    add(cardBits[first], cardRanks[first], 0, 0, cardSuits[first]);
+                    continue;
+                }
+                for (int second = first + 1; second < cardCount; second++) {
+                    long pairCards = cardBits[first] | cardBits[second];
+                    int pairRanks = cardRanks[first] | cardRanks[second];
+                    int pairDoubles = cardRanks[first] & cardRanks[second];
+                    int pairSuit = cardSuits[first] == cardSuits[second] ? cardSuits[first] : -1;
+                    if (size == 2) {
+                        add(pairCards, pairRanks, pairDoubles, 0, pairSuit);
+                        continue;
+                    }
+                    for (int third = second + 1; third < cardCount; third++) {
+                        int rank = cardRanks[third];
+                        add(pairCards | cardBits[third], pairRanks | rank, pairDoubles | (pairRanks & rank),
+                                pairDoubles & rank, pairSuit == cardSuits[third] ? pairSuit : -1);
+                    }
+                }
+            }
+
+            boolean paired = false;
+            for (int subset = 0; subset < count; subset++) {
+                paired |= doubles[subset] != 0;
+            }
+            highestRankCategory = size == BOARD_CARDS_USED && !paired
+                    ? HandType.STRAIGHT.ordinal() : HandType.FOUR_OF_A_KIND.ordinal();
+        }
+
+        /**
+         * Bounds each subset by the {@link HandType} it makes, without a flush, with all the other cards, which
+         * no hand of five with fewer of the other cards can beat.
+         *
+         * @param others The subsets of the other cards, e.g. the board's triples for a player's pairs
+         * @return The bound of each subset shifted above its index, highest bound first
+         */
+        int[] orderByBound(Subsets others) {
+            for (int subset = 0; subset < count; subset++) {
+                int subsetRanks = ranks[subset];
+                int subsetDoubles = doubles[subset];
+                int subsetTrips = trips[subset];
+                int strength = BitmaskHandEvaluator.evaluateRanks(subsetRanks | others.allRanks,
+                        others.allDoubles | (others.allRanks & subsetRanks) | subsetDoubles,
+                        others.allTrips | (others.allDoubles & subsetRanks) | (subsetDoubles & others.allRanks)
+                                | subsetTrips,
+                        others.allQuads | (others.allTrips & subsetRanks) | (subsetDoubles & others.allDoubles)
+                                | (subsetTrips & others.allRanks));
+                int entry = HandStrength.getCategory(strength) << INDEX_BITS | subset;
+
+                int i = subset;
+                for (; i > 0 && order[i - 1] < entry; i--) {
+                    order[i] = order[i - 1];
+                }
+                order[i] = entry;
+            }
+
+            return order;
+        }
+
+        private void add(long subsetCards, int subsetRanks, int subsetDoubles, int subsetTrips, int suit) {
+            cardMasks[count] = subsetCards;
+            ranks[count] = subsetRanks;
+            doubles[count] = subsetDoubles;
+            trips[count] = subsetTrips;
+            suits[count] = suit;
+            count++;
+        }
+    }
+
+}
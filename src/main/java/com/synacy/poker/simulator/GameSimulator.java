@@ -0,0 +1,116 @@
+package com.synacy.poker.simulator;
+
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.equity.PreflopEquityService;
+import com.synacy.poker.game.Game;
+import com.synacy.poker.game.GameVariant;
+import com.synacy.poker.game.Player;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.WinningHandCalculator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Plays games to the end without a web page in between, to soak-test the engine and to gather statistics.
+ *
+ * <p>Each worker thread drives its own {@link Game}, so workers share only the stateless services the games are
+ * built with. Every game is shuffled with a seed drawn from the worker's {@link SplittableRandom}, which is split
+ * from the run's seed, so a run with the same seed and thread count plays the same games.</p>
+ */
+@Component
+public class GameSimulator {
+
+    private final DeckBuilder deckBuilder;
+    private final HandIdentifier handIdentifier;
+    private final WinningHandCalculator winningHandCalculator;
+    private final PreflopEquityService preflopEquityService;
+
+    public GameSimulator(DeckBuilder deckBuilder,
+                         HandIdentifier handIdentifier,
+                         WinningHandCalculator winningHandCalculator,
+                         PreflopEquityService preflopEquityService) {
+        this.deckBuilder = deckBuilder;
+        this.handIdentifier = handIdentifier;
+        this.winningHandCalculator = winningHandCalculator;
+        this.preflopEquityService = preflopEquityService;
+    }
+
+    /**
+     * @param games     The number of games to play
+     * @param seatCount The number of players at each table, from 2 to 10
+     * @param threads   The number of worker threads
+     * @param seed      The seed of the run
+     * @return The {@link SimulationResult} of the games
+     * @throws IllegalArgumentException if the number of games or threads is not positive, or the number of
+     *                                  players is out of range
+     * @throws IllegalStateException    if a worker fails or the run is interrupted
+     */
+    public SimulationResult simulate(long games, int seatCount, int threads, long seed) {
+        if (games <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("The number of games and threads must be positive.");
+        }
+
+        List<String> playerNames = getPlayerNames(seatCount);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long startNanos = System.nanoTime();
+        try {
+            List<Future<SimulationTally>> workers = new ArrayList<>(threads);
+            for (int worker = 0; worker < threads; worker++) {
+                long workerGames = games / threads + (worker < games % threads ? 1 : 0);
+                SplittableRandom workerRandom = random.split();
+                workers.add(executor.submit(() -> play(workerGames, seatCount, workerRandom)));
+            }
+
+            SimulationTally tally = workers.get(0).get();
+            for (int worker = 1; worker < threads; worker++) {
+                tally.merge(workers.get(worker).get());
+            }
+
+            return tally.toResult(playerNames, System.nanoTime() - startNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The simulation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A simulation worker failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SimulationTally play(long games, int seatCount, SplittableRandom random) {
+        Game game = newGame(seatCount);
+        SimulationTally tally = new SimulationTally(game.getPlayers().size());
+
+        for (long played = 0; played < games; played++) {
+            game.startNewGame(random.nextLong());
+            while (!game.hasEnded()) {
+                game.nextAction();
+            }
+            tally.recordGame(game);
+        }
+
+        return tally;
+    }
+
+    private List<String> getPlayerNames(int seatCount) {
+        return newGame(seatCount).getPlayers().stream()
+                .map(Player::getName)
+                .collect(Collectors.toList());
+    }
+
+    private Game newGame(int seatCount) {
+        return new Game(deckBuilder, handIdentifier, winningHandCalculator, seatCount, preflopEquityService,
+                GameVariant.TEXAS_HOLDEM);
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.synacy.poker.simulator;
+
+import com.synacy.poker.hand.HandType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statistics of a simulation run: how often each {@link HandType} was the final hand of a player, and how
+ * often each seat won the pot alone or split it.
+ */
+public class SimulationResult {
+
+    private final List<String> playerNames;
+    private final long[] handTypeCounts;
+    private final long[] wins;
+    private final long[] ties;
+    private final long splitPots;
+    private final long games;
+    private final long elapsedNanos;
+
+    SimulationResult(List<String> playerNames, long[] handTypeCounts, long[] wins, long[] ties, long splitPots,
+                     long games, long elapsedNanos) {
+        this.playerNames = playerNames;
+        this.handTypeCounts = handTypeCounts;
+        this.wins = wins;
+        this.ties = ties;
+        this.splitPots = splitPots;
+        this.games = games;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return The number of games played
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return The number of games played per second of wall-clock time
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : games * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * @param handType
+     * @return The number of final player hands of the type
+     */
+    public long getHandTypeCount(HandType handType) {
+        return handTypeCounts[handType.ordinal()];
+    }
+
+    /**
+     * @param handType
+     * @return The share of final player hands of the type
+     */
+    public double getHandTypeFrequency(HandType handType) {
+        return (double) getHandTypeCount(handType) / (games * playerNames.size());
+    }
+
+    /**
+     * @return The names of the players, by seat
+     */
+    public List<String> getPlayerNames() {
+        return playerNames;
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The number of games the player won alone
+     */
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * @param seat The index of the player
+     * @return The number of games the player split the pot in
+     */
+    public long getTies(int seat) {
+        return ties[seat];
+    }
+
+    /**
+     * @return The number of games with more than one winner
+     */
+    public long getSplitPots() {
+        return splitPots;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d games in %.2f s, %.0f games/s%n", games,
+                elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1), getGamesPerSecond()));
+
+        sb.append(String.format("Hand categories:%n"));
+        for (HandType handType : HandType.values()) {
+            if (handType == HandType.ROYAL_FLUSH) {
+                // A Royal Flush has the STRAIGHT_FLUSH hand type and is counted there
+                continue;
+            }
+            sb.append(String.format("  %-16s %12d  %8.4f%%%n", handType.name(), getHandTypeCount(handType),
+                    100.0 * getHandTypeFrequency(handType)));
+        }
+
+        sb.append(String.format("Winners:%n"));
+        for (int seat = 0; seat < playerNames.size(); seat++) {
+            sb.append(String.format("  %-16s won %8.4f%%, split %8.4f%%%n", playerNames.get(seat),
+                    100.0 * wins[seat] / games, 100.0 * ties[seat] / games));
+        }
+        sb.append(String.format("  Split pots %14.4f%%", 100.0 * splitPots / games));
+
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.synacy.poker.simulator;
+
+import com.synacy.poker.game.Game;
+import com.synacy.poker.game.Showdown;
+import com.synacy.poker.hand.HandType;
+
+import java.util.List;
+
+/**
+ * Running hand and winner counts over a number of finished games. A tally belongs to a single worker; tallies of
+ * different workers are combined with {@link #merge(SimulationTally)} once the work is done.
+ */
+final class SimulationTally {
+
+    private static final int HAND_TYPE_COUNT = HandType.values().length;
+
+    private final long[] handTypeCounts = new long[HAND_TYPE_COUNT];
+    private final long[] wins;
+    private final long[] ties;
+    private long splitPots;
+    private long games;
+
+    SimulationTally(int playerCount) {
+        this.wins = new long[playerCount];
+        this.ties = new long[playerCount];
+    }
+
+    /**
+     * Records the {@link Showdown} of a game that has ended.
+     *
+     * @param game
+     */
+    void recordGame(Game game) {
+        Showdown showdown = game.getShowdown();
+        for (int seat = 0; seat < showdown.getPlayerCount(); seat++) {
+            handTypeCounts[showdown.getHandType(seat).ordinal()]++;
+            if (showdown.isTied(seat)) {
+                ties[seat]++;
+            } else if (showdown.isWinner(seat)) {
+                wins[seat]++;
+            }
+        }
+        if (showdown.getWinnerCount() > 1) {
+            splitPots++;
+        }
+        games++;
+    }
+
+    /**
+     * @param other
+     * @return This tally, with the other tally's counts added to it
+     */
+    SimulationTally merge(SimulationTally other) {
+        for (int handType = 0; handType < HAND_TYPE_COUNT; handType++) {
+            handTypeCounts[handType] += other.handTypeCounts[handType];
+        }
+        for (int player = 0; player < wins.length; player++) {
+            wins[player] += other.wins[player];
+            ties[player] += other.ties[player];
+        }
+        splitPots += other.splitPots;
+        games += other.games;
+
+        return this;
+    }
+
+    /**
+     * @param playerNames  The names of the players, by seat
+     * @param elapsedNanos The wall-clock time the games took
+     * @return The {@link SimulationResult} of the tally
+     */
+    SimulationResult toResult(List<String> playerNames, long elapsedNanos) {
+        return new SimulationResult(playerNames, handTypeCounts.clone(), wins.clone(), ties.clone(), splitPots,
+                games, elapsedNanos);
+    }
+
+}
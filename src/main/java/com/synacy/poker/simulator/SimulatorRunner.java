@@ -0,0 +1,51 @@
+package com.synacy.poker.simulator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs the {@link GameSimulator} once the application starts with the <code>simulator</code> profile, which
+ * also turns the web server off. The run is configured through the <code>poker.simulator.*</code> properties.
+ */
+@Component
+@Profile("simulator")
+public class SimulatorRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimulatorRunner.class);
+
+    private final GameSimulator gameSimulator;
+    private final long games;
+    private final int seatCount;
+    private final int threads;
+    private final Long seed;
+
+    public SimulatorRunner(GameSimulator gameSimulator,
+                           @Value("${poker.simulator.games}") long games,
+                           @Value("${poker.simulator.seats:3}") int seatCount,
+                           @Value("${poker.simulator.threads}") int threads,
+                           @Value("${poker.simulator.seed:#{null}}") Long seed) {
+        this.gameSimulator = gameSimulator;
+        this.games = games;
+        this.seatCount = seatCount;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long runSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        LOGGER.info("Simulating {} games of {} players on {} threads with seed {}",
+                games, seatCount, threads, runSeed);
+
+        SimulationResult result = gameSimulator.simulate(games, seatCount, threads, runSeed);
+        LOGGER.info("Simulation finished{}{}", System.lineSeparator(), result);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.synacy.poker.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A cache that holds at most a fixed number of entries, evicting the least recently used one to make room.
+ *
+ * <p>The cache is meant for results that are expensive to work out, so a value is computed outside of the
+ * cache's lock: a slow computation never holds up readers of other keys. Two threads that miss on the same key
+ * at once may both compute it, and the later one wins.</p>
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public final class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final LruMap<K, V> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize The most entries to hold
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The size of a cache must be positive.");
+        }
+
+        this.maxSize = maxSize;
+        this.entries = new LruMap<>(maxSize);
+    }
+
+    /**
+     * @param key
+     * @param compute Works out the value of a key that is not cached, must not return null
+     * @return The cached value of the key, computed and cached first if it is not there yet
+     */
+    public V get(K key, Function<? super K, ? extends V> compute) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = compute.apply(key);
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * @return The number of entries cached
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return The most entries the cache holds
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The number of lookups that found their key cached
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that had to compute their value
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * A map in access order that drops its least recently used entry once it holds more than its size.
+     */
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+
+    }
+
+}
@@ -0,0 +1,276 @@
+package com.synacy.poker.util;
+
+import com.synacy.poker.card.Card;
+
+import java.util.List;
+
+/**
+ * Primitive counterparts of the {@link PokerUtil} helpers, working on card masks instead of card lists.
+ *
+ * <p>A card mask holds bit <code>suit * 13 + rank</code> for each card, where suit and rank are the
+ * {@link com.synacy.poker.card.CardSuit} and {@link com.synacy.poker.card.CardRank} ordinals. Ranks are grouped
+ * into 13-bit rank masks, counts go into caller-supplied <code>int[13]</code> and <code>int[4]</code> arrays, and
+ * straights and the top ranks of a mask are read from tables worked out once. Nothing here allocates; the
+ * methods that pick cards add the shared {@link Card#fromCode(int)} instances to a list the caller owns.</p>
+ */
+public final class PokerBits {
+
+    public static final int RANK_COUNT = 13;
+
+    public static final int SUIT_COUNT = 4;
+
+    public static final int RANK_MASK = (1 << RANK_COUNT) - 1;
+
+    public static final int STRAIGHT_LENGTH = 5;
+
+    /**
+     * The 5-rank mask of A-2-3-4-5, the only straight where the Ace plays low.
+     */
+    private static final int WHEEL = 0b1_0000_0000_1111;
+
+    private static final int ACE = RANK_COUNT - 1;
+
+    private static final int FIVE = 3;
+
+    private static final byte[] STRAIGHT_HIGH_RANK = new byte[1 << RANK_COUNT];
+
+    /**
+     * <code>TOP_RANKS[count][ranks]</code> is the mask of the <code>count</code> highest ranks in <code>ranks</code>.
+     */
+    private static final short[][] TOP_RANKS = new short[STRAIGHT_LENGTH + 1][1 << RANK_COUNT];
+
+    static {
+        for (int ranks = 0; ranks <= RANK_MASK; ranks++) {
+            STRAIGHT_HIGH_RANK[ranks] = (byte) findStraightHighRank(ranks);
+
+            int topRanks = 0;
+            int remaining = ranks;
+            for (int count = 1; count <= STRAIGHT_LENGTH; count++) {
+                if (remaining != 0) {
+                    int rank = highestRank(remaining);
+                    topRanks |= 1 << rank;
+                    remaining &= ~(1 << rank);
+                }
+                TOP_RANKS[count][ranks] = (short) topRanks;
+            }
+        }
+    }
+
+    private PokerBits() {
+    }
+
+    /**
+     * @param cardMask
+     * @param suit     The {@link com.synacy.poker.card.CardSuit} ordinal
+     * @return The 13-bit mask of the ranks held in the suit
+     */
+    public static int suitMask(long cardMask, int suit) {
+        return (int) (cardMask >>> (suit * RANK_COUNT)) & RANK_MASK;
+    }
+
+    /**
+     * @param cardMask
+     * @return The 13-bit mask of the ranks held in any suit
+     */
+    public static int rankMask(long cardMask) {
+        return suitMask(cardMask, 0) | suitMask(cardMask, 1) | suitMask(cardMask, 2) | suitMask(cardMask, 3);
+    }
+
+    /**
+     * @param cardMask
+     * @param count    From 1 to 4
+     * @return The 13-bit mask of the ranks held at least <code>count</code> times, e.g. 2 for the pairs
+     */
+    public static int rankMaskOfAtLeast(long cardMask, int count) {
+        int spades = suitMask(cardMask, 0);
+        int clubs = suitMask(cardMask, 1);
+        int diamonds = suitMask(cardMask, 2);
+        int hearts = suitMask(cardMask, 3);
+
+        switch (count) {
+            case 1:
+                return spades | clubs | diamonds | hearts;
+            case 2:
+                return (spades & clubs) | (diamonds & hearts) | ((spades | clubs) & (diamonds | hearts));
+            case 3:
+                return (spades & clubs & (diamonds | hearts)) | (diamonds & hearts & (spades | clubs));
+            case 4:
+                return spades & clubs & diamonds & hearts;
+            default:
+                throw new IllegalArgumentException("A rank is held from 1 to 4 times, not " + count + ".");
+        }
+    }
+
+    /**
+     * @param cardMask
+     * @param rank     The {@link com.synacy.poker.card.CardRank} ordinal
+     * @return The number of cards held of the rank
+     */
+    public static int rankCount(long cardMask, int rank) {
+        return (int) ((cardMask >>> rank) & 1)
+                + (int) ((cardMask >>> (RANK_COUNT + rank)) & 1)
+                + (int) ((cardMask >>> (2 * RANK_COUNT + rank)) & 1)
+                + (int) ((cardMask >>> (3 * RANK_COUNT + rank)) & 1);
+    }
+
+    /**
+     * @param cardMask
+     * @param suit     The {@link com.synacy.poker.card.CardSuit} ordinal
+     * @return The number of cards held in the suit
+     */
+    public static int suitCount(long cardMask, int suit) {
+        return Integer.bitCount(suitMask(cardMask, suit));
+    }
+
+    /**
+     * @param cardMask
+     * @param rankCounts Receives the number of cards held of each rank, by rank ordinal; at least 13 long
+     */
+    public static void rankCounts(long cardMask, int[] rankCounts) {
+        for (int rank = 0; rank < RANK_COUNT; rank++) {
+            rankCounts[rank] = 0;
+        }
+        for (long cards = cardMask; cards != 0; cards &= cards - 1) {
+            rankCounts[Long.numberOfTrailingZeros(cards) % RANK_COUNT]++;
+        }
+    }
+
+    /**
+     * @param cardMask
+     * @param suitCounts Receives the number of cards held in each suit, by suit ordinal; at least 4 long
+     */
+    public static void suitCounts(long cardMask, int[] suitCounts) {
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            suitCounts[suit] = suitCount(cardMask, suit);
+        }
+    }
+
+    /**
+     * @param cardMask
+     * @return The ordinal of the rank held most often, the highest of them on a tie, or -1 without cards
+     */
+    public static int mostCommonRank(long cardMask) {
+        for (int count = SUIT_COUNT; count > 1; count--) {
+            int ranks = rankMaskOfAtLeast(cardMask, count);
+            if (ranks != 0) {
+                return highestRank(ranks);
+            }
+        }
+
+        int ranks = rankMask(cardMask);
+        return ranks == 0 ? -1 : highestRank(ranks);
+    }
+
+    /**
+     * @param cardMask
+     * @return The ordinal of the suit held most often, the lowest of them on a tie, or -1 without cards
+     */
+    public static int mostCommonSuit(long cardMask) {
+        int mostCommonSuit = -1;
+        int mostCards = 0;
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            int cards = suitCount(cardMask, suit);
+            if (cards > mostCards) {
+                mostCommonSuit = suit;
+                mostCards = cards;
+            }
+        }
+
+        return mostCommonSuit;
+    }
+
+    /**
+     * @param ranks A non-empty rank mask
+     * @return The highest rank ordinal in the mask
+     */
+    public static int highestRank(int ranks) {
+        return 31 - Integer.numberOfLeadingZeros(ranks);
+    }
+
+    /**
+     * @param ranks
+     * @param count From 0 to 5
+     * @return The mask of the <code>count</code> highest ranks in the mask, or all of them if there are fewer
+     */
+    public static int topRanks(int ranks, int count) {
+        return count == 0 ? 0 : TOP_RANKS[count][ranks];
+    }
+
+    /**
+     * @param ranks
+     * @return The rank ordinal of the highest card of the best straight within the ranks, or -1 if there is none
+     */
+    public static int straightHighRank(int ranks) {
+        return STRAIGHT_HIGH_RANK[ranks];
+    }
+
+    /**
+     * @param highRank The rank ordinal of the highest card of a straight, FIVE for the wheel
+     * @return The mask of the five ranks of the straight
+     */
+    public static int straightRanks(int highRank) {
+        return highRank == FIVE ? WHEEL : 0b1_1111 << (highRank - 4);
+    }
+
+    /**
+     * Adds the cards of a rank, in suit order.
+     *
+     * @param cardMask
+     * @param rank     The {@link com.synacy.poker.card.CardRank} ordinal
+     * @param limit    The most cards to add
+     * @param cards    Receives the cards
+     * @return The number of cards added
+     */
+    public static int addCardsOfRank(long cardMask, int rank, int limit, List<Card> cards) {
+        int added = 0;
+        for (int suit = 0; suit < SUIT_COUNT && added < limit; suit++) {
+            int cardCode = suit * RANK_COUNT + rank;
+            if ((cardMask & (1L << cardCode)) != 0) {
+                cards.add(Card.fromCode(cardCode));
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Adds one card of each rank in the rank mask, from the highest rank down.
+     *
+     * @param cardMask
+     * @param ranks    Ranks that are all held in the card mask
+     * @param cards    Receives the cards
+     */
+    public static void addCardsByRank(long cardMask, int ranks, List<Card> cards) {
+        for (int remaining = ranks; remaining != 0; ) {
+            int rank = highestRank(remaining);
+            addCardsOfRank(cardMask, rank, 1, cards);
+            remaining &= ~(1 << rank);
+        }
+    }
+
+    /**
+     * Adds the cards of a straight from the highest rank down, e.g. 5,4,3,2,A for the wheel.
+     *
+     * @param cardMask
+     * @param highRank The rank ordinal of the highest card of a straight held in the card mask
+     * @param cards    Receives the cards
+     */
+    public static void addStraightCards(long cardMask, int highRank, List<Card> cards) {
+        for (int rank = highRank; rank > highRank - STRAIGHT_LENGTH; rank--) {
+            addCardsOfRank(cardMask, rank < 0 ? ACE : rank, 1, cards);
+        }
+    }
+
+    private static int findStraightHighRank(int ranks) {
+        for (int highRank = ACE; highRank >= 4; highRank--) {
+            int straight = 0b1_1111 << (highRank - 4);
+            if ((ranks & straight) == straight) {
+                return highRank;
+            }
+        }
+
+        return (ranks & WHEEL) == WHEEL ? FIVE : -1;
+    }
+
+}
@@ -1,37 +1,58 @@
 package com.synacy.poker.util;
 
 import com.synacy.poker.card.Card;
-import com.synacy.poker.card.CardRank;
-import com.synacy.poker.card.CardSuit;
 
-import javax.sound.midi.SysexMessage;
 import java.util.*;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Card list helpers for the hand types. For masks of cards rather than lists, see {@link PokerBits}.
+ */
 public class PokerUtil {
 
+    private static final Comparator<Card> BY_RANK_DESCENDING = Comparator.comparingInt(Card::rankIndex).reversed();
+
     public static <T,R> R getCommonSuitRank(List<T> cardList, Function<? super T, ? extends R> mapper) {
-        return cardList.stream()
-                .map(mapper).filter(Objects::nonNull)
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
-                .entrySet().stream().max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey).orElse(null);
+        R commonValue = null;
+        int commonCount = 0;
+        for (int i = 0; i < cardList.size(); i++) {
+            R value = mapper.apply(cardList.get(i));
+            if (value == null) {
+                continue;
+            }
+
+            int count = 0;
+            for (int j = i; j < cardList.size(); j++) {
+                if (value.equals(mapper.apply(cardList.get(j)))) {
+                    count++;
+                }
+            }
+            if (count > commonCount) {
+                commonValue = value;
+                commonCount = count;
+            }
+        }
+
+        return commonValue;
     }
 
     public static List<Card> getMergedCardList(List<Card> playerCards, List<Card> communityCards) {
-        return Stream.concat(
-                Optional.ofNullable(playerCards).map(Collection::stream).orElseGet(Stream::empty),
-                Optional.ofNullable(communityCards).map(Collection::stream).orElseGet(Stream::empty)
-        ).collect(Collectors.toList());
+        List<Card> mergedCards = new ArrayList<>(sizeOf(playerCards) + sizeOf(communityCards));
+        if (playerCards != null) {
+            mergedCards.addAll(playerCards);
+        }
+        if (communityCards != null) {
+            mergedCards.addAll(communityCards);
+        }
+
+        return mergedCards;
     }
 
     public static List<Card> getOrderedCardList(List<Card> cardList) {
         if(cardList != null) {
-            return cardList.stream()
-                    .sorted(Comparator.comparing(Card::getRankToInt).reversed())
-                    .collect(Collectors.toList());
+            List<Card> orderedList = new ArrayList<>(cardList);
+            orderedList.sort(BY_RANK_DESCENDING);
+            return orderedList;
         }
 
         return null;
@@ -44,7 +65,7 @@ public class PokerUtil {
         Card previousCard = null;
         for(Card card : orderedList) {
             if(previousCard != null) {
-                if((card.getRankToInt()-previousCard.getRankToInt()) == -1) {
+                if((card.rankIndex()-previousCard.rankIndex()) == -1) {
                     if(sequenceList.size() == 0) {
                         sequenceList.add(previousCard);
                     }
@@ -52,7 +73,7 @@ public class PokerUtil {
                 }
             }
 
-            if(previousCard!=null && (card.getRankToInt()-previousCard.getRankToInt()) != -1) {
+            if(previousCard!=null && (card.rankIndex()-previousCard.rankIndex()) != -1) {
                 break;
             }
 
@@ -67,35 +88,63 @@ public class PokerUtil {
     }
 
     public static void removeDuplicateRank(List<Card> cardList) {
-        Set<CardRank> seen = new HashSet<>();
-        cardList.removeIf(c -> !seen.add(c.getRank()));
+        int seenRanks = 0;
+        for (Iterator<Card> iterator = cardList.iterator(); iterator.hasNext(); ) {
+            int rankBit = 1 << iterator.next().rankIndex();
+            if ((seenRanks & rankBit) != 0) {
+                iterator.remove();
+            }
+            seenRanks |= rankBit;
+        }
     }
 
     public static List<Card> getPairCardList(List<Card> mergedCardList) {
-        CardRank cardRank = PokerUtil.getCommonSuitRank(mergedCardList, Card::getRank);
+        int pairRank = PokerBits.mostCommonRank(getCardMask(mergedCardList));
+
+        List<Card> pairCardList = new ArrayList<>(PokerBits.SUIT_COUNT);
+        for (Card card : mergedCardList) {
+            if (card.rankIndex() == pairRank) {
+                pairCardList.add(card);
+            }
+        }
 
-        return mergedCardList.stream()
-                .filter(card -> card.getRank().equals(cardRank))
-                .sorted(Comparator.comparing(Card::getRank).reversed())
-                .collect(Collectors.toList());
+        return pairCardList;
     }
+
     public static List<Card> getKickers(List<Card> pairCardList, List<Card> mergedCardList, int noOfCards) {
         if(pairCardList != null && mergedCardList != null) {
-            List<Card> kickerCardList = mergedCardList.stream().filter(mergeCard -> pairCardList.stream()
-                    .noneMatch(pairCard -> pairCard.getRank().equals(mergeCard.getRank())))
-                    .collect(Collectors.toList());
-
-            Collections.sort(kickerCardList, Comparator.comparing(Card::getRank).reversed());
+            int pairRanks = PokerBits.rankMask(getCardMask(pairCardList));
 
-            if (kickerCardList != null) {
-                return kickerCardList.stream().limit(noOfCards).collect(Collectors.toList());
+            List<Card> kickerCardList = new ArrayList<>(mergedCardList.size());
+            for (Card card : mergedCardList) {
+                if ((pairRanks & (1 << card.rankIndex())) == 0) {
+                    kickerCardList.add(card);
+                }
             }
+            kickerCardList.sort(BY_RANK_DESCENDING);
+
+            return kickerCardList.size() > noOfCards ? new ArrayList<>(kickerCardList.subList(0, noOfCards))
+                    : kickerCardList;
         }
         return null;
     }
 
-    public static Integer getSequenceSum(List<Card> cardList) {
-        return cardList.stream()
-                .mapToInt(c -> c.getRankToInt()).sum();
+    public static long getCardMask(List<Card> playerCards, List<Card> communityCards) {
+        return getCardMask(playerCards) | getCardMask(communityCards);
+    }
+
+    public static long getCardMask(List<Card> cardList) {
+        long cardMask = 0L;
+        if(cardList != null) {
+            for (int i = 0; i < cardList.size(); i++) {
+                cardMask |= 1L << cardList.get(i).getCode();
+            }
+        }
+
+        return cardMask;
+    }
+
+    private static int sizeOf(List<Card> cardList) {
+        return cardList == null ? 0 : cardList.size();
     }
 }
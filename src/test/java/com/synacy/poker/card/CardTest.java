@@ -40,4 +40,24 @@ public class CardTest {
 		assertEquals("card-black", card2.styleClass());
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void of_returnsTheSameCanonicalCard() {
+		Card card = Card.of(CardRank.QUEEN, CardSuit.CLUBS);
+
+		assertSame(card, Card.of(CardRank.QUEEN, CardSuit.CLUBS));
+		assertSame(card, Card.fromCode(card.getCode()));
+		assertEquals(new Card(CardRank.QUEEN, CardSuit.CLUBS), card);
+	}
+
+	@Test
+	public void getCode_isSuitMajorAndCoversTheDeck() {
+		Card twoOfSpades = Card.of(CardRank.TWO, CardSuit.SPADES);
+		Card aceOfHearts = Card.of(CardRank.ACE, CardSuit.HEARTS);
+
+		assertEquals(0, twoOfSpades.getCode());
+		assertEquals(Card.CARD_COUNT - 1, aceOfHearts.getCode());
+		assertEquals(CardRank.ACE.ordinal(), aceOfHearts.rankIndex());
+		assertEquals(CardSuit.HEARTS.ordinal(), aceOfHearts.suitIndex());
+	}
+
+}
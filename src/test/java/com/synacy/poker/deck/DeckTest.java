@@ -6,7 +6,10 @@ import com.synacy.poker.card.CardSuit;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 
@@ -57,4 +60,63 @@ public class DeckTest {
 		assertEquals(expectedTopCard, actualRemovedTopCard);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void addCard_ignoresCardAlreadyInDeck() {
+		deck.addCard(new Card(CardRank.ACE, CardSuit.HEARTS));
+		deck.addCard(new Card(CardRank.ACE, CardSuit.HEARTS));
+
+		assertEquals(1, deck.size());
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void removeFromTop_whenEmpty_throwsException() {
+		deck.removeFromTop();
+	}
+
+	@Test
+	public void reset_returnsRemovedCardsToTheDeck() {
+		Card topCard = new Card(CardRank.ACE, CardSuit.HEARTS);
+		deck.addCards(Arrays.asList(topCard, new Card(CardRank.ACE, CardSuit.DIAMONDS)));
+		deck.removeFromTop();
+		deck.removeFromTop();
+
+		deck.reset();
+
+		assertEquals(2, deck.size());
+		assertEquals(topCard, deck.removeFromTop());
+	}
+
+	@Test
+	public void getRemainingCardMask_excludesRemovedCards() {
+		Card topCard = new Card(CardRank.ACE, CardSuit.HEARTS);
+		Card bottomCard = new Card(CardRank.ACE, CardSuit.DIAMONDS);
+		deck.addCards(Arrays.asList(topCard, bottomCard));
+
+		deck.removeFromTop();
+
+		assertEquals(1L << bottomCard.getCode(), deck.getRemainingCardMask());
+	}
+
+	@Test
+	public void shuffle_withSameSeed_producesSameOrderWhateverTheStartingOrder() {
+		Deck otherDeck = new Deck();
+		List<Card> cards = Arrays.asList(
+				new Card(CardRank.ACE, CardSuit.HEARTS),
+				new Card(CardRank.KING, CardSuit.HEARTS),
+				new Card(CardRank.QUEEN, CardSuit.HEARTS),
+				new Card(CardRank.JACK, CardSuit.HEARTS),
+				new Card(CardRank.TEN, CardSuit.HEARTS));
+		List<Card> reversedCards = new ArrayList<>(cards);
+		Collections.reverse(reversedCards);
+		deck.addCards(cards);
+		otherDeck.addCards(reversedCards);
+
+		deck.shuffle(7L);
+		otherDeck.shuffle(7L);
+
+		for (int i = 0; i < cards.size(); i++) {
+			assertEquals(deck.removeFromTop(), otherDeck.removeFromTop());
+		}
+	}
+
+}
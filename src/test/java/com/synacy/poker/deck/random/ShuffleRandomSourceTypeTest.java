@@ -0,0 +1,54 @@
+package com.synacy.poker.deck.random;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ShuffleRandomSourceTypeTest {
+
+    @Test
+    public void create_nextIntStaysWithinBound() {
+        for (ShuffleRandomSourceType type : ShuffleRandomSourceType.values()) {
+            ShuffleRandomSource randomSource = type.create();
+            for (int i = 0; i < 10_000; i++) {
+                int value = randomSource.nextInt(52);
+                assertTrue(type + " returned " + value, value >= 0 && value < 52);
+            }
+        }
+    }
+
+    @Test
+    public void setSeed_restartsTheSequence() {
+        for (ShuffleRandomSourceType type : new ShuffleRandomSourceType[]{
+                ShuffleRandomSourceType.SPLITTABLE, ShuffleRandomSourceType.XOSHIRO}) {
+            ShuffleRandomSource randomSource = type.create(99L);
+            int[] firstValues = new int[16];
+            for (int i = 0; i < firstValues.length; i++) {
+                firstValues[i] = randomSource.nextInt(1000);
+            }
+
+            randomSource.setSeed(99L);
+
+            for (int firstValue : firstValues) {
+                assertEquals(firstValue, randomSource.nextInt(1000));
+            }
+        }
+    }
+
+    @Test
+    public void splittable_matchesSplittableRandomAfterEveryReseed() {
+        ShuffleRandomSource randomSource = ShuffleRandomSourceType.SPLITTABLE.create(0L);
+        for (long seed = -3L; seed < 1_000L; seed += 7L) {
+            randomSource.setSeed(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int bound = 1; bound <= 52; bound++) {
+                assertEquals(random.nextInt(bound), randomSource.nextInt(bound));
+            }
+            assertEquals(random.nextInt(Integer.MAX_VALUE), randomSource.nextInt(Integer.MAX_VALUE));
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.synacy.poker.util.PokerUtil;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BoardAnalysisServiceTest {
+
+    private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+    private final BoardAnalysisService boardAnalysisService =
+            new BoardAnalysisService(handEvaluator, new PreflopEquityService(), 16);
+
+    @Test
+    public void analyze_riverEquityCountsEveryOpponentHand() {
+        List<Card> holeCards = Arrays.asList(
+                Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.TEN, CardSuit.CLUBS));
+        List<Card> board = Arrays.asList(
+                Card.of(CardRank.ACE, CardSuit.HEARTS),
+                Card.of(CardRank.SEVEN, CardSuit.DIAMONDS),
+                Card.of(CardRank.NINE, CardSuit.HEARTS),
+                Card.of(CardRank.JACK, CardSuit.DIAMONDS),
+                Card.of(CardRank.THREE, CardSuit.CLUBS));
+        long boardMask = PokerUtil.getCardMask(board);
+        long seenMask = boardMask | PokerUtil.getCardMask(holeCards);
+        int strength = handEvaluator.evaluate(seenMask);
+
+        double equitySum = 0.0;
+        int opponents = 0;
+        for (int first = 0; first < Card.CARD_COUNT; first++) {
+            for (int second = first + 1; second < Card.CARD_COUNT; second++) {
+                long opponentMask = (1L << first) | (1L << second);
+                if ((opponentMask & seenMask) == 0) {
+                    int opponentStrength = handEvaluator.evaluate(boardMask | opponentMask);
+                    equitySum += strength > opponentStrength ? 1.0 : strength == opponentStrength ? 0.5 : 0.0;
+                    opponents++;
+                }
+            }
+        }
+
+        BoardAnalysis analysis = boardAnalysisService.analyze(holeCards, board);
+
+        assertEquals(equitySum / opponents, analysis.getEquity(), 1e-12);
+        assertEquals(1, analysis.getRunouts());
+        assertEquals(1.0, analysis.getHandTypeProbability(HandType.ONE_PAIR), 0.0);
+        assertTrue(analysis.getOuts().isEmpty());
+    }
+
+    @Test
+    public void analyze_flopOutsAreInTheSuitsOfTheQuery() {
+        BoardAnalysis hearts = boardAnalysisService.analyze(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.HEARTS), Card.of(CardRank.KING, CardSuit.HEARTS)),
+                Arrays.asList(Card.of(CardRank.TWO, CardSuit.HEARTS), Card.of(CardRank.SEVEN, CardSuit.HEARTS),
+                        Card.of(CardRank.NINE, CardSuit.CLUBS)));
+        BoardAnalysis spades = boardAnalysisService.analyze(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.KING, CardSuit.SPADES)),
+                Arrays.asList(Card.of(CardRank.TWO, CardSuit.SPADES), Card.of(CardRank.SEVEN, CardSuit.SPADES),
+                        Card.of(CardRank.NINE, CardSuit.DIAMONDS)));
+
+        assertEquals(1, boardAnalysisService.getCache().getMisses());
+        assertEquals(1, boardAnalysisService.getCache().getHits());
+        assertEquals(1_081, hearts.getRunouts());
+        assertEquals(hearts.getEquity(), spades.getEquity(), 0.0);
+        assertEquals(23, hearts.getOuts().size());
+        assertTrue(hearts.getOuts().contains(Card.of(CardRank.FOUR, CardSuit.HEARTS)));
+        assertTrue(spades.getOuts().contains(Card.of(CardRank.FOUR, CardSuit.SPADES)));
+        assertTrue(spades.getOuts().contains(Card.of(CardRank.NINE, CardSuit.HEARTS)));
+        assertEquals(spades.getOuts().size(), hearts.getOuts().size());
+    }
+
+    @Test
+    public void analyze_preflopUsesTheEquityTable() {
+        List<Card> aces = Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.ACE, CardSuit.HEARTS));
+
+        BoardAnalysis analysis = boardAnalysisService.analyze(aces, Collections.emptyList());
+
+        assertEquals(new PreflopEquityService().getEquity(aces, 1), analysis.getEquity(), 0.0);
+        assertEquals(2_118_760, analysis.getRunouts());
+        double total = 0.0;
+        for (HandType handType : HandType.values()) {
+            total += analysis.getHandTypeProbability(handType);
+        }
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void analyze_twoBoardCards() {
+        boardAnalysisService.analyze(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.ACE, CardSuit.HEARTS)),
+                Arrays.asList(Card.of(CardRank.TWO, CardSuit.SPADES), Card.of(CardRank.SEVEN, CardSuit.SPADES)));
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class CanonicalDealTest {
+
+    @Test
+    public void of_collapsesThe22100FlopsInto1755Classes() {
+        Set<CanonicalDeal> classes = new HashSet<>();
+        int flops = 0;
+        for (int first = 0; first < Card.CARD_COUNT; first++) {
+            for (int second = first + 1; second < Card.CARD_COUNT; second++) {
+                for (int third = second + 1; third < Card.CARD_COUNT; third++) {
+                    classes.add(CanonicalDeal.of(0L, (1L << first) | (1L << second) | (1L << third)));
+                    flops++;
+                }
+            }
+        }
+
+        assertEquals(22_100, flops);
+        assertEquals(1_755, classes.size());
+    }
+
+    @Test
+    public void of_dealsThatOnlyDifferBySuitAreEqual() {
+        CanonicalDeal hearts = CanonicalDeal.of(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.HEARTS), Card.of(CardRank.KING, CardSuit.HEARTS)),
+                Arrays.asList(Card.of(CardRank.QUEEN, CardSuit.HEARTS), Card.of(CardRank.SEVEN, CardSuit.CLUBS),
+                        Card.of(CardRank.TWO, CardSuit.CLUBS)));
+        CanonicalDeal spades = CanonicalDeal.of(
+                Arrays.asList(Card.of(CardRank.KING, CardSuit.SPADES), Card.of(CardRank.ACE, CardSuit.SPADES)),
+                Arrays.asList(Card.of(CardRank.TWO, CardSuit.DIAMONDS), Card.of(CardRank.QUEEN, CardSuit.SPADES),
+                        Card.of(CardRank.SEVEN, CardSuit.DIAMONDS)));
+        CanonicalDeal offsuit = CanonicalDeal.of(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.HEARTS), Card.of(CardRank.KING, CardSuit.SPADES)),
+                Arrays.asList(Card.of(CardRank.QUEEN, CardSuit.HEARTS), Card.of(CardRank.SEVEN, CardSuit.CLUBS),
+                        Card.of(CardRank.TWO, CardSuit.CLUBS)));
+
+        assertEquals(hearts, spades);
+        assertEquals(hearts.hashCode(), spades.hashCode());
+        assertNotEquals(hearts, offsuit);
+    }
+
+    @Test
+    public void toOriginal_undoesToCanonical() {
+        SplittableRandom random = new SplittableRandom(1L);
+        for (int deal = 0; deal < 1_000; deal++) {
+            long holeMask = 0L;
+            while (Long.bitCount(holeMask) < 2) {
+                holeMask |= 1L << random.nextInt(Card.CARD_COUNT);
+            }
+            long boardMask = 0L;
+            while (Long.bitCount(boardMask) < 4) {
+                boardMask |= (1L << random.nextInt(Card.CARD_COUNT)) & ~holeMask;
+            }
+            long otherCards = random.nextLong() & ((1L << Card.CARD_COUNT) - 1);
+
+            CanonicalDeal canonicalDeal = CanonicalDeal.of(holeMask, boardMask);
+
+            assertEquals(canonicalDeal.getHoleMask(), canonicalDeal.toCanonical(holeMask));
+            assertEquals(boardMask, canonicalDeal.toOriginal(canonicalDeal.getBoardMask()));
+            assertEquals(otherCards, canonicalDeal.toOriginal(canonicalDeal.toCanonical(otherCards)));
+        }
+    }
+
+}
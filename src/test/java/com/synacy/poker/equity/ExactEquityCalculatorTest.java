@@ -0,0 +1,125 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.deck.Deck;
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExactEquityCalculatorTest {
+
+    private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+    private final ExactEquityCalculator calculator = new ExactEquityCalculator(handEvaluator);
+
+    @Test
+    public void calculate_preflopEnumeratesEveryBoard() {
+        List<List<Card>> holeCards = Arrays.asList(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.ACE, CardSuit.HEARTS)),
+                Arrays.asList(Card.of(CardRank.KING, CardSuit.CLUBS), Card.of(CardRank.KING, CardSuit.DIAMONDS))
+        );
+
+        EquityResult result = calculator.calculate(holeCards, Collections.emptyList(), Collections.emptyList());
+
+        assertTrue(result.isExact());
+        assertEquals(1_712_304, result.getSamples());
+        assertEquals(0.82, result.getEquity(0), 0.01);
+        assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-9);
+        assertEquals(0.0, result.getStandardError(0), 0.0);
+    }
+
+    @Test
+    public void calculate_flopMatchesNestedLoops() {
+        List<List<Card>> holeCards = Arrays.asList(
+                Arrays.asList(Card.of(CardRank.SEVEN, CardSuit.SPADES), Card.of(CardRank.TWO, CardSuit.HEARTS)),
+                Arrays.asList(Card.of(CardRank.JACK, CardSuit.CLUBS), Card.of(CardRank.TEN, CardSuit.CLUBS)),
+                Arrays.asList(Card.of(CardRank.FIVE, CardSuit.DIAMONDS), Card.of(CardRank.FIVE, CardSuit.HEARTS))
+        );
+        List<Card> flop = Arrays.asList(
+                Card.of(CardRank.NINE, CardSuit.CLUBS),
+                Card.of(CardRank.EIGHT, CardSuit.HEARTS),
+                Card.of(CardRank.TWO, CardSuit.CLUBS)
+        );
+        List<Card> deadCards = Collections.singletonList(Card.of(CardRank.QUEEN, CardSuit.CLUBS));
+
+        EquityResult result = calculator.calculate(holeCards, flop, deadCards);
+
+        long knownMask = cardMask(flop) | cardMask(deadCards);
+        for (List<Card> cards : holeCards) {
+            knownMask |= cardMask(cards);
+        }
+        double[] equity = new double[holeCards.size()];
+        int boards = 0;
+        for (int turn = 0; turn < Card.CARD_COUNT; turn++) {
+            for (int river = turn + 1; river < Card.CARD_COUNT; river++) {
+                long boardMask = (1L << turn) | (1L << river);
+                if ((knownMask & boardMask) != 0) {
+                    continue;
+                }
+                boardMask |= cardMask(flop);
+                int[] strengths = new int[holeCards.size()];
+                int best = 0;
+                for (int player = 0; player < strengths.length; player++) {
+                    strengths[player] = handEvaluator.evaluate(cardMask(holeCards.get(player)) | boardMask);
+                    best = Math.max(best, strengths[player]);
+                }
+                int winners = 0;
+                for (int strength : strengths) {
+                    winners += strength == best ? 1 : 0;
+                }
+                for (int player = 0; player < strengths.length; player++) {
+                    equity[player] += strengths[player] == best ? 1.0 / winners : 0.0;
+                }
+                boards++;
+            }
+        }
+
+        assertEquals(boards, result.getSamples());
+        for (int player = 0; player < equity.length; player++) {
+            assertEquals(equity[player] / boards, result.getEquity(player), 1e-12);
+        }
+    }
+
+    @Test
+    public void calculate_fromDeck() {
+        Deck deck = new DeckBuilder().buildDeck();
+        deck.shuffle(3L);
+        List<List<Card>> holeCards = new ArrayList<>();
+        holeCards.add(Arrays.asList(deck.removeFromTop(), deck.removeFromTop()));
+        holeCards.add(Arrays.asList(deck.removeFromTop(), deck.removeFromTop()));
+        deck.removeFromTop();
+        List<Card> board = Arrays.asList(deck.removeFromTop(), deck.removeFromTop(), deck.removeFromTop());
+        deck.removeFromTop();
+
+        EquityResult result = calculator.calculate(holeCards, board, deck);
+
+        assertEquals(903, result.getSamples());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculate_dealtCardStillInDeck() {
+        Deck deck = new DeckBuilder().buildDeck();
+        List<List<Card>> holeCards = Collections.singletonList(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.ACE, CardSuit.HEARTS)));
+
+        calculator.calculate(holeCards, Collections.emptyList(), deck);
+    }
+
+    private static long cardMask(List<Card> cards) {
+        long cardMask = 0L;
+        for (Card card : cards) {
+            cardMask |= 1L << card.getCode();
+        }
+        return cardMask;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HandRangeTest {
+
+    @Test
+    public void parse_expandsClassesToCombos() {
+        assertEquals(6, HandRange.parse("QQ").size());
+        assertEquals(4, HandRange.parse("AKs").size());
+        assertEquals(12, HandRange.parse("KQo").size());
+        assertEquals(16, HandRange.parse("AK").size());
+        assertEquals(1, HandRange.parse("AhKh").size());
+    }
+
+    @Test
+    public void parse_plusAndDashRuns() {
+        assertEquals(classes("QQ", "KK", "AA"), classes(HandRange.parse("QQ+")));
+        assertEquals(classes("ATs", "AJs", "AQs", "AKs"), classes(HandRange.parse("ATs+")));
+        assertEquals(classes("99", "TT", "JJ", "QQ"), classes(HandRange.parse("QQ-99")));
+        assertEquals(classes("A5s", "A6s", "A7s", "A8s", "A9s"), classes(HandRange.parse("A9s-A5s")));
+        assertEquals(classes("54s", "65s", "76s"), classes(HandRange.parse("76s-54s")));
+        assertEquals(classes("K9o", "K9s"), classes(HandRange.parse("K9")));
+    }
+
+    @Test
+    public void parse_weightsAndOverlaps() {
+        HandRange range = HandRange.parse("QQ+, AKs, KQo:0.5, 76s-54s, AhKh:0.25, KK:0");
+
+        assertEquals(12 + 4 + 12 + 12, range.size());
+        assertEquals(12 + 3 + 0.25 + 6 + 12, range.getTotalWeight(), 1e-9);
+
+        long aceKingOfHearts = (1L << Card.of(CardRank.ACE, CardSuit.HEARTS).getCode())
+                | (1L << Card.of(CardRank.KING, CardSuit.HEARTS).getCode());
+        for (int combo = 0; combo < range.size(); combo++) {
+            assertEquals(2, Long.bitCount(range.getComboMask(combo)));
+            if (range.getComboMask(combo) == aceKingOfHearts) {
+                assertEquals(0.25, range.getWeight(combo), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void of_holeCards() {
+        HandRange range = HandRange.of(Arrays.asList(
+                Card.of(CardRank.SEVEN, CardSuit.CLUBS), Card.of(CardRank.TWO, CardSuit.DIAMONDS)));
+
+        assertEquals(1, range.size());
+        assertEquals("72o", StartingHands.nameOf(StartingHands.classOf(range.getComboMask(0))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_unknownRank() {
+        HandRange.parse("QQ, AXs");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_runOfDifferentGaps() {
+        HandRange.parse("76s-53s");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_weightAboveOne() {
+        HandRange.parse("AA:2");
+    }
+
+    private static Set<String> classes(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private static Set<String> classes(HandRange range) {
+        Set<String> names = new HashSet<>();
+        for (int combo = 0; combo < range.size(); combo++) {
+            names.add(StartingHands.nameOf(StartingHands.classOf(range.getComboMask(combo))));
+        }
+
+        return names;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class MonteCarloEquityCalculatorTest {
+
+    private final MonteCarloEquityCalculator calculator = new MonteCarloEquityCalculator(new BitmaskHandEvaluator());
+
+    @Test
+    public void calculate_acesAgainstKings() {
+        List<List<Card>> holeCards = Arrays.asList(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.ACE, CardSuit.HEARTS)),
+                Arrays.asList(Card.of(CardRank.KING, CardSuit.CLUBS), Card.of(CardRank.KING, CardSuit.DIAMONDS))
+        );
+
+        EquityResult result = calculator.calculate(holeCards, Collections.emptyList(), Collections.emptyList(),
+                100_000, 42L);
+
+        assertFalse(result.isExact());
+        assertEquals(100_000, result.getSamples());
+        assertEquals(0.82, result.getEquity(0), 0.01);
+        assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-9);
+        assertEquals(0.0012, result.getStandardError(0), 0.0005);
+    }
+
+    @Test
+    public void calculate_sameSeedSameResult() {
+        List<List<Card>> holeCards = Arrays.asList(
+                Arrays.asList(Card.of(CardRank.SEVEN, CardSuit.SPADES), Card.of(CardRank.TWO, CardSuit.HEARTS)),
+                Arrays.asList(Card.of(CardRank.JACK, CardSuit.CLUBS), Card.of(CardRank.TEN, CardSuit.CLUBS)),
+                Arrays.asList(Card.of(CardRank.FIVE, CardSuit.DIAMONDS), Card.of(CardRank.FIVE, CardSuit.HEARTS))
+        );
+        List<Card> flop = Arrays.asList(
+                Card.of(CardRank.NINE, CardSuit.CLUBS),
+                Card.of(CardRank.EIGHT, CardSuit.HEARTS),
+                Card.of(CardRank.TWO, CardSuit.CLUBS)
+        );
+
+        EquityResult first = calculator.calculate(holeCards, flop, Collections.emptyList(), 50_000, 7L);
+        EquityResult second = calculator.calculate(holeCards, flop, Collections.emptyList(), 50_000, 7L);
+
+        for (int player = 0; player < 3; player++) {
+            assertEquals(first.getEquity(player), second.getEquity(player), 0.0);
+        }
+    }
+
+    @Test
+    public void calculate_fullBoard() {
+        List<List<Card>> holeCards = Arrays.asList(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.KING, CardSuit.SPADES)),
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.CLUBS), Card.of(CardRank.KING, CardSuit.CLUBS))
+        );
+        List<Card> board = Arrays.asList(
+                Card.of(CardRank.TWO, CardSuit.HEARTS),
+                Card.of(CardRank.SEVEN, CardSuit.DIAMONDS),
+                Card.of(CardRank.NINE, CardSuit.HEARTS),
+                Card.of(CardRank.JACK, CardSuit.DIAMONDS),
+                Card.of(CardRank.THREE, CardSuit.CLUBS)
+        );
+
+        EquityResult result = calculator.calculate(holeCards, board, Collections.emptyList(), 1_000);
+
+        assertEquals(1.0, result.getTieProbability(0), 0.0);
+        assertEquals(0.5, result.getEquity(1), 0.0);
+        assertEquals(0.0, result.getStandardError(1), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculate_duplicateCard() {
+        List<List<Card>> holeCards = Arrays.asList(
+                Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.ACE, CardSuit.HEARTS)),
+                Arrays.asList(Card.of(CardRank.KING, CardSuit.CLUBS), Card.of(CardRank.KING, CardSuit.DIAMONDS))
+        );
+
+        calculator.calculate(holeCards, Collections.emptyList(),
+                Collections.singletonList(Card.of(CardRank.ACE, CardSuit.HEARTS)), 1_000);
+    }
+
+}
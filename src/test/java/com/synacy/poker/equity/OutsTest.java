@@ -0,0 +1,130 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.synacy.poker.hand.evaluator.HandStrength;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OutsTest {
+
+    private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+
+    private final List<List<Card>> holeCards = Arrays.asList(
+            Arrays.asList(Card.of(CardRank.ACE, CardSuit.HEARTS), Card.of(CardRank.KING, CardSuit.HEARTS)),
+            Arrays.asList(Card.of(CardRank.NINE, CardSuit.SPADES), Card.of(CardRank.NINE, CardSuit.DIAMONDS)),
+            Arrays.asList(Card.of(CardRank.EIGHT, CardSuit.CLUBS), Card.of(CardRank.SIX, CardSuit.CLUBS))
+    );
+    private final List<Card> flop = Arrays.asList(
+            Card.of(CardRank.TWO, CardSuit.HEARTS),
+            Card.of(CardRank.SEVEN, CardSuit.HEARTS),
+            Card.of(CardRank.NINE, CardSuit.CLUBS)
+    );
+
+    @Test
+    public void of_flopMatchesEveryTurnAndRiver() {
+        List<Outs> outs = Outs.of(holeCards, flop);
+
+        long seenMask = cardMask(flop);
+        for (List<Card> cards : holeCards) {
+            seenMask |= cardMask(cards);
+        }
+        int unseenCards = Card.CARD_COUNT - Long.bitCount(seenMask);
+        for (int seat = 0; seat < holeCards.size(); seat++) {
+            long holeMask = cardMask(holeCards.get(seat));
+            int category = HandStrength.getCategory(handEvaluator.evaluate(holeMask | cardMask(flop)));
+            long improvingOutsMask = 0L;
+            long leadingOutsMask = 0L;
+            int improvingRunouts = 0;
+            int leadingRunouts = 0;
+            for (int turn = 0; turn < Card.CARD_COUNT; turn++) {
+                long turnBit = 1L << turn;
+                if ((seenMask & turnBit) != 0) {
+                    continue;
+                }
+                long turnBoard = cardMask(flop) | turnBit;
+                if (HandStrength.getCategory(handEvaluator.evaluate(holeMask | turnBoard)) > category) {
+                    improvingOutsMask |= turnBit;
+                }
+                if (leadsAlone(seat, turnBoard)) {
+                    leadingOutsMask |= turnBit;
+                }
+                for (int river = turn + 1; river < Card.CARD_COUNT; river++) {
+                    long riverBoard = turnBoard | (1L << river);
+                    if ((seenMask & (1L << river)) != 0) {
+                        continue;
+                    }
+                    if (HandStrength.getCategory(handEvaluator.evaluate(holeMask | riverBoard)) > category) {
+                        improvingRunouts++;
+                    }
+                    if (leadsAlone(seat, riverBoard)) {
+                        leadingRunouts++;
+                    }
+                }
+            }
+
+            Outs seatOuts = outs.get(seat);
+            double runouts = unseenCards * (unseenCards - 1) / 2.0;
+            assertEquals(improvingOutsMask, seatOuts.getImprovingOutsMask());
+            assertEquals(leadingOutsMask, seatOuts.getLeadingOutsMask());
+            assertEquals(improvingRunouts / runouts, seatOuts.getImproveByRiverProbability(), 1e-12);
+            assertEquals(leadingRunouts / runouts, seatOuts.getLeadAtRiverProbability(), 1e-12);
+        }
+    }
+
+    @Test
+    public void of_flushDrawOnTheTurn() {
+        List<Card> turn = Arrays.asList(
+                flop.get(0), flop.get(1), flop.get(2), Card.of(CardRank.THREE, CardSuit.SPADES));
+
+        Outs outs = Outs.of(holeCards, turn).get(0);
+
+        assertTrue(outs.getImprovingOuts().contains(Card.of(CardRank.FOUR, CardSuit.HEARTS)));
+        assertTrue(outs.getImprovingOuts().contains(Card.of(CardRank.ACE, CardSuit.SPADES)));
+        assertEquals("9 hearts, 6 aces and kings, 8 cards pairing the board", 23,
+                outs.getImprovingOuts().size());
+        assertEquals(23.0 / 42, outs.getImproveProbability(), 1e-12);
+        assertEquals(outs.getImproveProbability(), outs.getImproveByRiverProbability(), 0.0);
+        assertEquals(outs.getLeadProbability(), outs.getLeadAtRiverProbability(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_notOnTheRiver() {
+        List<Card> river = Arrays.asList(flop.get(0), flop.get(1), flop.get(2),
+                Card.of(CardRank.THREE, CardSuit.SPADES), Card.of(CardRank.FOUR, CardSuit.SPADES));
+
+        Outs.of(holeCards, river);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_cardAppearsTwice() {
+        Outs.of(Collections.singletonList(Arrays.asList(flop.get(0), Card.of(CardRank.ACE, CardSuit.CLUBS))), flop);
+    }
+
+    private boolean leadsAlone(int seat, long boardMask) {
+        int strength = handEvaluator.evaluate(cardMask(holeCards.get(seat)) | boardMask);
+        for (int other = 0; other < holeCards.size(); other++) {
+            if (other != seat && handEvaluator.evaluate(cardMask(holeCards.get(other)) | boardMask) >= strength) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long cardMask(List<Card> cards) {
+        long cardMask = 0L;
+        for (Card card : cards) {
+            cardMask |= 1L << card.getCode();
+        }
+        return cardMask;
+    }
+
+}
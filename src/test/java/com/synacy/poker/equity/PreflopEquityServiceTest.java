@@ -0,0 +1,68 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PreflopEquityServiceTest {
+
+    private final PreflopEquityService preflopEquityService = new PreflopEquityService();
+
+    @Test
+    public void getEquity_matchesKnownHeadsUpEquities() {
+        List<Card> aces = Arrays.asList(Card.of(CardRank.ACE, CardSuit.HEARTS), Card.of(CardRank.ACE, CardSuit.CLUBS));
+        List<Card> sevenTwo = Arrays.asList(
+                Card.of(CardRank.SEVEN, CardSuit.SPADES), Card.of(CardRank.TWO, CardSuit.DIAMONDS));
+
+        assertEquals(0.852, preflopEquityService.getEquity(aces, 1), 0.005);
+        assertEquals(0.346, preflopEquityService.getEquity(sevenTwo, 1), 0.005);
+    }
+
+    @Test
+    public void getEquity_fallsAsOpponentsAreAdded() {
+        PreflopEquityTable table = preflopEquityService.getPreflopEquityTable();
+        for (int handClass = 0; handClass < StartingHands.CLASS_COUNT; handClass++) {
+            for (int opponents = 2; opponents <= PreflopEquityTable.MAX_OPPONENTS; opponents++) {
+                assertTrue(StartingHands.nameOf(handClass) + " against " + opponents,
+                        table.getEquity(handClass, opponents) < table.getEquity(handClass, opponents - 1));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getEquity_tooManyOpponents() {
+        preflopEquityService.getEquity(0b11L, 10);
+    }
+
+    @Test
+    public void generate_isRepeatableAndSurvivesWritingAndReading() throws IOException {
+        PreflopEquityTableGenerator generator = new PreflopEquityTableGenerator(new BitmaskHandEvaluator());
+
+        PreflopEquityTable table = generator.generate(200, 7L);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        table.write(output);
+        PreflopEquityTable readTable = PreflopEquityTable.read(new ByteArrayInputStream(output.toByteArray()));
+        PreflopEquityTable regeneratedTable = generator.generate(200, 7L);
+
+        assertEquals(200, readTable.getSamplesPerEntry());
+        for (int handClass = 0; handClass < StartingHands.CLASS_COUNT; handClass++) {
+            for (int opponents = 1; opponents <= PreflopEquityTable.MAX_OPPONENTS; opponents++) {
+                assertEquals(table.getEquity(handClass, opponents), readTable.getEquity(handClass, opponents), 0.0);
+                assertEquals(table.getEquity(handClass, opponents),
+                        regeneratedTable.getEquity(handClass, opponents), 0.0);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RangeEquityCalculatorTest {
+
+    private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+    private final RangeEquityCalculator calculator = new RangeEquityCalculator(handEvaluator);
+
+    private final List<Card> flop = Arrays.asList(
+            Card.of(CardRank.QUEEN, CardSuit.HEARTS),
+            Card.of(CardRank.SEVEN, CardSuit.SPADES),
+            Card.of(CardRank.SIX, CardSuit.HEARTS)
+    );
+
+    @Test
+    public void calculate_turnMatchesEveryMatchup() {
+        List<Card> turn = Arrays.asList(
+                flop.get(0), flop.get(1), flop.get(2), Card.of(CardRank.TWO, CardSuit.CLUBS));
+        HandRange range = HandRange.parse("QQ+, AKs, KQo:0.5, 76s-54s");
+        HandRange otherRange = HandRange.parse("TT-77, AQ, QJs:0.75, 98s");
+
+        EquityResult result = calculator.calculate(range, otherRange, turn);
+
+        assertTrue(result.isExact());
+        assertEquals(48, result.getSamples());
+        assertEquals(bruteForceEquity(range, otherRange, turn), result.getEquity(0), 1e-12);
+        assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-12);
+        assertEquals(1.0, result.getWinProbability(0) + result.getWinProbability(1) + result.getTieProbability(0),
+                1e-12);
+    }
+
+    @Test
+    public void calculate_holeCardsAgainstRangeMatchesEveryMatchup() {
+        List<Card> holeCards = Arrays.asList(
+                Card.of(CardRank.ACE, CardSuit.HEARTS), Card.of(CardRank.TWO, CardSuit.HEARTS));
+        HandRange range = HandRange.parse("77, 66, QJ, AQs, 98s:0.5");
+
+        EquityResult result = calculator.calculate(holeCards, range, flop);
+
+        assertEquals("Every turn and river but the player's own cards", 1081, result.getSamples());
+        assertEquals(bruteForceEquity(HandRange.of(holeCards), range, flop), result.getEquity(0), 1e-12);
+    }
+
+    @Test
+    public void calculate_singleHandsMatchTheExactCalculator() {
+        List<Card> hand = Arrays.asList(
+                Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.KING, CardSuit.SPADES));
+        List<Card> otherHand = Arrays.asList(
+                Card.of(CardRank.NINE, CardSuit.CLUBS), Card.of(CardRank.NINE, CardSuit.DIAMONDS));
+
+        EquityResult result = calculator.calculate(HandRange.of(hand), HandRange.of(otherHand), flop);
+        EquityResult expected = new ExactEquityCalculator(handEvaluator)
+                .calculate(Arrays.asList(hand, otherHand), flop, Collections.emptyList());
+
+        assertEquals(expected.getSamples(), result.getSamples());
+        assertEquals(expected.getEquity(0), result.getEquity(0), 1e-12);
+        assertEquals(expected.getTieProbability(0), result.getTieProbability(0), 1e-12);
+    }
+
+    @Test
+    public void calculate_samplesAreCloseToTheExactEquity() {
+        HandRange range = HandRange.parse("JJ+, AK");
+        HandRange otherRange = HandRange.parse("22+, AT+, KQ");
+
+        EquityResult exact = calculator.calculate(range, otherRange, flop);
+        EquityResult sampled = calculator.calculate(range, otherRange, flop, 20_000, 7L);
+
+        assertTrue(sampled.getStandardError(0) > 0.0);
+        assertEquals(exact.getEquity(0), sampled.getEquity(0), 4 * sampled.getStandardError(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculate_boardBlocksTheWholeRange() {
+        calculator.calculate(HandRange.parse("QhQs"), HandRange.parse("AA"), flop);
+    }
+
+    /**
+     * Plays every pair of hole cards of one range against every pair of the other on every run-out.
+     */
+    private double bruteForceEquity(HandRange range, HandRange otherRange, List<Card> board) {
+        long boardMask = 0L;
+        for (Card card : board) {
+            boardMask |= 1L << card.getCode();
+        }
+
+        double equity = 0.0;
+        double matchups = 0.0;
+        for (int combo = 0; combo < range.size(); combo++) {
+            for (int otherCombo = 0; otherCombo < otherRange.size(); otherCombo++) {
+                long comboMask = range.getComboMask(combo);
+                long otherComboMask = otherRange.getComboMask(otherCombo);
+                if ((comboMask & otherComboMask) != 0 || ((comboMask | otherComboMask) & boardMask) != 0) {
+                    continue;
+                }
+                double weight = range.getWeight(combo) * otherRange.getWeight(otherCombo);
+                long deadMask = boardMask | comboMask | otherComboMask;
+                for (long runout : runouts(board.size())) {
+                    if ((runout & deadMask) != 0) {
+                        continue;
+                    }
+                    int strength = handEvaluator.evaluate(boardMask | runout | comboMask);
+                    int otherStrength = handEvaluator.evaluate(boardMask | runout | otherComboMask);
+                    equity += weight * (strength > otherStrength ? 1.0 : strength == otherStrength ? 0.5 : 0.0);
+                    matchups += weight;
+                }
+            }
+        }
+
+        return equity / matchups;
+    }
+
+    /**
+     * @return Every river card after the turn, or every turn and river after the flop
+     */
+    private static List<Long> runouts(int boardCards) {
+        List<Long> runouts = new ArrayList<>();
+        for (int card = 0; card < Card.CARD_COUNT; card++) {
+            if (boardCards == 4) {
+                runouts.add(1L << card);
+            }
+            for (int otherCard = card + 1; otherCard < Card.CARD_COUNT && boardCards == 3; otherCard++) {
+                runouts.add((1L << card) | (1L << otherCard));
+            }
+        }
+
+        return runouts;
+    }
+
+}
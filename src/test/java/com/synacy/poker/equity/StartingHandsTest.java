@@ -0,0 +1,56 @@
+package com.synacy.poker.equity;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StartingHandsTest {
+
+    @Test
+    public void classOf_collapsesEveryPairOfHoleCardsInto169Classes() {
+        int[] combos = new int[StartingHands.CLASS_COUNT];
+        for (int card = 0; card < Card.CARD_COUNT; card++) {
+            for (int otherCard = card + 1; otherCard < Card.CARD_COUNT; otherCard++) {
+                int handClass = StartingHands.classOf(card, otherCard);
+                assertEquals(handClass, StartingHands.classOf(otherCard, card));
+                assertEquals(handClass, StartingHands.classOf((1L << card) | (1L << otherCard)));
+                combos[handClass]++;
+            }
+        }
+
+        for (int handClass = 0; handClass < StartingHands.CLASS_COUNT; handClass++) {
+            assertEquals(StartingHands.comboCount(handClass), combos[handClass]);
+            assertEquals(handClass, StartingHands.classOf(StartingHands.representativeMask(handClass)));
+        }
+    }
+
+    @Test
+    public void nameOf() {
+        int aceKingSuited = StartingHands.classOf(Arrays.asList(
+                Card.of(CardRank.KING, CardSuit.HEARTS), Card.of(CardRank.ACE, CardSuit.HEARTS)));
+        int tenNineOffsuit = StartingHands.classOf(Arrays.asList(
+                Card.of(CardRank.TEN, CardSuit.HEARTS), Card.of(CardRank.NINE, CardSuit.CLUBS)));
+        int queens = StartingHands.classOf(Arrays.asList(
+                Card.of(CardRank.QUEEN, CardSuit.SPADES), Card.of(CardRank.QUEEN, CardSuit.DIAMONDS)));
+
+        assertEquals("AKs", StartingHands.nameOf(aceKingSuited));
+        assertEquals("T9o", StartingHands.nameOf(tenNineOffsuit));
+        assertEquals("QQ", StartingHands.nameOf(queens));
+        assertTrue(StartingHands.isSuited(aceKingSuited));
+        assertFalse(StartingHands.isSuited(tenNineOffsuit));
+        assertTrue(StartingHands.isPair(queens));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void classOf_threeCards() {
+        StartingHands.classOf(0b111L);
+    }
+
+}
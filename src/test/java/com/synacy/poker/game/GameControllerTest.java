@@ -0,0 +1,152 @@
+package com.synacy.poker.game;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.equity.BoardAnalysisService;
+import com.synacy.poker.equity.PreflopEquityService;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.WinningHandCalculator;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GameControllerTest {
+
+    private MockMvc mockMvc;
+    private TableRegistry tableRegistry;
+    private BoardAnalysisService boardAnalysisService;
+    private GameStatePublisher gameStatePublisher;
+
+    @Before
+    public void setUp() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        tableRegistry = new TableRegistry(new DeckBuilder(), new HandIdentifier(),
+                new WinningHandCalculator(), new PreflopEquityService(), 60);
+        boardAnalysisService = new BoardAnalysisService(new BitmaskHandEvaluator(),
+                new PreflopEquityService(), 16);
+        gameStatePublisher = new GameStatePublisher(new ObjectMapper(), 60, 1);
+        mockMvc = MockMvcBuilders.standaloneSetup(new GameController(game, tableRegistry, gameStatePublisher,
+                boardAnalysisService)).build();
+    }
+
+    @After
+    public void tearDown() {
+        gameStatePublisher.shutdown();
+    }
+
+    @Test
+    public void index_notModifiedUntilTheGameChanges() throws Exception {
+        String eTag = mockMvc.perform(get("/")).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/").header("If-None-Match", eTag)).andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/nextAction")).andExpect(status().isNoContent());
+        String nextETag = mockMvc.perform(get("/").header("If-None-Match", eTag)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, nextETag);
+    }
+
+    @Test
+    public void table_notModifiedUntilTheTableChanges() throws Exception {
+        String tablePath = mockMvc.perform(post("/tables")).andReturn().getResponse().getRedirectedUrl();
+        String eTag = mockMvc.perform(get(tablePath)).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get(tablePath).header("If-None-Match", eTag)).andExpect(status().isNotModified());
+
+        mockMvc.perform(get(tablePath + "/nextAction")).andExpect(status().is3xxRedirection());
+        mockMvc.perform(get(tablePath).header("If-None-Match", eTag)).andExpect(status().isOk());
+    }
+
+    @Test
+    public void tableAnalysis_ofEachSeatOnTheFlop() throws Exception {
+        String tablePath = mockMvc.perform(post("/tables")).andReturn().getResponse().getRedirectedUrl();
+        mockMvc.perform(post(tablePath + "/nextAction")).andExpect(status().isNoContent());
+
+        mockMvc.perform(get(tablePath + "/players/0/analysis")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.runouts").value(47 * 46 / 2))
+                .andExpect(jsonPath("$.handTypeProbabilities.HIGH_CARD").isNumber());
+        mockMvc.perform(get(tablePath + "/players/3/analysis")).andExpect(status().isNotFound());
+
+        String omahaTablePath = mockMvc.perform(post("/tables").param("variant", "OMAHA")).andReturn().getResponse()
+                .getRedirectedUrl();
+        mockMvc.perform(get(omahaTablePath + "/players/0/analysis")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void tableEvents_sendTheDiffOfEveryAction() throws Exception {
+        String tablePath = mockMvc.perform(post("/tables")).andReturn().getResponse().getRedirectedUrl();
+        MockHttpServletResponse events = mockMvc.perform(get(tablePath + "/events"))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+
+        mockMvc.perform(post(tablePath + "/nextAction")).andExpect(status().isNoContent());
+        mockMvc.perform(post(tablePath + "/nextAction")).andExpect(status().isNoContent());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countEvents(events.getContentAsString()) < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String content = events.getContentAsString();
+        assertEquals(3, countEvents(content));
+        assertTrue(content.indexOf("\"communityCards\":[]") < content.indexOf("\"firstCommunityCard\":3"));
+        assertTrue(content.lastIndexOf("event:") < content.indexOf("\"firstCommunityCard\":3"));
+    }
+
+    private static int countEvents(String content) {
+        return content.split("event:" + GameStatePublisher.EVENT_NAME, -1).length - 1;
+    }
+
+    @Test
+    public void events_neverGoBackToAnOlderSnapshot() throws Exception {
+        Game game = spy(new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator()));
+        MockMvc gameMockMvc = MockMvcBuilders.standaloneSetup(new GameController(game, tableRegistry,
+                gameStatePublisher, boardAnalysisService)).build();
+        MockHttpServletResponse events = gameMockMvc.perform(get("/events"))
+                .andExpect(request().asyncStarted()).andReturn().getResponse();
+        ArgumentCaptor<GameStateListener> listener = ArgumentCaptor.forClass(GameStateListener.class);
+        verify(game).addStateListener(listener.capture());
+
+        // Plays two actions unheard, then tells about them the other way round, as two racing actions might
+        GameState deal = game.getState();
+        game.removeStateListener(listener.getValue());
+        game.nextAction();
+        GameState flop = game.getState();
+        game.nextAction();
+        GameState turn = game.getState();
+        listener.getValue().stateChanged(flop, turn);
+        listener.getValue().stateChanged(deal, flop);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countEvents(events.getContentAsString()) < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        String content = events.getContentAsString();
+        assertEquals(2, countEvents(content));
+        String lastEvent = content.substring(content.lastIndexOf("event:"));
+        assertTrue(lastEvent.contains("\"version\":" + turn.getVersion() + ","));
+        assertTrue(lastEvent.contains(turn.getCommunityCards().stream().map(card -> "\"" + card + "\"")
+                .collect(Collectors.joining(",", "\"communityCards\":[", "]"))));
+    }
+
+}
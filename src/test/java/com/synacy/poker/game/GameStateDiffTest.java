@@ -0,0 +1,79 @@
+package com.synacy.poker.game;
+
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.WinningHandCalculator;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GameStateDiffTest {
+
+    private final Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+
+    @Test
+    public void of_turnCarriesOnlyTheTurnCard() {
+        game.nextAction();
+        GameState flop = game.getState();
+        game.nextAction();
+        GameState turn = game.getState();
+
+        GameStateDiff diff = GameStateDiff.of(flop, turn);
+
+        assertEquals(3, diff.getFirstCommunityCard());
+        assertEquals(Collections.singletonList(turn.getCommunityCards().get(3).toString()), diff.getCommunityCards());
+        assertEquals(Collections.singletonList(turn.getCommunityCards().get(3).styleClass()),
+                diff.getCommunityCardStyles());
+        assertEquals(Long.toString(game.getSeed()), diff.getSeed());
+        assertEquals(turn.getPlayerHands().get(0).toString(), diff.getHands().get(0));
+        assertFalse(diff.isEnded());
+        assertTrue(diff.getWinners().isEmpty());
+    }
+
+    @Test
+    public void of_riverCarriesTheWinners() {
+        while (!game.hasEnded()) {
+            game.nextAction();
+        }
+        GameState river = game.getState();
+
+        GameStateDiff diff = GameStateDiff.of(null, river);
+
+        assertEquals(0, diff.getFirstCommunityCard());
+        assertEquals(5, diff.getCommunityCards().size());
+        assertTrue(diff.isEnded());
+        assertFalse(diff.getWinners().isEmpty());
+        for (int seat : diff.getWinners()) {
+            assertTrue(river.getShowdown().isWinner(seat));
+        }
+    }
+
+    @Test
+    public void of_newGameCarriesTheWholeBoard() {
+        game.nextAction();
+        GameState flop = game.getState();
+        game.startNewGame(game.getSeed() + 1);
+
+        GameStateDiff diff = GameStateDiff.of(flop, game.getState());
+
+        assertEquals(0, diff.getFirstCommunityCard());
+        assertTrue(diff.getCommunityCards().isEmpty());
+        assertEquals(Long.toString(game.getSeed()), diff.getSeed());
+        assertEquals(3, diff.getHands().size());
+    }
+
+    @Test
+    public void of_carriesTheVersionOfTheNextSnapshot() {
+        GameState deal = game.getState();
+        game.nextAction();
+        GameState flop = game.getState();
+
+        assertEquals(flop.getVersion(), GameStateDiff.of(deal, flop).getVersion());
+        assertEquals(deal.getVersion(), GameStateDiff.of(null, deal).getVersion());
+    }
+
+}
@@ -1,12 +1,29 @@
 package com.synacy.poker.game;
 
+import com.synacy.poker.card.Card;
 import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.equity.PreflopEquityService;
 import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.HandValue;
 import com.synacy.poker.hand.WinningHandCalculator;
+import com.synacy.poker.hand.evaluator.OmahaHandEvaluator;
+import com.synacy.poker.util.PokerUtil;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class GameTest {
 
@@ -56,4 +73,293 @@ public class GameTest {
         game.nextAction();
         assertEquals("Expecting 5 community cards", 5, game.getCommunityCards().size());
     }
+
+    @Test
+    public void startNewGame_withSeedOfEarlierGame_dealsTheSameCards() {
+        DeckBuilder deckBuilder = new DeckBuilder();
+        HandIdentifier handIdentifier = mock(HandIdentifier.class);
+        WinningHandCalculator winningHandCalculator = mock(WinningHandCalculator.class);
+
+        Game game = new Game(deckBuilder, handIdentifier, winningHandCalculator);
+        long seed = game.getSeed();
+        String dealtCards = dealtCards(game);
+        game.nextAction();
+        String communityCards = game.getCommunityCards().toString();
+
+        game.startNewGame(seed);
+        game.nextAction();
+
+        assertEquals(dealtCards, dealtCards(game));
+        assertEquals(communityCards, game.getCommunityCards().toString());
+    }
+
+    @Test
+    public void startNewGame_reusesTheDeck() {
+        DeckBuilder deckBuilder = spy(new DeckBuilder());
+        Game game = new Game(deckBuilder, new HandIdentifier(), new WinningHandCalculator());
+        long seed = game.getSeed();
+        String dealtCards = dealtCards(game);
+
+        game.startNewGame();
+        game.startNewGame(seed);
+
+        verify(deckBuilder, times(1)).buildDeck();
+        assertEquals(dealtCards, dealtCards(game));
+    }
+
+    @Test
+    public void startNewGame_clearsWinningHand() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        while (!game.hasEnded()) {
+            game.nextAction();
+        }
+        assertNotNull(game.getWinningHand());
+
+        game.startNewGame();
+
+        assertNull(game.getWinningHand());
+    }
+
+    @Test
+    public void checkIfPlayerWon_onlyOnceTheGameHasEnded() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        Card[] deck = game.getState().getDeck();
+        Player outsider = new Player("Outsider", Arrays.asList(deck[deck.length - 1], deck[deck.length - 2]));
+        while (!game.hasEnded()) {
+            assertFalse(game.checkIfPlayerWon(game.getPlayers().get(0)));
+            assertFalse(game.checkIfPlayerWon(outsider));
+            game.nextAction();
+        }
+
+        assertTrue(game.getPlayers().stream().anyMatch(game::checkIfPlayerWon));
+    }
+
+    @Test
+    public void nextAction_leavesEarlierSnapshotsUnchanged() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        GameState dealt = game.getState();
+        String dealtCards = dealtCards(game);
+
+        while (!game.hasEnded()) {
+            game.nextAction();
+        }
+
+        assertEquals(0, dealt.getCommunityCards().size());
+        assertEquals(6, dealt.getDeckCursor());
+        assertNull(dealt.getWinningHand());
+        assertEquals(dealtCards, dealt.getPlayers().stream().map(Player::getHand).map(Object::toString)
+                .reduce("", String::concat));
+        assertEquals(5, game.getState().getCommunityCards().size());
+        assertEquals(6 + 3 + 5, game.getState().getDeckCursor());
+    }
+
+    @Test
+    public void getState_isConsistentWhileAnotherThreadPlays() throws Exception {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        Thread dealer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                if (game.hasEnded()) {
+                    game.startNewGame();
+                } else {
+                    game.nextAction();
+                }
+            }
+        });
+        dealer.start();
+
+        while (dealer.isAlive()) {
+            GameState state = game.getState();
+            int communityCards = state.getCommunityCards().size();
+            int burntCards = communityCards == 0 ? 0 : communityCards - 2;
+            assertEquals(6 + burntCards + communityCards, state.getDeckCursor());
+            assertEquals(state.hasEnded(), state.getWinningHand() != null);
+        }
+        dealer.join();
+    }
+
+    @Test
+    public void constructor_seatsTenPlayers() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 10,
+                new PreflopEquityService(), GameVariant.TEXAS_HOLDEM);
+        while (!game.hasEnded()) {
+            game.nextAction();
+        }
+
+        assertEquals(10, game.getPlayers().size());
+        assertPlayersHaveTwoCardsEach(game);
+        assertEquals(10, game.getShowdown().getPlayerCount());
+        assertEquals(20 + 3 + 5, game.getState().getDeckCursor());
+    }
+
+    @Test
+    public void constructor_omahaDealsFourCardsEachAndPlaysTwoOfThem() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 10,
+                new PreflopEquityService(), GameVariant.OMAHA);
+        while (!game.hasEnded()) {
+            game.nextAction();
+            assertTrue(game.getState().getPlayerOuts().isEmpty());
+        }
+
+        assertEquals(40 + 3 + 5, game.getState().getDeckCursor());
+        long boardMask = PokerUtil.getCardMask(game.getCommunityCards());
+        OmahaHandEvaluator omahaHandEvaluator = new OmahaHandEvaluator();
+        for (int seat = 0; seat < 10; seat++) {
+            Player player = game.getPlayers().get(seat);
+            assertEquals(4, player.getHand().size());
+            assertFalse(player.hasPreflopEquity());
+
+            int strength = omahaHandEvaluator.evaluate(PokerUtil.getCardMask(player.getHand()), boardMask);
+            HandValue handValue = game.getShowdown().getHandValues().get(seat);
+            assertEquals(strength, handValue.getStrength());
+            assertEquals(strength, game.getState().getHandStrength(seat));
+            assertEquals(2, player.getHand().stream().filter(handValue.toHand().getCards()::contains).count());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_tooManySeats() {
+        new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 11, new PreflopEquityService(),
+                GameVariant.TEXAS_HOLDEM);
+    }
+
+    private String dealtCards(Game game) {
+        StringBuilder dealtCards = new StringBuilder();
+        game.getPlayers().forEach(player -> dealtCards.append(player.getHand()));
+        return dealtCards.toString();
+    }
+
+    @Test
+    public void startNewGame_looksUpEachPlayersPreflopEquity() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 4,
+                new PreflopEquityService(), GameVariant.TEXAS_HOLDEM);
+
+        for (Player player : game.getPlayers()) {
+            assertTrue(player.hasPreflopEquity());
+            assertEquals(new PreflopEquityService().getEquity(player.getHand(), 3), player.getPreflopEquity(), 0.0);
+        }
+    }
+
+    @Test
+    public void addStateListener_isToldAboutEveryChange() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        List<GameState> changes = new ArrayList<>();
+        game.addStateListener((previous, next) -> {
+            assertSame(next, game.getState());
+            changes.add(previous);
+            changes.add(next);
+        });
+        GameState dealt = game.getState();
+
+        game.nextAction();
+        game.startNewGame();
+
+        assertEquals(4, changes.size());
+        assertSame(dealt, changes.get(0));
+        assertSame(changes.get(1), changes.get(2));
+        assertSame(game.getState(), changes.get(3));
+    }
+
+    @Test
+    public void removeStateListener() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        List<GameState> changes = new ArrayList<>();
+        GameStateListener listener = (previous, next) -> changes.add(next);
+        game.addStateListener(listener);
+
+        game.removeStateListener(listener);
+        game.nextAction();
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void getVersion_increasesWithEveryChange() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        long version = game.getVersion();
+        while (!game.hasEnded()) {
+            game.nextAction();
+            assertTrue(game.getVersion() > version);
+            version = game.getVersion();
+        }
+        game.startNewGame();
+
+        assertTrue(game.getVersion() > version);
+    }
+
+    @Test
+    public void getVersion_increasesByOneWithEveryNewGameOnAnyThread() throws Exception {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        long firstVersion = game.getVersion();
+        List<String> decreases = new ArrayList<>();
+        game.addStateListener((previous, next) -> {
+            if (next.getVersion() <= previous.getVersion()) {
+                synchronized (decreases) {
+                    decreases.add(previous.getVersion() + " to " + next.getVersion());
+                }
+            }
+        });
+
+        List<Thread> dealers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread dealer = new Thread(() -> {
+                for (int newGame = 0; newGame < 500; newGame++) {
+                    game.startNewGame();
+                }
+            });
+            dealers.add(dealer);
+            dealer.start();
+        }
+        for (Thread dealer : dealers) {
+            dealer.join();
+        }
+
+        assertTrue(decreases.toString(), decreases.isEmpty());
+        assertEquals(firstVersion + 4 * 500, game.getVersion());
+    }
+
+    @Test
+    public void advance_startsANewGameOnlyOverAnEndedOneOnAnyThread() throws Exception {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        List<String> discardedGames = new ArrayList<>();
+        game.addStateListener((previous, next) -> {
+            if (next.getCommunityCards().isEmpty() && !previous.hasEnded()) {
+                synchronized (discardedGames) {
+                    discardedGames.add(previous.getVersion() + " to " + next.getVersion());
+                }
+            }
+        });
+
+        List<Thread> players = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread player = new Thread(() -> {
+                for (int click = 0; click < 1_000; click++) {
+                    game.advance();
+                }
+            });
+            players.add(player);
+            player.start();
+        }
+        for (Thread player : players) {
+            player.join();
+        }
+
+        assertTrue(discardedGames.toString(), discardedGames.isEmpty());
+    }
+
+    @Test
+    public void getPlayerOuts_onTheFlopAndTheTurnOnly() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        assertTrue(game.getState().getPlayerOuts().isEmpty());
+
+        game.nextAction();
+        assertEquals(3, game.getState().getPlayerOuts().size());
+        game.nextAction();
+        assertEquals(3, game.getState().getPlayerOuts().size());
+        assertNotNull(game.getState().getOuts(game.getPlayers().get(0)));
+
+        game.nextAction();
+        assertTrue(game.getState().getPlayerOuts().isEmpty());
+        assertNull(game.getState().getOuts(game.getPlayers().get(0)));
+    }
+
 }
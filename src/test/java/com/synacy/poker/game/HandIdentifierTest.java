@@ -5,6 +5,8 @@ import com.synacy.poker.card.CardRank;
 import com.synacy.poker.card.CardSuit;
 import com.synacy.poker.hand.Hand;
 import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.HandValue;
+import com.synacy.poker.hand.evaluator.BitmaskHandEvaluator;
 import com.synacy.poker.hand.types.Flush;
 import com.synacy.poker.hand.types.FourOfAKind;
 import com.synacy.poker.hand.types.FullHouse;
@@ -17,6 +19,7 @@ import com.synacy.poker.hand.types.TwoPair;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -237,4 +240,33 @@ public class HandIdentifierTest {
 		assertTrue(identifiedHand instanceof HighCard);
 		assertEquals("A,Q,J,10,6", identifiedHand.toString());
 	}
+
+	@Test
+	public void evaluateOmahaHand_ranksTheBestTwoAndThreeCardsOnEveryStreet() {
+		List<Card> playerCards = Arrays.asList(
+				new Card(CardRank.ACE, CardSuit.SPADES),
+				new Card(CardRank.KING, CardSuit.SPADES),
+				new Card(CardRank.ACE, CardSuit.HEARTS),
+				new Card(CardRank.TWO, CardSuit.CLUBS)
+		);
+		List<Card> communityCards = Arrays.asList(
+				new Card(CardRank.QUEEN, CardSuit.SPADES),
+				new Card(CardRank.ACE, CardSuit.DIAMONDS),
+				new Card(CardRank.TEN, CardSuit.SPADES),
+				new Card(CardRank.JACK, CardSuit.SPADES),
+				new Card(CardRank.SEVEN, CardSuit.SPADES)
+		);
+		BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+
+		for (int dealt = 3; dealt <= communityCards.size(); dealt++) {
+			List<Card> board = communityCards.subList(0, dealt);
+			HandValue handValue = handIdentifier.evaluateOmahaHand(playerCards, board);
+
+			assertEquals(handEvaluator.evaluate(handValue.getCardMask()), handValue.getStrength());
+			assertEquals(handIdentifier.evaluateOmahaHands(Collections.singletonList(playerCards), board).get(0)
+					.getStrength(), handValue.getStrength());
+		}
+		assertEquals("Royal Flush", handIdentifier.evaluateOmahaHand(playerCards, communityCards).toHand().toString());
+	}
+
 }
@@ -0,0 +1,105 @@
+package com.synacy.poker.game;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.hand.Hand;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.hand.HandValue;
+import com.synacy.poker.hand.WinningHandCalculator;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ShowdownTest {
+
+    private final HandIdentifier handIdentifier = new HandIdentifier();
+
+    @Test
+    public void ranksAndTies() {
+        List<Card> board = Arrays.asList(
+                Card.of(CardRank.TWO, CardSuit.HEARTS),
+                Card.of(CardRank.SEVEN, CardSuit.DIAMONDS),
+                Card.of(CardRank.NINE, CardSuit.HEARTS),
+                Card.of(CardRank.JACK, CardSuit.DIAMONDS),
+                Card.of(CardRank.THREE, CardSuit.CLUBS)
+        );
+        List<HandValue> handValues = Arrays.asList(
+                handIdentifier.evaluateHand(Arrays.asList(
+                        Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.KING, CardSuit.SPADES)), board),
+                handIdentifier.evaluateHand(Arrays.asList(
+                        Card.of(CardRank.FOUR, CardSuit.SPADES), Card.of(CardRank.FOUR, CardSuit.CLUBS)), board),
+                handIdentifier.evaluateHand(Arrays.asList(
+                        Card.of(CardRank.FOUR, CardSuit.HEARTS), Card.of(CardRank.FOUR, CardSuit.DIAMONDS)), board)
+        );
+
+        Showdown showdown = new Showdown(handValues,
+                new WinningHandCalculator().calculateWinningHandValue(handValues));
+
+        assertEquals(3, showdown.getRank(0));
+        assertEquals(1, showdown.getRank(1));
+        assertEquals(1, showdown.getRank(2));
+        assertFalse(showdown.isWinner(0));
+        assertTrue(showdown.isTied(1));
+        assertTrue(showdown.isTied(2));
+        assertEquals(2, showdown.getWinnerCount());
+        assertEquals(handValues.get(1).getStrength(), showdown.getStrength(2));
+        assertEquals(HandType.HIGH_CARD, showdown.getHandType(0));
+        assertEquals(HandType.ONE_PAIR, showdown.getHandType(1));
+    }
+
+    @Test
+    public void handsAreBuiltOnceFromTheHandValues() {
+        List<Card> board = Arrays.asList(
+                Card.of(CardRank.TWO, CardSuit.HEARTS),
+                Card.of(CardRank.TWO, CardSuit.DIAMONDS),
+                Card.of(CardRank.NINE, CardSuit.HEARTS)
+        );
+        List<HandValue> handValues = Arrays.asList(
+                handIdentifier.evaluateHand(Arrays.asList(
+                        Card.of(CardRank.NINE, CardSuit.SPADES), Card.of(CardRank.KING, CardSuit.SPADES)), board),
+                handIdentifier.evaluateHand(Arrays.asList(
+                        Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.KING, CardSuit.CLUBS)), board)
+        );
+
+        Showdown showdown = new Showdown(handValues,
+                new WinningHandCalculator().calculateWinningHandValue(handValues));
+
+        Hand winningHand = showdown.getWinningHand();
+        assertEquals(HandType.TWO_PAIR, winningHand.getHandType());
+        assertSame(winningHand, showdown.getHand(0));
+        assertSame(winningHand, showdown.getHands().get(0));
+        assertEquals(handIdentifier.identifyHand(Arrays.asList(
+                Card.of(CardRank.ACE, CardSuit.SPADES), Card.of(CardRank.KING, CardSuit.CLUBS)), board).toString(),
+                showdown.getHand(1).toString());
+    }
+
+    @Test
+    public void game_showdownIsSharedByEveryRead() {
+        Game game = new Game(new DeckBuilder(), handIdentifier, new WinningHandCalculator());
+        while (!game.hasEnded()) {
+            game.nextAction();
+        }
+
+        Showdown showdown = game.getShowdown();
+
+        assertNotNull(showdown);
+        for (int seat = 0; seat < showdown.getPlayerCount(); seat++) {
+            Player player = game.getPlayers().get(seat);
+            assertSame(showdown.getHand(seat), game.identifyPlayerHand(player));
+            assertEquals(handIdentifier.identifyHand(player.getHand(), game.getCommunityCards()).getStrength(),
+                    game.getState().getHandStrength(seat));
+            assertEquals(showdown.isWinner(seat), game.checkIfPlayerWon(player));
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.synacy.poker.game;
+
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.equity.PreflopEquityService;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.WinningHandCalculator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class TableRegistryTest {
+
+    private TableRegistry tableRegistry(long idleTimeoutSeconds) {
+        return new TableRegistry(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(),
+                new PreflopEquityService(), idleTimeoutSeconds);
+    }
+
+    @Test
+    public void createTable_eachTableHasItsOwnGame() {
+        TableRegistry tableRegistry = tableRegistry(60);
+
+        Set<String> tableIds = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            tableIds.add(tableRegistry.createTable());
+        }
+
+        assertEquals(10_000, tableIds.size());
+        assertEquals(10_000, tableRegistry.size());
+
+        List<String> ids = new ArrayList<>(tableIds);
+        assertNotSame(tableRegistry.findTable(ids.get(0)).get(), tableRegistry.findTable(ids.get(1)).get());
+    }
+
+    @Test
+    public void createTable_ofAVariant() {
+        TableRegistry tableRegistry = tableRegistry(60);
+
+        Game game = tableRegistry.findTable(tableRegistry.createTable(6, GameVariant.OMAHA)).get();
+
+        assertEquals(GameVariant.OMAHA, game.getVariant());
+        assertEquals(6, game.getPlayers().size());
+        assertEquals(GameVariant.TEXAS_HOLDEM, tableRegistry.findTable(tableRegistry.createTable()).get().getVariant());
+    }
+
+    @Test
+    public void findTable_unknownTable() {
+        assertFalse(tableRegistry(60).findTable("unknown").isPresent());
+    }
+
+    @Test
+    public void evictTable() {
+        TableRegistry tableRegistry = tableRegistry(60);
+        String tableId = tableRegistry.createTable();
+
+        assertTrue(tableRegistry.evictTable(tableId));
+
+        assertFalse(tableRegistry.findTable(tableId).isPresent());
+        assertFalse(tableRegistry.evictTable(tableId));
+        assertFalse(tableRegistry.updateTable(tableId, Game::nextAction));
+    }
+
+    @Test
+    public void evictIdleTables() throws InterruptedException {
+        TableRegistry tableRegistry = tableRegistry(0);
+        tableRegistry.createTable();
+        tableRegistry.createTable();
+        Thread.sleep(1);
+
+        tableRegistry.evictIdleTables();
+
+        assertEquals(0, tableRegistry.size());
+    }
+
+    @Test
+    public void updateTable_concurrentChangesDoNotOverlap() throws Exception {
+        TableRegistry tableRegistry = tableRegistry(60);
+        String tableId = tableRegistry.createTable();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int worker = 0; worker < 4; worker++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    tableRegistry.updateTable(tableId, game -> {
+                        if (game.hasEnded()) {
+                            game.startNewGame();
+                        } else {
+                            game.nextAction();
+                        }
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Game game = tableRegistry.findTable(tableId).get();
+        assertEquals("8,000 actions play exactly 2,000 games", 0, game.getCommunityCards().size());
+        game.getPlayers().forEach(player -> assertEquals(2, player.getHand().size()));
+    }
+
+}
@@ -56,4 +56,27 @@ public class WinningHandCalculatorTest {
 
         assertEquals(hand.getHandType(), HandType.STRAIGHT_FLUSH);
     }
+
+    @Test
+    public void calculateWinningHand_samePairIsDecidedByLastKicker() {
+        List<Card> pair = Arrays.asList(
+                new Card(CardRank.JACK, CardSuit.CLUBS),
+                new Card(CardRank.JACK, CardSuit.HEARTS)
+        );
+        OnePair weakerKickers = new OnePair(pair, Arrays.asList(
+                new Card(CardRank.ACE, CardSuit.CLUBS),
+                new Card(CardRank.KING, CardSuit.DIAMONDS),
+                new Card(CardRank.SEVEN, CardSuit.SPADES)
+        ));
+        OnePair strongerKickers = new OnePair(pair, Arrays.asList(
+                new Card(CardRank.ACE, CardSuit.SPADES),
+                new Card(CardRank.KING, CardSuit.HEARTS),
+                new Card(CardRank.EIGHT, CardSuit.SPADES)
+        ));
+
+        WinningHandCalculator winningHandCalculator = new WinningHandCalculator();
+        Hand hand = winningHandCalculator.calculateWinningHand(Arrays.asList(weakerKickers, strongerKickers));
+
+        assertEquals(strongerKickers, hand);
+    }
 }
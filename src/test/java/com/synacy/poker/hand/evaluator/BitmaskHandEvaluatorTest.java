@@ -0,0 +1,105 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.util.PokerUtil;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BitmaskHandEvaluatorTest {
+
+    private BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+
+    @Test
+    public void evaluate_wheelIsAFiveHighStraight() {
+        int strength = evaluate(
+                new Card(CardRank.ACE, CardSuit.SPADES),
+                new Card(CardRank.TWO, CardSuit.CLUBS),
+                new Card(CardRank.THREE, CardSuit.HEARTS),
+                new Card(CardRank.FOUR, CardSuit.SPADES),
+                new Card(CardRank.FIVE, CardSuit.DIAMONDS),
+                new Card(CardRank.KING, CardSuit.DIAMONDS),
+                new Card(CardRank.NINE, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.STRAIGHT, HandStrength.getHandType(strength));
+        assertEquals(CardRank.FIVE.ordinal(), HandStrength.getRank(strength, 0));
+    }
+
+    @Test
+    public void evaluate_fullHousePrefersTheHigherTrips() {
+        int strength = evaluate(
+                new Card(CardRank.SEVEN, CardSuit.SPADES),
+                new Card(CardRank.SEVEN, CardSuit.CLUBS),
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.NINE, CardSuit.SPADES),
+                new Card(CardRank.NINE, CardSuit.DIAMONDS),
+                new Card(CardRank.NINE, CardSuit.CLUBS),
+                new Card(CardRank.TWO, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.FULL_HOUSE, HandStrength.getHandType(strength));
+        assertEquals(CardRank.NINE.ordinal(), HandStrength.getRank(strength, 0));
+        assertEquals(CardRank.SEVEN.ordinal(), HandStrength.getRank(strength, 1));
+    }
+
+    @Test
+    public void evaluate_holeCardsOnly() {
+        int strength = evaluate(
+                new Card(CardRank.QUEEN, CardSuit.SPADES),
+                new Card(CardRank.QUEEN, CardSuit.HEARTS)
+        );
+
+        assertEquals(HandType.ONE_PAIR, HandStrength.getHandType(strength));
+        assertEquals(CardRank.QUEEN.ordinal(), HandStrength.getRank(strength, 0));
+        assertEquals(-1, HandStrength.getRank(strength, 1));
+    }
+
+    @Test
+    public void evaluate_kickersBreakTies() {
+        int aceKicker = evaluate(
+                new Card(CardRank.TEN, CardSuit.SPADES),
+                new Card(CardRank.TEN, CardSuit.HEARTS),
+                new Card(CardRank.ACE, CardSuit.CLUBS),
+                new Card(CardRank.EIGHT, CardSuit.DIAMONDS),
+                new Card(CardRank.SIX, CardSuit.CLUBS)
+        );
+        int kingKicker = evaluate(
+                new Card(CardRank.TEN, CardSuit.CLUBS),
+                new Card(CardRank.TEN, CardSuit.DIAMONDS),
+                new Card(CardRank.KING, CardSuit.CLUBS),
+                new Card(CardRank.EIGHT, CardSuit.SPADES),
+                new Card(CardRank.SIX, CardSuit.HEARTS)
+        );
+
+        assertTrue(aceKicker > kingKicker);
+    }
+
+    @Test
+    public void evaluate_straightFlushBeatsQuads() {
+        int strength = evaluate(
+                new Card(CardRank.NINE, CardSuit.HEARTS),
+                new Card(CardRank.EIGHT, CardSuit.HEARTS),
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.SIX, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.HEARTS),
+                new Card(CardRank.NINE, CardSuit.SPADES),
+                new Card(CardRank.NINE, CardSuit.CLUBS),
+                new Card(CardRank.NINE, CardSuit.DIAMONDS)
+        );
+
+        assertEquals(HandType.STRAIGHT_FLUSH, HandStrength.getHandType(strength));
+        assertEquals(CardRank.NINE.ordinal(), HandStrength.getRank(strength, 0));
+    }
+
+    private int evaluate(Card... cards) {
+        return handEvaluator.evaluate(PokerUtil.getCardMask(Arrays.asList(cards)));
+    }
+
+}
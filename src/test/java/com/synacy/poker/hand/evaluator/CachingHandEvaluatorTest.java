@@ -0,0 +1,135 @@
+package com.synacy.poker.hand.evaluator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CachingHandEvaluatorTest {
+
+    private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+
+    @Test
+    public void evaluate_secondLookupIsAHit() {
+        CachingHandEvaluator cachingHandEvaluator = new CachingHandEvaluator(handEvaluator, 1024);
+        long cardMask = 0b111_1100L;
+
+        int strength = cachingHandEvaluator.evaluate(cardMask);
+
+        assertEquals(handEvaluator.evaluate(cardMask), strength);
+        assertEquals(strength, cachingHandEvaluator.evaluate(cardMask));
+        assertEquals(1, cachingHandEvaluator.getEvaluationCache().getMisses());
+        assertEquals(1, cachingHandEvaluator.getEvaluationCache().getHits());
+    }
+
+    @Test
+    public void evaluationCache_evictsOnceFull() {
+        EvaluationCache evaluationCache = new EvaluationCache(64);
+        for (long cardMask = 1; cardMask <= 1_000; cardMask++) {
+            evaluationCache.put(cardMask, (int) cardMask);
+        }
+
+        int cached = 0;
+        for (long cardMask = 1; cardMask <= 1_000; cardMask++) {
+            int strength = evaluationCache.get(cardMask);
+            if (strength >= 0) {
+                assertEquals(cardMask, strength);
+                cached++;
+            }
+        }
+
+        assertEquals(64, evaluationCache.getCapacity());
+        assertTrue(cached <= 64);
+        assertTrue(evaluationCache.get(1_000) >= 0);
+    }
+
+    @Test
+    public void evaluationCache_keepsRecentlyHitStrengths() {
+        EvaluationCache evaluationCache = new EvaluationCache(4);
+        for (long cardMask = 1; cardMask <= 4; cardMask++) {
+            evaluationCache.put(cardMask, (int) cardMask);
+        }
+        evaluationCache.get(3);
+
+        evaluationCache.put(5, 5);
+
+        assertEquals(3, evaluationCache.get(3));
+        assertEquals(5, evaluationCache.get(5));
+    }
+
+    @Test
+    public void evaluate_neverReturnsAnotherHandsStrengthUnderContention() throws Exception {
+        CachingHandEvaluator cachingHandEvaluator = new CachingHandEvaluator(handEvaluator, 256);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                long seed = thread;
+                futures.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int deal = 0; deal < 50_000; deal++) {
+                        long cardMask = 0L;
+                        while (Long.bitCount(cardMask) < 7) {
+                            cardMask |= 1L << random.nextInt(20);
+                        }
+                        assertEquals(handEvaluator.evaluate(cardMask), cachingHandEvaluator.evaluate(cardMask));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(cachingHandEvaluator.getEvaluationCache().getHits() > 0);
+    }
+
+    @Test
+    public void evaluationCache_neverPairsACardMaskWithAnotherStrengthUnderContention() throws Exception {
+        EvaluationCache evaluationCache = new EvaluationCache(8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                long seed = thread;
+                futures.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int i = 0; i < 200_000; i++) {
+                        long cardMask = 1 + random.nextInt(64);
+                        if (random.nextBoolean()) {
+                            evaluationCache.put(cardMask, strengthOf(cardMask));
+                        } else {
+                            int strength = evaluationCache.get(cardMask);
+                            assertTrue(cardMask + " was cached as " + strength,
+                                    strength == -1 || strength == strengthOf(cardMask));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(evaluationCache.getHits() > 0);
+    }
+
+    /**
+     * Strengths that XOR with one another into other card masks of the test, as a torn slot would
+     */
+    private static int strengthOf(long cardMask) {
+        return (int) (cardMask * 3 & 63);
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+public class HandAccumulatorTest {
+
+    private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+
+    @Test
+    public void plus_matchesFullEvaluationOnEveryStreet() {
+        SplittableRandom random = new SplittableRandom(1L);
+        for (int deal = 0; deal < 20_000; deal++) {
+            HandAccumulator handAccumulator = HandAccumulator.EMPTY;
+            long cardMask = 0L;
+            while (Long.bitCount(cardMask) < 9) {
+                int cardCode = random.nextInt(Card.CARD_COUNT);
+                if ((cardMask & (1L << cardCode)) != 0) {
+                    continue;
+                }
+                cardMask |= 1L << cardCode;
+                handAccumulator = handAccumulator.plus(cardCode);
+
+                assertEquals(cardMask, handAccumulator.getCardMask());
+                assertEquals(handEvaluator.evaluate(cardMask), handAccumulator.getStrength());
+            }
+        }
+    }
+
+    @Test
+    public void plus_countsRanksAndSuits() {
+        HandAccumulator handAccumulator = HandAccumulator.EMPTY
+                .plus(Card.of(CardRank.ACE, CardSuit.HEARTS))
+                .plus(Card.of(CardRank.ACE, CardSuit.SPADES))
+                .plus(Card.of(CardRank.TEN, CardSuit.HEARTS));
+
+        assertEquals(3, handAccumulator.getCardCount());
+        assertEquals(2, handAccumulator.getRankCount(CardRank.ACE.ordinal()));
+        assertEquals(1, handAccumulator.getRankCount(CardRank.TEN.ordinal()));
+        assertEquals(2, handAccumulator.getSuitCount(CardSuit.HEARTS.ordinal()));
+        assertEquals(0, handAccumulator.getSuitCount(CardSuit.CLUBS.ordinal()));
+    }
+
+    @Test
+    public void plus_leavesEarlierAccumulatorUnchanged() {
+        HandAccumulator flop = HandAccumulator.EMPTY.plus(Card.of(CardRank.ACE, CardSuit.HEARTS));
+
+        flop.plus(Card.of(CardRank.ACE, CardSuit.SPADES));
+
+        assertEquals(1, flop.getCardCount());
+    }
+
+    @Test
+    public void evaluateAll_matchesEvaluatingEachPlayer() {
+        SplittableRandom random = new SplittableRandom(2L);
+        LookupTableHandEvaluator lookupTableHandEvaluator = LookupTableHandEvaluator.inMemory();
+        for (int deal = 0; deal < 5_000; deal++) {
+            long dealtMask = 0L;
+            long[] holeMasks = new long[10];
+            long boardMask = 0L;
+            int boardCards = random.nextInt(6);
+            for (int card = 0; card < 20 + boardCards; card++) {
+                int cardCode;
+                do {
+                    cardCode = random.nextInt(Card.CARD_COUNT);
+                } while ((dealtMask & (1L << cardCode)) != 0);
+                dealtMask |= 1L << cardCode;
+                if (card < 20) {
+                    holeMasks[card % 10] |= 1L << cardCode;
+                } else {
+                    boardMask |= 1L << cardCode;
+                }
+            }
+
+            int[] strengths = new int[10];
+            int[] lookupTableStrengths = new int[10];
+            handEvaluator.evaluateAll(boardMask, holeMasks, strengths);
+            lookupTableHandEvaluator.evaluateAll(boardMask, holeMasks, lookupTableStrengths);
+            for (int player = 0; player < 10; player++) {
+                assertEquals(handEvaluator.evaluate(boardMask | holeMasks[player]), strengths[player]);
+                assertEquals(strengths[player], lookupTableStrengths[player]);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void plus_cardAlreadyHeld() {
+        HandAccumulator.EMPTY
+                .plus(Card.of(CardRank.ACE, CardSuit.HEARTS))
+                .plus(Card.of(CardRank.ACE, CardSuit.HEARTS));
+    }
+
+}
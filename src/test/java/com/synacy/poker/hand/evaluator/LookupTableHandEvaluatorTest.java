@@ -0,0 +1,60 @@
+package com.synacy.poker.hand.evaluator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LookupTableHandEvaluatorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BitmaskHandEvaluator bitmaskHandEvaluator = new BitmaskHandEvaluator();
+
+    @Test
+    public void evaluate_matchesBitmaskEvaluatorForAnyNumberOfCards() {
+        LookupTableHandEvaluator handEvaluator = LookupTableHandEvaluator.inMemory();
+        Random random = new Random(42);
+
+        for (int cardCount = 1; cardCount <= 8; cardCount++) {
+            for (int i = 0; i < 20_000; i++) {
+                long cardMask = randomCards(random, cardCount);
+                assertEquals(bitmaskHandEvaluator.evaluate(cardMask), handEvaluator.evaluate(cardMask));
+            }
+        }
+    }
+
+    @Test
+    public void load_writesAndMapsMissingTableFile() throws Exception {
+        File tableFile = new File(temporaryFolder.getRoot(), "hand-ranks.bin");
+
+        LookupTableHandEvaluator handEvaluator = LookupTableHandEvaluator.load(tableFile.toPath());
+
+        assertTrue(tableFile.isFile());
+        long royalFlush = 0b1_1111_0000_0000L;
+        assertEquals(bitmaskHandEvaluator.evaluate(royalFlush), handEvaluator.evaluate(royalFlush));
+        assertEquals(handEvaluator.evaluate(royalFlush), LookupTableHandEvaluator.map(tableFile.toPath()).evaluate(royalFlush));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void map_rejectsFileThatIsNotATable() throws Exception {
+        File tableFile = temporaryFolder.newFile("not-a-table.bin");
+
+        LookupTableHandEvaluator.map(tableFile.toPath());
+    }
+
+    private long randomCards(Random random, int cardCount) {
+        long cardMask = 0L;
+        while (Long.bitCount(cardMask) < cardCount) {
+            cardMask |= 1L << random.nextInt(52);
+        }
+        return cardMask;
+    }
+
+}
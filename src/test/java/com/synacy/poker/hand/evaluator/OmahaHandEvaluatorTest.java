@@ -0,0 +1,170 @@
+package com.synacy.poker.hand.evaluator;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.util.PokerUtil;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+public class OmahaHandEvaluatorTest {
+
+    private final OmahaHandEvaluator omahaHandEvaluator = new OmahaHandEvaluator();
+    private final BitmaskHandEvaluator handEvaluator = new BitmaskHandEvaluator();
+
+    @Test
+    public void evaluate_matchesEveryHandOfTwoHoleCardsAndThreeCommunityCards() {
+        SplittableRandom random = new SplittableRandom(1L);
+        for (int deal = 0; deal < 20_000; deal++) {
+            long boardMask = randomCards(random, 0L, 3 + deal % 3);
+            long holeMask = randomCards(random, boardMask, OmahaHandEvaluator.HOLE_CARDS);
+
+            int strength = omahaHandEvaluator.evaluate(holeMask, boardMask);
+            assertEquals(bruteForce(holeMask, boardMask), strength);
+
+            long bestHand = omahaHandEvaluator.bestHand(holeMask, boardMask);
+            assertEquals(2, Long.bitCount(bestHand & holeMask));
+            assertEquals(3, Long.bitCount(bestHand & boardMask));
+            assertEquals(strength, handEvaluator.evaluate(bestHand));
+        }
+    }
+
+    @Test
+    public void evaluateAll_matchesEvaluatingEachPlayer() {
+        SplittableRandom random = new SplittableRandom(2L);
+        for (int deal = 0; deal < 2_000; deal++) {
+            long boardMask = randomCards(random, 0L, 5);
+            long[] holeMasks = new long[10];
+            long dealt = boardMask;
+            for (int player = 0; player < holeMasks.length; player++) {
+                holeMasks[player] = randomCards(random, dealt, OmahaHandEvaluator.HOLE_CARDS);
+                dealt |= holeMasks[player];
+            }
+
+            int[] strengths = new int[holeMasks.length];
+            long[] bestHands = new long[holeMasks.length];
+            omahaHandEvaluator.evaluateAll(boardMask, holeMasks, strengths, bestHands);
+
+            for (int player = 0; player < holeMasks.length; player++) {
+                assertEquals(omahaHandEvaluator.evaluate(holeMasks[player], boardMask), strengths[player]);
+                assertEquals(omahaHandEvaluator.bestHand(holeMasks[player], boardMask), bestHands[player]);
+            }
+        }
+    }
+
+    @Test
+    public void evaluate_oneSuitedHoleCardDoesNotMakeAFlush() {
+        long holeMask = cardMask(
+                Card.of(CardRank.ACE, CardSuit.HEARTS),
+                Card.of(CardRank.KING, CardSuit.SPADES),
+                Card.of(CardRank.QUEEN, CardSuit.SPADES),
+                Card.of(CardRank.TWO, CardSuit.CLUBS));
+        long boardMask = cardMask(
+                Card.of(CardRank.THREE, CardSuit.HEARTS),
+                Card.of(CardRank.SEVEN, CardSuit.HEARTS),
+                Card.of(CardRank.NINE, CardSuit.HEARTS),
+                Card.of(CardRank.JACK, CardSuit.HEARTS),
+                Card.of(CardRank.FIVE, CardSuit.DIAMONDS));
+
+        assertEquals(HandType.HIGH_CARD, HandStrength.getHandType(omahaHandEvaluator.evaluate(holeMask, boardMask)));
+    }
+
+    @Test
+    public void evaluate_threeSuitedHoleCardsPlayOnlyTwo() {
+        long holeMask = cardMask(
+                Card.of(CardRank.ACE, CardSuit.HEARTS),
+                Card.of(CardRank.KING, CardSuit.HEARTS),
+                Card.of(CardRank.QUEEN, CardSuit.HEARTS),
+                Card.of(CardRank.TWO, CardSuit.CLUBS));
+        long boardMask = cardMask(
+                Card.of(CardRank.THREE, CardSuit.HEARTS),
+                Card.of(CardRank.SEVEN, CardSuit.HEARTS),
+                Card.of(CardRank.NINE, CardSuit.SPADES),
+                Card.of(CardRank.JACK, CardSuit.DIAMONDS),
+                Card.of(CardRank.FIVE, CardSuit.DIAMONDS));
+
+        assertEquals(HandType.HIGH_CARD, HandStrength.getHandType(omahaHandEvaluator.evaluate(holeMask, boardMask)));
+    }
+
+    @Test
+    public void evaluate_tripsOnTheBoardNeedAPairInTheHandForAFullHouse() {
+        long boardMask = cardMask(
+                Card.of(CardRank.EIGHT, CardSuit.HEARTS),
+                Card.of(CardRank.EIGHT, CardSuit.SPADES),
+                Card.of(CardRank.EIGHT, CardSuit.DIAMONDS),
+                Card.of(CardRank.THREE, CardSuit.CLUBS),
+                Card.of(CardRank.FOUR, CardSuit.DIAMONDS));
+        long unpairedHoleMask = cardMask(
+                Card.of(CardRank.ACE, CardSuit.HEARTS),
+                Card.of(CardRank.KING, CardSuit.SPADES),
+                Card.of(CardRank.QUEEN, CardSuit.SPADES),
+                Card.of(CardRank.JACK, CardSuit.CLUBS));
+        long pairedHoleMask = cardMask(
+                Card.of(CardRank.ACE, CardSuit.HEARTS),
+                Card.of(CardRank.ACE, CardSuit.SPADES),
+                Card.of(CardRank.QUEEN, CardSuit.SPADES),
+                Card.of(CardRank.JACK, CardSuit.CLUBS));
+
+        assertEquals(HandType.THREE_OF_A_KIND,
+                HandStrength.getHandType(omahaHandEvaluator.evaluate(unpairedHoleMask, boardMask)));
+        assertEquals(HandType.FULL_HOUSE,
+                HandStrength.getHandType(omahaHandEvaluator.evaluate(pairedHoleMask, boardMask)));
+    }
+
+    @Test
+    public void evaluate_beforeTheFlopPlaysTheBestTwoHoleCards() {
+        long holeMask = cardMask(
+                Card.of(CardRank.ACE, CardSuit.HEARTS),
+                Card.of(CardRank.KING, CardSuit.SPADES),
+                Card.of(CardRank.KING, CardSuit.DIAMONDS),
+                Card.of(CardRank.TWO, CardSuit.CLUBS));
+
+        int strength = omahaHandEvaluator.evaluate(holeMask, 0L);
+
+        long kings = cardMask(Card.of(CardRank.KING, CardSuit.SPADES), Card.of(CardRank.KING, CardSuit.DIAMONDS));
+        assertEquals(handEvaluator.evaluate(kings), strength);
+    }
+
+    private int bruteForce(long holeMask, long boardMask) {
+        int best = -1;
+        for (long holeCards = holeMask; holeCards != 0; holeCards &= holeCards - 1) {
+            for (long otherHoleCards = holeCards & (holeCards - 1); otherHoleCards != 0;
+                 otherHoleCards &= otherHoleCards - 1) {
+                long pair = Long.lowestOneBit(holeCards) | Long.lowestOneBit(otherHoleCards);
+                for (long first = boardMask; first != 0; first &= first - 1) {
+                    for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                        for (long third = second & (second - 1); third != 0; third &= third - 1) {
+                            long hand = pair | Long.lowestOneBit(first) | Long.lowestOneBit(second)
+                                    | Long.lowestOneBit(third);
+                            best = Math.max(best, handEvaluator.evaluate(hand));
+                        }
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    private static long randomCards(SplittableRandom random, long dealt, int count) {
+        long cardMask = 0L;
+        while (Long.bitCount(cardMask) < count) {
+            long cardBit = 1L << random.nextInt(Card.CARD_COUNT);
+            if (((dealt | cardMask) & cardBit) == 0) {
+                cardMask |= cardBit;
+            }
+        }
+
+        return cardMask;
+    }
+
+    private static long cardMask(Card... cards) {
+        return PokerUtil.getCardMask(Arrays.asList(cards));
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.synacy.poker.simulator;
+
+import com.synacy.poker.deck.DeckBuilder;
+import com.synacy.poker.equity.PreflopEquityService;
+import com.synacy.poker.hand.HandIdentifier;
+import com.synacy.poker.hand.HandType;
+import com.synacy.poker.hand.WinningHandCalculator;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class GameSimulatorTest {
+
+    private final GameSimulator gameSimulator = new GameSimulator(
+            new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), new PreflopEquityService());
+
+    @Test
+    public void simulate_countsEveryHandAndEveryPot() {
+        SimulationResult result = gameSimulator.simulate(2_001, 3, 2, 11L);
+
+        assertEquals(2_001, result.getGames());
+        assertEquals(Arrays.asList("Alex", "Bob", "Jane"), result.getPlayerNames());
+
+        long hands = 0;
+        for (HandType handType : HandType.values()) {
+            hands += result.getHandTypeCount(handType);
+        }
+        assertEquals(2_001 * 3, hands);
+
+        long soleWins = 0;
+        for (int seat = 0; seat < 3; seat++) {
+            soleWins += result.getWins(seat);
+        }
+        assertEquals(2_001, soleWins + result.getSplitPots());
+    }
+
+    @Test
+    public void simulate_sameSeedSameGames() {
+        SimulationResult first = gameSimulator.simulate(500, 3, 3, 5L);
+        SimulationResult second = gameSimulator.simulate(500, 3, 3, 5L);
+
+        for (HandType handType : HandType.values()) {
+            assertEquals(first.getHandTypeCount(handType), second.getHandTypeCount(handType));
+        }
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(first.getWins(seat), second.getWins(seat));
+            assertEquals(first.getTies(seat), second.getTies(seat));
+        }
+    }
+
+    @Test
+    public void simulate_tenSeats() {
+        SimulationResult result = gameSimulator.simulate(100, 10, 1, 3L);
+
+        assertEquals(10, result.getPlayerNames().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void simulate_noThreads() {
+        gameSimulator.simulate(10, 3, 0, 1L);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.synacy.poker.util;
+
+import com.synacy.poker.card.Card;
+import com.synacy.poker.card.CardRank;
+import com.synacy.poker.card.CardSuit;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PokerBitsTest {
+
+    @Test
+    public void rankCountsAndSuitCounts_matchCountingEachCard() {
+        SplittableRandom random = new SplittableRandom(1L);
+        int[] rankCounts = new int[PokerBits.RANK_COUNT];
+        int[] suitCounts = new int[PokerBits.SUIT_COUNT];
+        for (int deal = 0; deal < 10_000; deal++) {
+            long cardMask = random.nextLong() & ((1L << Card.CARD_COUNT) - 1);
+
+            int[] expectedRankCounts = new int[PokerBits.RANK_COUNT];
+            int[] expectedSuitCounts = new int[PokerBits.SUIT_COUNT];
+            for (int code = 0; code < Card.CARD_COUNT; code++) {
+                if ((cardMask & (1L << code)) != 0) {
+                    expectedRankCounts[Card.fromCode(code).rankIndex()]++;
+                    expectedSuitCounts[Card.fromCode(code).suitIndex()]++;
+                }
+            }
+
+            PokerBits.rankCounts(cardMask, rankCounts);
+            PokerBits.suitCounts(cardMask, suitCounts);
+
+            assertArrayEquals(expectedRankCounts, rankCounts);
+            assertArrayEquals(expectedSuitCounts, suitCounts);
+            for (int rank = 0; rank < PokerBits.RANK_COUNT; rank++) {
+                assertEquals(expectedRankCounts[rank], PokerBits.rankCount(cardMask, rank));
+                for (int count = 1; count <= PokerBits.SUIT_COUNT; count++) {
+                    int held = (PokerBits.rankMaskOfAtLeast(cardMask, count) >>> rank) & 1;
+                    assertEquals(expectedRankCounts[rank] >= count ? 1 : 0, held);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void mostCommonRankAndSuit() {
+        long cardMask = PokerUtil.getCardMask(Arrays.asList(
+                Card.of(CardRank.FIVE, CardSuit.HEARTS),
+                Card.of(CardRank.FIVE, CardSuit.CLUBS),
+                Card.of(CardRank.KING, CardSuit.HEARTS),
+                Card.of(CardRank.KING, CardSuit.SPADES),
+                Card.of(CardRank.ACE, CardSuit.HEARTS)));
+
+        assertEquals(CardRank.KING.ordinal(), PokerBits.mostCommonRank(cardMask));
+        assertEquals(CardSuit.HEARTS.ordinal(), PokerBits.mostCommonSuit(cardMask));
+        assertEquals(-1, PokerBits.mostCommonRank(0L));
+        assertEquals(-1, PokerBits.mostCommonSuit(0L));
+    }
+
+    @Test
+    public void topRanks() {
+        int ranks = 0b1_0110_0010_1001;
+
+        assertEquals(0, PokerBits.topRanks(ranks, 0));
+        assertEquals(0b1_0000_0000_0000, PokerBits.topRanks(ranks, 1));
+        assertEquals(0b1_0110_0010_0000, PokerBits.topRanks(ranks, 4));
+        assertEquals(0b1_0110_0010_1000, PokerBits.topRanks(ranks, 5));
+        assertEquals(0b11, PokerBits.topRanks(0b11, 5));
+    }
+
+    @Test
+    public void straightHighRank() {
+        assertEquals(CardRank.ACE.ordinal(), PokerBits.straightHighRank(0b1_1111_0000_0001));
+        assertEquals(CardRank.FIVE.ordinal(), PokerBits.straightHighRank(0b1_0000_0001_1111 & ~0b1_0000));
+        assertEquals(CardRank.SIX.ordinal(), PokerBits.straightHighRank(0b1_0000_0001_1111));
+        assertEquals(-1, PokerBits.straightHighRank(0b1_1110_1111_0000));
+        assertEquals(0b1_0000_0000_1111, PokerBits.straightRanks(CardRank.FIVE.ordinal()));
+    }
+
+    @Test
+    public void addStraightCards_wheelEndsWithAce() {
+        long cardMask = PokerUtil.getCardMask(Arrays.asList(
+                Card.of(CardRank.ACE, CardSuit.HEARTS),
+                Card.of(CardRank.TWO, CardSuit.CLUBS),
+                Card.of(CardRank.THREE, CardSuit.HEARTS),
+                Card.of(CardRank.FOUR, CardSuit.SPADES),
+                Card.of(CardRank.FIVE, CardSuit.DIAMONDS)));
+        List<Card> cards = new ArrayList<>();
+
+        PokerBits.addStraightCards(cardMask, PokerBits.straightHighRank(PokerBits.rankMask(cardMask)), cards);
+
+        assertEquals(Arrays.asList(
+                Card.of(CardRank.FIVE, CardSuit.DIAMONDS),
+                Card.of(CardRank.FOUR, CardSuit.SPADES),
+                Card.of(CardRank.THREE, CardSuit.HEARTS),
+                Card.of(CardRank.TWO, CardSuit.CLUBS),
+                Card.of(CardRank.ACE, CardSuit.HEARTS)), cards);
+    }
+
+    @Test
+    public void addCardsOfRank_stopsAtLimit() {
+        long cardMask = PokerUtil.getCardMask(Arrays.asList(
+                Card.of(CardRank.QUEEN, CardSuit.HEARTS),
+                Card.of(CardRank.QUEEN, CardSuit.CLUBS),
+                Card.of(CardRank.QUEEN, CardSuit.SPADES)));
+        List<Card> cards = new ArrayList<>();
+
+        int added = PokerBits.addCardsOfRank(cardMask, CardRank.QUEEN.ordinal(), 2, cards);
+
+        assertEquals(2, added);
+        assertEquals(Arrays.asList(
+                Card.of(CardRank.QUEEN, CardSuit.SPADES),
+                Card.of(CardRank.QUEEN, CardSuit.CLUBS)), cards);
+    }
+
+}